@@ -0,0 +1,32 @@
+package jio.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. It runs the benchmarks whose name matches the regex passed as the first argument
+ * (all of them if no argument is given), always with the {@link GCProfiler} attached, so every suite reports the
+ * throughput next to the allocation rate ({@code gc.alloc.rate.norm} is the number of bytes allocated per operation).
+ *
+ * <pre>
+ * {@code
+ * mvn clean package
+ * java -jar target/benchmarks.jar IOChainBenchmark
+ * }
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder().include(args.length > 0 ? args[0] : "jio\\.bench\\..*")
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,77 @@
+package jio.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jio.AllExp;
+import jio.AnyExp;
+import jio.IO;
+import jio.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AllExp} and {@link AnyExp} evaluated sequentially and in parallel. The first operand is the one that
+ * decides the result (false for {@code AllExp}, true for {@code AnyExp}), so short-circuiting evaluations should
+ * benefit from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BooleanExpBenchmark {
+
+  @Param({"2", "16", "128"})
+  int width;
+
+  List<IO<Boolean>> allDecidedByFirst;
+  List<IO<Boolean>> anyDecidedByFirst;
+
+  @Setup
+  public void setup() {
+    allDecidedByFirst = new ArrayList<>(width);
+    anyDecidedByFirst = new ArrayList<>(width);
+    allDecidedByFirst.add(IO.lazy(() -> false));
+    anyDecidedByFirst.add(IO.lazy(() -> true));
+    for (int i = 1; i < width; i++) {
+      allDecidedByFirst.add(IO.lazy(() -> true));
+      anyDecidedByFirst.add(IO.lazy(() -> false));
+    }
+  }
+
+  @Benchmark
+  public Result<Boolean> all_par() {
+    return AllExp.par(allDecidedByFirst)
+                 .compute();
+  }
+
+  @Benchmark
+  public Result<Boolean> all_seq() {
+    return AllExp.seq(allDecidedByFirst)
+                 .compute();
+  }
+
+  @Benchmark
+  public Result<Boolean> any_par() {
+    return AnyExp.par(anyDecidedByFirst)
+                 .compute();
+  }
+
+  @Benchmark
+  public Result<Boolean> any_seq() {
+    return AnyExp.seq(anyDecidedByFirst)
+                 .compute();
+  }
+
+}
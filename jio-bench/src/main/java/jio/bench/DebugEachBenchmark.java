@@ -0,0 +1,96 @@
+package jio.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jio.IO;
+import jio.ListExp;
+import jio.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of {@code debugEach} and {@code debug} with a JFR recording of the {@code jio.exp.EvalExp}
+ * events running ({@code jfr=true}) and without any recording ({@code jfr=false}). The {@code plain} benchmarks give
+ * the baseline without instrumentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class DebugEachBenchmark {
+
+  @Param({"false", "true"})
+  boolean jfr;
+
+  @Param({"16"})
+  int width;
+
+  List<IO<Integer>> ints;
+  ListExp<Integer> debugged;
+  Recording recording;
+
+  @Setup
+  public void setup() {
+    ints = new ArrayList<>(width);
+    for (int i = 0; i < width; i++) {
+      int n = i;
+      ints.add(IO.lazy(() -> n));
+    }
+    debugged = ListExp.seq(ints)
+                      .debugEach("bench");
+    if (jfr) {
+      recording = new Recording();
+      recording.enable("jio.exp.EvalExp");
+      recording.setToDisk(false);
+      recording.start();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (recording != null) {
+      recording.stop();
+      recording.close();
+    }
+  }
+
+  @Benchmark
+  public Result<List<Integer>> plain() {
+    return ListExp.seq(ints)
+                  .compute();
+  }
+
+  @Benchmark
+  public Result<List<Integer>> debug_each_prebuilt() {
+    return debugged.compute();
+  }
+
+  @Benchmark
+  public Result<List<Integer>> debug_each_per_call() {
+    return ListExp.seq(ints)
+                  .debugEach("bench")
+                  .compute();
+  }
+
+  @Benchmark
+  public Result<Integer> debug_single() {
+    return ints.getFirst()
+               .debug()
+               .compute();
+  }
+
+}
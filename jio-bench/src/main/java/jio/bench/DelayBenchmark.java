@@ -0,0 +1,110 @@
+package jio.bench;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jio.IO;
+import jio.Result;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Waits for {@code n} concurrent backoffs of {@code delayMillis} milliseconds, the way a burst of retrying calls does,
+ * with one virtual thread sleeping per backoff (what {@link IO#call()} does) and with the computations suspended on the
+ * shared timer wheel (what {@link IO#callAsync()} does). Besides the time to complete the whole burst, it reports the
+ * scheduling jitter (how late the backoffs end, 50th and 99th percentiles, in microseconds) as secondary results, and
+ * the memory cost shows up in the allocation rate reported by the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class DelayBenchmark {
+
+  @Param({"100000"})
+  int n;
+
+  @Param({"50"})
+  int delayMillis;
+
+  long[] lateness;
+
+  @Setup(Level.Invocation)
+  public void setup() {
+    lateness = new long[n];
+  }
+
+  @Benchmark
+  public void virtual_thread_sleep(final Jitter jitter) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(n);
+    Duration delay = Duration.ofMillis(delayMillis);
+    for (int i = 0; i < n; i++) {
+      int index = i;
+      long expected = System.nanoTime() + delay.toNanos();
+      Thread.ofVirtual()
+            .start(() -> {
+              try {
+                Thread.sleep(delay);
+              } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+              }
+              lateness[index] = System.nanoTime() - expected;
+              done.countDown();
+            });
+    }
+    done.await();
+    jitter.record(lateness);
+  }
+
+  @Benchmark
+  public void timer_wheel_sleep(final Jitter jitter) {
+    @SuppressWarnings("unchecked")
+    CompletableFuture<Result<Void>>[] futures = new CompletableFuture[n];
+    Duration delay = Duration.ofMillis(delayMillis);
+    for (int i = 0; i < n; i++) {
+      int index = i;
+      long expected = System.nanoTime() + delay.toNanos();
+      futures[i] = IO.sleep(delay)
+                     .peekSuccess(_ -> lateness[index] = System.nanoTime() - expected)
+                     .callAsync();
+    }
+    CompletableFuture.allOf(futures)
+                     .join();
+    jitter.record(lateness);
+  }
+
+  /**
+   * Percentiles of the lateness of the backoffs, in microseconds. JMH adds up event counters over the measurement
+   * iterations, so the reported values must be divided by the number of iterations.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Jitter {
+
+    public double p50Micros;
+    public double p99Micros;
+
+    void record(final long[] lateness) {
+      long[] sorted = lateness.clone();
+      Arrays.sort(sorted);
+      p50Micros = sorted[sorted.length / 2] / 1000.0;
+      p99Micros = sorted[(int) (sorted.length * 0.99)] / 1000.0;
+    }
+  }
+}
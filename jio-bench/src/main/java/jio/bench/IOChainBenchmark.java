@@ -0,0 +1,93 @@
+package jio.bench;
+
+import java.util.concurrent.TimeUnit;
+import jio.IO;
+import jio.Result;
+import jio.RetryPolicies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of composing and evaluating long chains of {@code map}, {@code then} and {@code recover}, as well as
+ * the {@code retry} machinery with zero delays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class IOChainBenchmark {
+
+  @Param({"10", "100", "1000"})
+  int depth;
+
+  IO<Integer> mapChain;
+  IO<Integer> thenChain;
+  IO<Integer> recoverChain;
+  IO<Integer> retried;
+
+  @Setup
+  public void setup() {
+    IO<Integer> map = IO.succeed(0);
+    IO<Integer> then = IO.succeed(0);
+    IO<Integer> recover = IO.fail(new RuntimeException("boom"));
+    for (int i = 0; i < depth; i++) {
+      map = map.map(n -> n + 1);
+      then = then.then(n -> IO.succeed(n + 1));
+      recover = recover.recover(_ -> 1)
+                       .then(_ -> IO.fail(new RuntimeException("boom")));
+    }
+    mapChain = map;
+    thenChain = then;
+    recoverChain = recover.recover(_ -> depth);
+
+    int[] attempts = new int[1];
+    retried = IO.lazy(() -> {
+                  if (++attempts[0] % (depth + 1) != 0) {
+                    throw new IllegalStateException("flaky");
+                  }
+                  return attempts[0];
+                })
+                .retry(RetryPolicies.limitRetries(depth));
+  }
+
+  @Benchmark
+  public Result<Integer> map_chain() {
+    return mapChain.compute();
+  }
+
+  @Benchmark
+  public Result<Integer> then_chain() {
+    return thenChain.compute();
+  }
+
+  @Benchmark
+  public Result<Integer> recover_chain() {
+    return recoverChain.compute();
+  }
+
+  @Benchmark
+  public Result<Integer> build_and_run_then_chain() {
+    IO<Integer> io = IO.succeed(0);
+    for (int i = 0; i < depth; i++) {
+      io = io.then(n -> IO.succeed(n + 1));
+    }
+    return io.compute();
+  }
+
+  @Benchmark
+  public Result<Integer> retry_zero_delay() {
+    return retried.compute();
+  }
+
+}
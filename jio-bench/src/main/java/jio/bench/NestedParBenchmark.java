@@ -0,0 +1,79 @@
+package jio.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jio.IO;
+import jio.ListExp;
+import jio.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures trees of nested parallel expressions, {@code depth} levels of {@code width} children each, whose leaves are
+ * cheap in-memory effects. The flattened tree forks all the leaves in the scope of the root; the opaque one hides every
+ * nested expression behind a {@code map}, so it's reduced as before, opening a scope per node in a thread that waits
+ * for its children.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class NestedParBenchmark {
+
+  @Param({"2", "3"})
+  int depth;
+
+  @Param({"10"})
+  int width;
+
+  IO<List<Object>> flattened;
+  IO<List<Object>> opaque;
+
+  @Setup
+  public void setup() {
+    flattened = tree(depth,
+                     false);
+    opaque = tree(depth,
+                  true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private IO<List<Object>> tree(final int level,
+                                final boolean opaque) {
+    List<IO<Object>> children = new ArrayList<>(width);
+    for (int i = 0; i < width; i++) {
+      int n = i;
+      if (level == 1) {
+        children.add(IO.lazy(() -> n));
+      } else {
+        IO<List<Object>> child = tree(level - 1,
+                                      opaque);
+        children.add(opaque ? child.map(list -> list) : (IO<Object>) (IO<?>) child);
+      }
+    }
+    return ListExp.par(children);
+  }
+
+  @Benchmark
+  public Result<List<Object>> flattened() {
+    return flattened.compute();
+  }
+
+  @Benchmark
+  public Result<List<Object>> opaque() {
+    return opaque.compute();
+  }
+
+}
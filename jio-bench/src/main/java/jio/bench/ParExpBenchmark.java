@@ -0,0 +1,100 @@
+package jio.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jio.IO;
+import jio.JsArrayExp;
+import jio.JsObjExp;
+import jio.ListExp;
+import jio.Result;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures wide fan-outs of the parallel expressions ({@code ListExp.par}, {@code JsArrayExp.par} and
+ * {@code JsObjExp.par}) against their sequential counterparts. Every operand is a cheap in-memory effect, so the numbers
+ * are dominated by the cost of forking, joining and assembling the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ParExpBenchmark {
+
+  @Param({"10", "100", "1000"})
+  int width;
+
+  List<IO<Integer>> ints;
+  IO<JsValue>[] values;
+  JsObjExp objPar;
+  JsObjExp objSeq;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    ints = new ArrayList<>(width);
+    values = new IO[width];
+    objPar = JsObjExp.par();
+    objSeq = JsObjExp.seq();
+    for (int i = 0; i < width; i++) {
+      int n = i;
+      ints.add(IO.lazy(() -> n));
+      values[i] = IO.lazy(() -> JsInt.of(n));
+      objPar = objPar.set("key" + i,
+                          values[i]);
+      objSeq = objSeq.set("key" + i,
+                          values[i]);
+    }
+  }
+
+  @Benchmark
+  public Result<List<Integer>> list_par() {
+    return ListExp.par(ints)
+                  .compute();
+  }
+
+  @Benchmark
+  public Result<List<Integer>> list_seq() {
+    return ListExp.seq(ints)
+                  .compute();
+  }
+
+  @Benchmark
+  public Result<JsArray> array_par() {
+    return JsArrayExp.par(values)
+                     .compute();
+  }
+
+  @Benchmark
+  public Result<JsArray> array_seq() {
+    return JsArrayExp.seq(values)
+                     .compute();
+  }
+
+  @Benchmark
+  public Result<JsObj> obj_par() {
+    return objPar.compute();
+  }
+
+  @Benchmark
+  public Result<JsObj> obj_seq() {
+    return objSeq.compute();
+  }
+
+}
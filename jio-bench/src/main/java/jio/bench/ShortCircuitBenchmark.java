@@ -0,0 +1,84 @@
+package jio.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jio.AllExp;
+import jio.AnyExp;
+import jio.IO;
+import jio.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of {@link AllExp#par} and {@link AnyExp#par} when one branch decides the result quickly
+ * ({@code fastMillis}) and the rest of them are slow ({@code slowMillis}). Since the parallel boolean expressions stop
+ * as soon as the answer is known, the average time should track {@code fastMillis} rather than {@code slowMillis}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ShortCircuitBenchmark {
+
+  @Param({"5"})
+  int fastMillis;
+
+  @Param({"200"})
+  int slowMillis;
+
+  @Param({"2", "16"})
+  int width;
+
+  List<IO<Boolean>> allDecidedByFastFalse;
+  List<IO<Boolean>> anyDecidedByFastTrue;
+
+  private static IO<Boolean> sleep(final int millis,
+                                   final boolean value) {
+    return IO.task(() -> {
+      Thread.sleep(Duration.ofMillis(millis));
+      return value;
+    });
+  }
+
+  @Setup
+  public void setup() {
+    allDecidedByFastFalse = new ArrayList<>(width);
+    anyDecidedByFastTrue = new ArrayList<>(width);
+    for (int i = 1; i < width; i++) {
+      allDecidedByFastFalse.add(sleep(slowMillis,
+                                      true));
+      anyDecidedByFastTrue.add(sleep(slowMillis,
+                                     false));
+    }
+    allDecidedByFastFalse.add(sleep(fastMillis,
+                                    false));
+    anyDecidedByFastTrue.add(sleep(fastMillis,
+                                   true));
+  }
+
+  @Benchmark
+  public Result<Boolean> all_par_fast_false() {
+    return AllExp.par(allDecidedByFastFalse)
+                 .compute();
+  }
+
+  @Benchmark
+  public Result<Boolean> any_par_fast_true() {
+    return AnyExp.par(anyDecidedByFastTrue)
+                 .compute();
+  }
+
+}
@@ -0,0 +1,67 @@
+package jio.bench;
+
+import java.util.concurrent.TimeUnit;
+import jio.IO;
+import jio.Lambda;
+import jio.Result;
+import jio.SwitchExp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dispatch of a {@link SwitchExp} depending on which branch matches: the first one, the last one or none
+ * (the default lambda is evaluated).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SwitchExpBenchmark {
+
+  static final Lambda<Integer, String> BRANCH = n -> IO.succeed("branch-" + n);
+  static final Lambda<Integer, String> OTHERWISE = _ -> IO.succeed("otherwise");
+
+  @Param({"1", "4", "5"})
+  int input;
+
+  @Benchmark
+  public Result<String> match_value() {
+    return SwitchExp.<Integer, String>eval(input)
+                    .match(1,
+                           BRANCH,
+                           2,
+                           BRANCH,
+                           3,
+                           BRANCH,
+                           4,
+                           BRANCH,
+                           OTHERWISE)
+                    .compute();
+  }
+
+  @Benchmark
+  public Result<String> match_predicate() {
+    return SwitchExp.<Integer, String>eval(IO.succeed(input))
+                    .matchPredicate(n -> n == 1,
+                                    BRANCH,
+                                    n -> n == 2,
+                                    BRANCH,
+                                    n -> n == 3,
+                                    BRANCH,
+                                    n -> n == 4,
+                                    BRANCH,
+                                    OTHERWISE)
+                    .compute();
+  }
+
+}
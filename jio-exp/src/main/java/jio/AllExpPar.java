@@ -2,16 +2,12 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.StructuredTaskScope;
-import java.util.concurrent.StructuredTaskScope.Subtask;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import jio.Result.Failure;
-import jio.Result.Success;
 
 final class AllExpPar extends AllExp {
 
@@ -40,20 +36,14 @@ final class AllExpPar extends AllExp {
 
   @Override
   Result<Boolean> reduceExp() {
-    try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-      List<Subtask<Result<Boolean>>> computed = new ArrayList<>(exps.size());
+    try (var scope = new ShortCircuitScope(false)) {
       for (var task : exps) {
-        computed.add(scope.fork(task));
-      }
-      try {
-        scope.join()
-             .throwIfFailed();
-        return new Success<>(computed.stream()
-                                     .allMatch(task -> task.get()
-                                                           .equals(Result.TRUE)));  // Throws if none of the subtasks completed successfully
-      } catch (Exception e) {
-        return new Failure<>(e);
+        scope.fork(task);
       }
+      return scope.join()
+                  .result();
+    } catch (Exception e) {
+      return new Failure<>(e);
     }
   }
 
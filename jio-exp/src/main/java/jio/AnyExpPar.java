@@ -1,15 +1,11 @@
 package jio;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.StructuredTaskScope;
-import java.util.concurrent.StructuredTaskScope.Subtask;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import jio.Result.Failure;
-import jio.Result.Success;
 
 final class AnyExpPar extends AnyExp {
 
@@ -37,20 +33,14 @@ final class AnyExpPar extends AnyExp {
 
   @Override
   Result<Boolean> reduceExp() {
-    try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-      List<Subtask<Result<Boolean>>> computed = new ArrayList<>(exps.size());
+    try (var scope = new ShortCircuitScope(true)) {
       for (var task : exps) {
-        computed.add(scope.fork(task));
-      }
-      try {
-        scope.join()
-             .throwIfFailed();
-        return new Success<>(computed.stream()
-                                     .anyMatch(task -> task.get()
-                                                           .equals(Result.TRUE)));  // Throws if none of the subtasks completed successfully
-      } catch (Exception e) {
-        return new Failure<>(e);
+        scope.fork(task);
       }
+      return scope.join()
+                  .result();
+    } catch (Exception e) {
+      return new Failure<>(e);
     }
   }
 
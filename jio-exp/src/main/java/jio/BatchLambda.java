@@ -0,0 +1,161 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Lambda that coalesces the keys requested by concurrent callers into a single call to a bulk lambda, like a
+ * DataLoader. The first key requested opens a batch; the keys requested while it's open are added to it (duplicates are
+ * merged), and the batch is flushed when it reaches the maximum size or when the maximum delay since it was opened
+ * expires, whatever happens first. The deadline is scheduled on the shared timer wheel and cancelled if the
+ * batch is flushed by size, so no thread waits for it. The bulk lambda is called once per batch with the set of keys,
+ * and every caller gets the value associated with its key in the returned map.
+ * <p>
+ * If the bulk lambda fails, every caller of the batch gets the failure. If the returned map has no value for a key, the
+ * callers of that key get a {@link NoSuchElementException}.
+ * <p>
+ * It's useful inside wide parallel expressions that look up many keys against a backend with a bulk endpoint or an
+ * {@code IN (...)} query: N round-trips become one for the cost of a bounded delay.
+ *
+ * @param <Key>   the type of the keys
+ * @param <Value> the type of the values
+ */
+public final class BatchLambda<Key, Value> implements Lambda<Key, Value> {
+
+  private final Lambda<Set<Key>, Map<Key, Value>> bulk;
+  private final int maxBatchSize;
+  private final Duration maxDelay;
+  private final ReentrantLock lock = new ReentrantLock();
+  private Batch<Key, Value> current;
+
+  private BatchLambda(final Lambda<Set<Key>, Map<Key, Value>> bulk,
+                      final int maxBatchSize,
+                      final Duration maxDelay
+                     ) {
+    this.bulk = bulk;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelay = maxDelay;
+  }
+
+  /**
+   * Creates a BatchLambda.
+   *
+   * @param bulk         the lambda that computes the values of a set of keys at once
+   * @param maxBatchSize the maximum number of different keys of a batch. Must be greater than 0.
+   * @param maxDelay     the maximum time a batch waits for more keys since it's opened. Must not be negative.
+   * @param <K>          the type of the keys
+   * @param <V>          the type of the values
+   * @return a BatchLambda
+   * @throws IllegalArgumentException if maxBatchSize is less than or equal to 0 or maxDelay is negative
+   */
+  public static <K, V> BatchLambda<K, V> of(final Lambda<Set<K>, Map<K, V>> bulk,
+                                            final int maxBatchSize,
+                                            final Duration maxDelay
+                                           ) {
+    requireNonNull(bulk);
+    requireNonNull(maxDelay);
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize <= 0");
+    }
+    if (maxDelay.isNegative()) {
+      throw new IllegalArgumentException("maxDelay < 0");
+    }
+    return new BatchLambda<>(bulk,
+                             maxBatchSize,
+                             maxDelay);
+  }
+
+  @Override
+  public IO<Value> apply(final Key key) {
+    requireNonNull(key);
+    return new Val<>(() -> load(key));
+  }
+
+  private Result<Value> load(final Key key) throws Exception {
+    CompletableFuture<Result<Value>> future;
+    Batch<Key, Value> full = null;
+    Batch<Key, Value> opened = null;
+    lock.lock();
+    try {
+      if (current == null) {
+        current = opened = new Batch<>();
+      }
+      future = current.keys.computeIfAbsent(key,
+                                            _ -> new CompletableFuture<>());
+      if (current.keys.size() >= maxBatchSize) {
+        full = current;
+        current = null;
+      } else if (opened != null) {
+        Batch<Key, Value> batch = opened;
+        // the wheel thread must never block, so the batch is flushed on a virtual thread
+        batch.timer = TimerWheel.shared()
+                                .schedule(() -> VirtualThreadExecutor.INSTANCE.execute(() -> onTimer(batch)),
+                                          maxDelay.toNanos());
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (full != null) {
+      if (full.timer != null) {
+        full.timer.cancel();
+      }
+      flush(full);
+    }
+    return future.get();
+  }
+
+  private void onTimer(final Batch<Key, Value> batch) {
+    lock.lock();
+    try {
+      if (current == batch) {
+        current = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+    flush(batch);
+  }
+
+  private void flush(final Batch<Key, Value> batch) {
+    if (!batch.flushed.compareAndSet(false,
+                                     true)) {
+      return;
+    }
+    Result<Map<Key, Value>> result;
+    try {
+      result = bulk.apply(Set.copyOf(batch.keys.keySet()))
+                   .call();
+    } catch (Exception e) {
+      result = new Failure<>(e);
+    }
+    for (var entry : batch.keys.entrySet()) {
+      Key key = entry.getKey();
+      entry.getValue()
+           .complete(switch (result) {
+             case Success<Map<Key, Value>>(Map<Key, Value> values) when values != null && values.containsKey(key) ->
+                 new Success<>(values.get(key));
+             case Success<Map<Key, Value>> _ ->
+                 new Failure<>(new NoSuchElementException("No value for the key %s".formatted(key)));
+             case Failure<Map<Key, Value>>(Exception exception) -> new Failure<>(exception);
+           });
+    }
+  }
+
+  private static final class Batch<Key, Value> {
+
+    final Map<Key, CompletableFuture<Result<Value>>> keys = new LinkedHashMap<>();
+    final AtomicBoolean flushed = new AtomicBoolean();
+    // guarded by the lock of the lambda
+    TimerWheel.Timeout timer;
+  }
+}
@@ -0,0 +1,35 @@
+package jio;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Retry policy that only permits the retries of another policy if the {@link RetryBudget} has room for them. The retry
+ * loop of {@link IO#retry(RetryPolicy)} records the successful calls in the budget, found through {@link #budgets()}.
+ *
+ * @param policy the policy that decides the delays
+ * @param budget the budget shared by all the retried effects
+ * @see RetryPolicy#withBudget(RetryBudget)
+ */
+record BudgetedRetryPolicy(RetryPolicy policy,
+                           RetryBudget budget) implements RetryPolicy {
+
+  @Override
+  public Duration apply(final RetryStatus status) {
+    Duration delay = policy.apply(status);
+    if (delay == null) {
+      return null;
+    }
+    return budget.tryRetry(status.counter() + 1) ? delay : null;
+  }
+
+  @Override
+  public List<RetryBudget> budgets() {
+    return Stream.concat(policy.budgets()
+                               .stream(),
+                         Stream.of(budget))
+                 .distinct()
+                 .toList();
+  }
+}
@@ -0,0 +1,113 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import jio.Result.Failure;
+
+/**
+ * Bulkhead that isolates a dependency by bounding the number of calls to it that can be in flight at the same time.
+ * With one bulkhead per dependency, a slow dependency or a greedy fan-out can only take its own share of threads and
+ * connections, and the calls to the other dependencies are not starved.
+ * <p>
+ * It's a fair semaphore: a call over the limit waits for a permit up to the maximum wait time, in order of arrival, and
+ * it's rejected with a {@link RejectedExecutionException} otherwise, without computing the effect. By default, the
+ * maximum wait time is zero, so calls over the limit are rejected. Every rejection is recorded with the
+ * {@code jio.exp.CallRejected} JFR event.
+ * <p>
+ * The {@code withX} methods configure the bulkhead and must be called before it's shared.
+ */
+public final class Bulkhead {
+
+  private static final String DEFAULT_LABEL = "bulkhead";
+
+  private final Semaphore permits;
+  private Duration maxWaitTime = Duration.ZERO;
+  private boolean enableJFR = true;
+  private String label = DEFAULT_LABEL;
+
+  private Bulkhead(final int maxConcurrentCalls) {
+    this.permits = new Semaphore(maxConcurrentCalls,
+                                 true);
+  }
+
+  /**
+   * Creates a bulkhead that permits the given number of calls in flight.
+   *
+   * @param maxConcurrentCalls the maximum number of calls in flight. Must be greater than 0.
+   * @return a new Bulkhead
+   * @throws IllegalArgumentException if maxConcurrentCalls is less than or equal to 0
+   */
+  public static Bulkhead of(final int maxConcurrentCalls) {
+    if (maxConcurrentCalls <= 0) {
+      throw new IllegalArgumentException("maxConcurrentCalls <= 0");
+    }
+    return new Bulkhead(maxConcurrentCalls);
+  }
+
+  /**
+   * Sets the maximum time a call waits for a permit before it's rejected. With zero, calls over the limit are rejected
+   * immediately.
+   *
+   * @param duration the maximum wait time. Must not be negative.
+   * @return this Bulkhead
+   * @throws IllegalArgumentException if duration is negative
+   */
+  public Bulkhead withMaxWaitTime(final Duration duration) {
+    requireNonNull(duration);
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("duration < 0");
+    }
+    this.maxWaitTime = duration;
+    return this;
+  }
+
+  /**
+   * Sets the label of the bulkhead, used in the JFR events and in the rejections.
+   *
+   * @param label the label
+   * @return this Bulkhead
+   */
+  public Bulkhead withEventLabel(final String label) {
+    this.label = requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the JFR events published by the bulkhead.
+   *
+   * @return this Bulkhead
+   */
+  public Bulkhead withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  /**
+   * Returns the number of calls that can start right now without waiting.
+   *
+   * @return the number of available permits
+   */
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  <Output> Result<Output> call(final IO<Output> effect) throws InterruptedException {
+    if (!permits.tryAcquire(maxWaitTime.toNanos(),
+                            TimeUnit.NANOSECONDS)) {
+      if (enableJFR) {
+        CallRejectedEvent.commit(CallRejectedEvent.LIMITER.BULKHEAD,
+                                 label);
+      }
+      return new Failure<>(new RejectedExecutionException("The bulkhead '%s' is full".formatted(label)));
+    }
+    try {
+      return effect.call();
+    } finally {
+      permits.release();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event written to the Flight Recorder system every time a cache built with {@link Lambda#cached(CacheSpec)} loads a
+ * key. The duration of the event is the load time.
+ */
+@Label("Cache Load")
+@Name("jio.exp.CacheLoad")
+@Category({"JIO", "EXP", "CACHE"})
+@Description("Keys loaded by the caches of lambdas after a miss, with the load time and the result")
+@StackTrace(value = false)
+final class CacheLoadEvent extends Event {
+
+  /**
+   * the label of the cache
+   */
+  @Label("Label")
+  String label;
+
+  /**
+   * the result of the load: SUCCESS or FAILURE
+   */
+  @Label("Result")
+  String result;
+
+  /**
+   * the exception of the load in case of failure
+   */
+  @Label("Exception")
+  String exception;
+
+  enum RESULT {
+    SUCCESS, FAILURE
+  }
+
+}
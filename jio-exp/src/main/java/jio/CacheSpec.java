@@ -0,0 +1,109 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/**
+ * Specification of the cache built by {@link Lambda#cached(CacheSpec)}. The cache is bounded by a maximum number of
+ * entries, and when it's full, a frequency-aware eviction policy (W-TinyLFU) decides which entry is evicted: a new
+ * entry only replaces an old one if it's estimated to be accessed more often. Entries can also expire after a fixed
+ * time since they were written or last accessed.
+ * <p>
+ * By default, only successful results are cached, and the statistics of the cache (hits, misses, load times and
+ * evictions) are published periodically to the Flight Recorder system with the {@code jio.exp.CacheStats} event, along
+ * with a {@code jio.exp.CacheLoad} event per load.
+ */
+public final class CacheSpec {
+
+  private static final String DEFAULT_LABEL = "lambda-cache";
+
+  final long maximumSize;
+  Duration expireAfterWrite;
+  Duration expireAfterAccess;
+  boolean cacheFailures;
+  boolean enableJFR = true;
+  String label = DEFAULT_LABEL;
+
+  private CacheSpec(final long maximumSize) {
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Creates a cache specification with the given maximum number of entries.
+   *
+   * @param maximumSize the maximum number of entries. Must be greater than 0.
+   * @return a new CacheSpec
+   * @throws IllegalArgumentException if maximumSize is less than or equal to 0
+   */
+  public static CacheSpec of(final long maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize <= 0");
+    }
+    return new CacheSpec(maximumSize);
+  }
+
+  /**
+   * Sets the time after which an entry expires since it was written.
+   *
+   * @param duration the time-to-live of the entries. Must be greater than 0.
+   * @return this CacheSpec
+   * @throws IllegalArgumentException if duration is less than or equal to 0
+   */
+  public CacheSpec withExpireAfterWrite(final Duration duration) {
+    this.expireAfterWrite = requirePositive(duration);
+    return this;
+  }
+
+  /**
+   * Sets the time after which an entry expires since it was last accessed.
+   *
+   * @param duration the time-to-idle of the entries. Must be greater than 0.
+   * @return this CacheSpec
+   * @throws IllegalArgumentException if duration is less than or equal to 0
+   */
+  public CacheSpec withExpireAfterAccess(final Duration duration) {
+    this.expireAfterAccess = requirePositive(duration);
+    return this;
+  }
+
+  /**
+   * Caches failures like successful results. By default, a failure is only shared with the callers waiting for the
+   * same load, and the next call loads the key again.
+   *
+   * @return this CacheSpec
+   */
+  public CacheSpec withCacheFailures() {
+    this.cacheFailures = true;
+    return this;
+  }
+
+  /**
+   * Sets the label of the JFR events published by the cache, to tell apart the events of different caches.
+   *
+   * @param label the label
+   * @return this CacheSpec
+   */
+  public CacheSpec withEventLabel(final String label) {
+    this.label = requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the JFR events published by the cache.
+   *
+   * @return this CacheSpec
+   */
+  public CacheSpec withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  private static Duration requirePositive(final Duration duration) {
+    requireNonNull(duration);
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("duration <= 0");
+    }
+    return duration;
+  }
+}
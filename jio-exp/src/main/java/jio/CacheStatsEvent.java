@@ -0,0 +1,79 @@
+package jio;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic event written to the Flight Recorder system with the statistics of every live cache built with
+ * {@link Lambda#cached(CacheSpec)}. The counters are cumulative since the cache was created. By default, it's emitted
+ * every five seconds; the period can be changed with the {@code period} setting of the recording.
+ */
+@Label("Cache Statistics")
+@Name("jio.exp.CacheStats")
+@Category({"JIO", "EXP", "CACHE"})
+@Description("Hits, misses, load times and evictions of the caches of lambdas")
+@StackTrace(value = false)
+@Period("5 s")
+final class CacheStatsEvent extends Event {
+
+  private static final ConcurrentLinkedQueue<WeakReference<CachedLambda<?, ?>>> CACHES = new ConcurrentLinkedQueue<>();
+
+  static {
+    FlightRecorder.addPeriodicEvent(CacheStatsEvent.class,
+                                    CacheStatsEvent::emit);
+  }
+
+  @Label("Label")
+  String label;
+
+  @Label("Size")
+  long size;
+
+  @Label("Hits")
+  long hits;
+
+  @Label("Misses")
+  long misses;
+
+  @Label("Load Successes")
+  long loadSuccesses;
+
+  @Label("Load Failures")
+  long loadFailures;
+
+  @Label("Total Load Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long totalLoadTime;
+
+  @Label("Evictions")
+  long evictions;
+
+  /**
+   * Registers a cache so that its statistics are published periodically while it's reachable.
+   *
+   * @param cache the cache
+   */
+  static void register(final CachedLambda<?, ?> cache) {
+    CACHES.add(new WeakReference<>(cache));
+  }
+
+  private static void emit() {
+    CACHES.removeIf(reference -> reference.get() == null);
+    for (WeakReference<CachedLambda<?, ?>> reference : CACHES) {
+      CachedLambda<?, ?> cache = reference.get();
+      if (cache != null) {
+        cache.commitStats(new CacheStatsEvent());
+      }
+    }
+  }
+
+}
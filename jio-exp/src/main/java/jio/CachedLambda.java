@@ -0,0 +1,418 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Lambda that caches the results of another lambda by input, as specified by a {@link CacheSpec}.
+ * <p>
+ * Entries live in a concurrent hash map, and the eviction policy is W-TinyLFU: new entries go to a small LRU window
+ * (1% of the capacity); the entries evicted from the window become candidates to enter the main space, which is a
+ * segmented LRU made up of a probation and a protected (80%) segment. When the cache is full, a candidate only
+ * replaces the LRU entry of the probation segment (the victim) if its frequency, estimated with a
+ * {@link FrequencySketch}, is higher. An entry accessed in the probation segment is promoted to the protected one.
+ * <p>
+ * The policy is only updated while holding the eviction lock. Reads don't take it: the accessed entries are recorded
+ * in a bounded buffer (which drops them if full) and replayed by the thread that acquires the lock next. Misses are
+ * loaded once per key no matter how many callers ask for it at the same time (single flight): the first caller loads
+ * the key and the rest wait for its result.
+ *
+ * @param <Input>  the type of the input (the key of the cache)
+ * @param <Output> the type of the output
+ */
+final class CachedLambda<Input, Output> implements Lambda<Input, Output> {
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+  private static final int DEAD = 3;
+  private static final int READ_BUFFER_SIZE = 128;
+  private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+  private final Lambda<Input, Output> lambda;
+  private final long maximumSize;
+  private final long windowMaximum;
+  private final long protectedMaximum;
+  private final long expireAfterWriteNanos;
+  private final long expireAfterAccessNanos;
+  private final boolean cacheFailures;
+  private final boolean enableJFR;
+  private final String label;
+
+  private final ConcurrentHashMap<Input, Node<Input, Output>> data = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Input, CompletableFuture<Result<Output>>> loading = new ConcurrentHashMap<>();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final FrequencySketch sketch;
+  private final AccessOrder<Input, Output> window = new AccessOrder<>();
+  private final AccessOrder<Input, Output> probation = new AccessOrder<>();
+  private final AccessOrder<Input, Output> protectedSegment = new AccessOrder<>();
+  private final ConcurrentLinkedQueue<Node<Input, Output>> readBuffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger readBufferSize = new AtomicInteger();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loadSuccesses = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder totalLoadTime = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  CachedLambda(final Lambda<Input, Output> lambda,
+               final CacheSpec spec
+              ) {
+    this.lambda = requireNonNull(lambda);
+    this.maximumSize = spec.maximumSize;
+    this.windowMaximum = Math.max(1,
+                                  maximumSize / 100);
+    this.protectedMaximum = (maximumSize - windowMaximum) * 80 / 100;
+    this.expireAfterWriteNanos = spec.expireAfterWrite == null ? Long.MAX_VALUE : spec.expireAfterWrite.toNanos();
+    this.expireAfterAccessNanos = spec.expireAfterAccess == null ? Long.MAX_VALUE : spec.expireAfterAccess.toNanos();
+    this.cacheFailures = spec.cacheFailures;
+    this.enableJFR = spec.enableJFR;
+    this.label = spec.label;
+    this.sketch = new FrequencySketch(maximumSize);
+    if (enableJFR) {
+      CacheStatsEvent.register(this);
+    }
+  }
+
+  @Override
+  public IO<Output> apply(final Input input) {
+    requireNonNull(input);
+    return new Val<>(() -> get(input));
+  }
+
+  private Result<Output> get(final Input input) throws Exception {
+    long now = System.nanoTime();
+    Node<Input, Output> node = data.get(input);
+    if (node != null) {
+      if (!isExpired(node,
+                     now)) {
+        hits.increment();
+        if (expireAfterAccessNanos != Long.MAX_VALUE) {
+          node.accessTime = now;
+        }
+        afterRead(node);
+        return node.result;
+      }
+      removeExpired(node);
+    }
+    misses.increment();
+    return load(input);
+  }
+
+  private Result<Output> load(final Input input) throws Exception {
+    CompletableFuture<Result<Output>> flight = new CompletableFuture<>();
+    CompletableFuture<Result<Output>> inFlight = loading.putIfAbsent(input,
+                                                                     flight);
+    if (inFlight != null) {
+      try {
+        return inFlight.get();
+      } catch (ExecutionException e) {
+        // only errors complete the flight exceptionally
+        throw (Error) e.getCause();
+      }
+    }
+    Result<Output> result = null;
+    Throwable error = null;
+    try {
+      // the key may have been loaded between the miss and the registration of this flight
+      Node<Input, Output> node = data.get(input);
+      if (node != null && !isExpired(node,
+                                     System.nanoTime())) {
+        result = node.result;
+        return result;
+      }
+      result = compute(input);
+      if (cacheFailures || result instanceof Success<Output>) {
+        insert(input,
+               result);
+      }
+      return result;
+    } catch (Exception e) {
+      result = new Failure<>(e);
+      throw e;
+    } catch (Throwable t) {
+      error = t;
+      throw t;
+    } finally {
+      loading.remove(input,
+                     flight);
+      if (error == null) {
+        flight.complete(result);
+      } else {
+        flight.completeExceptionally(error);
+      }
+    }
+  }
+
+  private Result<Output> compute(final Input input) {
+    var event = enableJFR ? new CacheLoadEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
+    long start = System.nanoTime();
+    Result<Output> result;
+    try {
+      result = lambda.apply(input)
+                     .call();
+    } catch (Exception e) {
+      result = new Failure<>(e);
+    }
+    totalLoadTime.add(System.nanoTime() - start);
+    if (result instanceof Success<Output>) {
+      loadSuccesses.increment();
+    } else {
+      loadFailures.increment();
+    }
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.label = label;
+        switch (result) {
+          case Success<Output> _ -> event.result = CacheLoadEvent.RESULT.SUCCESS.name();
+          case Failure<Output>(Exception exception) -> {
+            event.result = CacheLoadEvent.RESULT.FAILURE.name();
+            event.exception = ExceptionFun.findUltimateCause(exception)
+                                          .toString();
+          }
+        }
+        event.commit();
+      }
+    }
+    return result;
+  }
+
+  private boolean isExpired(final Node<Input, Output> node,
+                            final long now) {
+    return (expireAfterWriteNanos != Long.MAX_VALUE && now - node.writeTime >= expireAfterWriteNanos)
+           || (expireAfterAccessNanos != Long.MAX_VALUE && now - node.accessTime >= expireAfterAccessNanos);
+  }
+
+  private void afterRead(final Node<Input, Output> node) {
+    if (readBufferSize.incrementAndGet() > READ_BUFFER_SIZE) {
+      readBufferSize.decrementAndGet();
+    } else {
+      readBuffer.offer(node);
+    }
+    if (readBufferSize.get() >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+      try {
+        drainReadBuffer();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  private void removeExpired(final Node<Input, Output> node) {
+    evictionLock.lock();
+    try {
+      if (data.remove(node.key,
+                      node)) {
+        unlink(node);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void insert(final Input input,
+                      final Result<Output> result) {
+    evictionLock.lock();
+    try {
+      drainReadBuffer();
+      var node = new Node<>(input,
+                            result,
+                            System.nanoTime());
+      Node<Input, Output> old = data.put(input,
+                                         node);
+      if (old != null) {
+        unlink(old);
+      }
+      sketch.increment(input);
+      node.segment = WINDOW;
+      window.addLast(node);
+      evict();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void drainReadBuffer() {
+    Node<Input, Output> node;
+    while ((node = readBuffer.poll()) != null) {
+      readBufferSize.decrementAndGet();
+      if (node.segment == DEAD) {
+        continue;
+      }
+      sketch.increment(node.key);
+      onAccess(node);
+    }
+  }
+
+  private void onAccess(final Node<Input, Output> node) {
+    switch (node.segment) {
+      case WINDOW -> window.moveToEnd(node);
+      case PROBATION -> {
+        probation.remove(node);
+        node.segment = PROTECTED;
+        protectedSegment.addLast(node);
+        while (protectedSegment.size > protectedMaximum) {
+          Node<Input, Output> demoted = protectedSegment.first();
+          protectedSegment.remove(demoted);
+          demoted.segment = PROBATION;
+          probation.addLast(demoted);
+        }
+      }
+      case PROTECTED -> protectedSegment.moveToEnd(node);
+      default -> {
+      }
+    }
+  }
+
+  private void evict() {
+    // the entries evicted from the window are appended to the probation segment one after the other, so they are the
+    // candidates from the first one to the tail; the entries demoted from the protected segment never are
+    Node<Input, Output> candidate = null;
+    while (window.size > windowMaximum) {
+      Node<Input, Output> evicted = window.first();
+      window.remove(evicted);
+      evicted.segment = PROBATION;
+      probation.addLast(evicted);
+      if (candidate == null) {
+        candidate = evicted;
+      }
+    }
+    while (window.size + probation.size + protectedSegment.size > maximumSize) {
+      Node<Input, Output> victim = probation.first();
+      if (victim == null) {
+        evictEntry(protectedSegment.size > 0 ? protectedSegment.first() : window.first());
+      } else if (candidate == null) {
+        evictEntry(victim);
+      } else {
+        Node<Input, Output> next = candidate.next;
+        if (victim == candidate || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+          evictEntry(candidate);
+        } else {
+          evictEntry(victim);
+        }
+        candidate = next;
+      }
+    }
+  }
+
+  private void evictEntry(final Node<Input, Output> node) {
+    data.remove(node.key,
+                node);
+    unlink(node);
+    evictions.increment();
+  }
+
+  private void unlink(final Node<Input, Output> node) {
+    switch (node.segment) {
+      case WINDOW -> window.remove(node);
+      case PROBATION -> probation.remove(node);
+      case PROTECTED -> protectedSegment.remove(node);
+      default -> {
+      }
+    }
+    node.segment = DEAD;
+  }
+
+  void commitStats(final CacheStatsEvent event) {
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.label = label;
+    event.size = data.size();
+    event.hits = hits.sum();
+    event.misses = misses.sum();
+    event.loadSuccesses = loadSuccesses.sum();
+    event.loadFailures = loadFailures.sum();
+    event.totalLoadTime = totalLoadTime.sum();
+    event.evictions = evictions.sum();
+    event.commit();
+  }
+
+  private static final class Node<Input, Output> {
+
+    final Input key;
+    final Result<Output> result;
+    final long writeTime;
+    volatile long accessTime;
+    int segment;
+    Node<Input, Output> prev;
+    Node<Input, Output> next;
+
+    Node(final Input key,
+         final Result<Output> result,
+         final long writeTime
+        ) {
+      this.key = key;
+      this.result = result;
+      this.writeTime = writeTime;
+      this.accessTime = writeTime;
+    }
+  }
+
+  /**
+   * Doubly linked list of nodes in access order: the first node is the least recently used.
+   */
+  private static final class AccessOrder<Input, Output> {
+
+    Node<Input, Output> head;
+    Node<Input, Output> tail;
+    long size;
+
+    Node<Input, Output> first() {
+      return head;
+    }
+
+    Node<Input, Output> last() {
+      return tail;
+    }
+
+    void addLast(final Node<Input, Output> node) {
+      node.prev = tail;
+      node.next = null;
+      if (tail == null) {
+        head = node;
+      } else {
+        tail.next = node;
+      }
+      tail = node;
+      size++;
+    }
+
+    void remove(final Node<Input, Output> node) {
+      if (node.prev == null) {
+        head = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        tail = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+      size--;
+    }
+
+    void moveToEnd(final Node<Input, Output> node) {
+      if (node != tail) {
+        remove(node);
+        addLast(node);
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event written to the Flight Recorder system every time a {@link RateLimiter} or a {@link Bulkhead} rejects a call
+ * because it couldn't get a permit within the maximum wait time.
+ */
+@Label("Call Rejected")
+@Name("jio.exp.CallRejected")
+@Category({"JIO", "EXP", "RESILIENCE"})
+@Description("Calls rejected by rate limiters and bulkheads")
+@StackTrace(value = false)
+final class CallRejectedEvent extends Event {
+
+  enum LIMITER {
+    RATE_LIMITER, BULKHEAD
+  }
+
+  /**
+   * the label of the rate limiter or bulkhead
+   */
+  @Label("Label")
+  String label;
+
+  /**
+   * the kind of the limiter: RATE_LIMITER or BULKHEAD
+   */
+  @Label("Limiter")
+  String limiter;
+
+  static void commit(final LIMITER limiter,
+                     final String label) {
+    var event = new CallRejectedEvent();
+    if (event.shouldCommit()) {
+      event.label = label;
+      event.limiter = limiter.name();
+      event.commit();
+    }
+  }
+
+}
@@ -0,0 +1,371 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import jio.Result.Failure;
+
+/**
+ * Circuit breaker that stops calling a dependency that is failing or too slow, so that callers fail fast instead of
+ * waiting for timeouts and retries that exhaust threads and connections. It's shared by all the effects protected with
+ * {@link IO#circuitBreaker(CircuitBreaker)} or {@link Lambda#withCircuitBreaker(CircuitBreaker)}.
+ * <p>
+ * It has three states:
+ * <ul>
+ *   <li>CLOSED: every call is permitted, and its outcome is recorded in a sliding window of the last
+ *   {@code windowSize} calls. When the window has at least the minimum number of calls and the failure rate or the
+ *   slow-call rate reaches its threshold, the breaker opens.</li>
+ *   <li>OPEN: calls are rejected without computing the effect, with a {@link CircuitBreakerOpenException}. After the
+ *   wait duration, the next call moves the breaker to half-open.</li>
+ *   <li>HALF_OPEN: a limited number of trial calls are permitted, and the rest are rejected. When all of them
+ *   complete, the breaker closes if the rates are below the thresholds, and opens again otherwise.</li>
+ * </ul>
+ * The sliding window is a ring buffer of atomic slots, and the counters of failures, slow calls and calls are packed in
+ * a single atomic long, so recording an outcome and reading the rates never blocks. Every transition is recorded with
+ * the {@code jio.exp.CircuitBreaker} JFR event.
+ * <p>
+ * The {@code withX} methods configure the breaker and must be called before it's shared.
+ */
+public final class CircuitBreaker {
+
+  static final int MAX_WINDOW_SIZE = (1 << 20) - 1;
+  private static final String DEFAULT_LABEL = "circuit-breaker";
+
+  private final int windowSize;
+  private double failureRateThreshold = 0.5;
+  private Duration slowCallDuration;
+  private double slowCallRateThreshold = 1.0;
+  private Duration waitInOpenState = Duration.ofSeconds(60);
+  private int permittedCallsInHalfOpenState;
+  private int minimumNumberOfCalls;
+  private boolean enableJFR = true;
+  private String label = DEFAULT_LABEL;
+
+  private final AtomicReference<Phase> phase;
+
+  private CircuitBreaker(final int windowSize) {
+    this.windowSize = windowSize;
+    this.minimumNumberOfCalls = windowSize;
+    this.permittedCallsInHalfOpenState = Math.min(10,
+                                                  windowSize);
+    this.phase = new AtomicReference<>(new Phase(State.CLOSED,
+                                                 System.nanoTime(),
+                                                 new Window(windowSize)));
+  }
+
+  /**
+   * Creates a closed circuit breaker with a sliding window of the given number of calls. By default, it opens when half
+   * of the calls of a full window fail, stays open for sixty seconds, permits up to ten trial calls when half-open, and
+   * doesn't track slow calls.
+   *
+   * @param windowSize the number of calls of the sliding window. Must be greater than 0 and less than 2^20.
+   * @return a new CircuitBreaker
+   * @throws IllegalArgumentException if windowSize is out of range
+   */
+  public static CircuitBreaker of(final int windowSize) {
+    if (windowSize <= 0 || windowSize > MAX_WINDOW_SIZE) {
+      throw new IllegalArgumentException("windowSize must be in [1, %d]".formatted(MAX_WINDOW_SIZE));
+    }
+    return new CircuitBreaker(windowSize);
+  }
+
+  /**
+   * Sets the rate of failed calls from which the breaker opens.
+   *
+   * @param threshold the failure rate threshold. Must be in (0, 1].
+   * @return this CircuitBreaker
+   * @throws IllegalArgumentException if threshold is out of range
+   */
+  public CircuitBreaker withFailureRateThreshold(final double threshold) {
+    this.failureRateThreshold = requireRate(threshold);
+    return this;
+  }
+
+  /**
+   * Tracks slow calls: a call that takes at least {@code duration} is slow, and the breaker opens when the rate of slow
+   * calls reaches the threshold, even if they succeed.
+   *
+   * @param duration  the duration from which a call is slow. Must be greater than 0.
+   * @param threshold the slow-call rate threshold. Must be in (0, 1].
+   * @return this CircuitBreaker
+   * @throws IllegalArgumentException if duration is less than or equal to 0 or threshold is out of range
+   */
+  public CircuitBreaker withSlowCallThreshold(final Duration duration,
+                                              final double threshold) {
+    this.slowCallDuration = requirePositive(duration);
+    this.slowCallRateThreshold = requireRate(threshold);
+    return this;
+  }
+
+  /**
+   * Sets the time the breaker stays open before permitting trial calls.
+   *
+   * @param duration the wait duration in the open state. Must be greater than 0.
+   * @return this CircuitBreaker
+   * @throws IllegalArgumentException if duration is less than or equal to 0
+   */
+  public CircuitBreaker withWaitInOpenState(final Duration duration) {
+    this.waitInOpenState = requirePositive(duration);
+    return this;
+  }
+
+  /**
+   * Sets the number of trial calls permitted in the half-open state.
+   *
+   * @param calls the number of trial calls. Must be in [1, windowSize].
+   * @return this CircuitBreaker
+   * @throws IllegalArgumentException if calls is out of range
+   */
+  public CircuitBreaker withPermittedCallsInHalfOpenState(final int calls) {
+    if (calls <= 0 || calls > windowSize) {
+      throw new IllegalArgumentException("calls must be in [1, windowSize]");
+    }
+    this.permittedCallsInHalfOpenState = calls;
+    return this;
+  }
+
+  /**
+   * Sets the minimum number of calls the window must have before the rates are evaluated. By default, it's the size of
+   * the window.
+   *
+   * @param calls the minimum number of calls. Must be in [1, windowSize].
+   * @return this CircuitBreaker
+   * @throws IllegalArgumentException if calls is out of range
+   */
+  public CircuitBreaker withMinimumNumberOfCalls(final int calls) {
+    if (calls <= 0 || calls > windowSize) {
+      throw new IllegalArgumentException("calls must be in [1, windowSize]");
+    }
+    this.minimumNumberOfCalls = calls;
+    return this;
+  }
+
+  /**
+   * Sets the label of the breaker, used in the JFR events and in the {@link CircuitBreakerOpenException} failures.
+   *
+   * @param label the label
+   * @return this CircuitBreaker
+   */
+  public CircuitBreaker withEventLabel(final String label) {
+    this.label = requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the JFR events published by the breaker.
+   *
+   * @return this CircuitBreaker
+   */
+  public CircuitBreaker withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  /**
+   * Returns the current state of the breaker. An open breaker whose wait duration has expired is still reported as
+   * open until a call moves it to half-open.
+   *
+   * @return the current state
+   */
+  public State state() {
+    return phase.get().state;
+  }
+
+  <Output> Result<Output> call(final IO<Output> effect) {
+    Phase current = acquirePermission();
+    if (current == null) {
+      return new Failure<>(new CircuitBreakerOpenException(label,
+                                                           state()));
+    }
+    long start = System.nanoTime();
+    Result<Output> result;
+    try {
+      result = effect.call();
+    } catch (Exception e) {
+      result = new Failure<>(e);
+    }
+    boolean slow = slowCallDuration != null && System.nanoTime() - start >= slowCallDuration.toNanos();
+    onResult(current,
+             result instanceof Failure<Output>,
+             slow);
+    return result;
+  }
+
+  // returns the phase the call is accounted to, or null if the call is rejected
+  private Phase acquirePermission() {
+    while (true) {
+      Phase current = phase.get();
+      switch (current.state) {
+        case CLOSED -> {
+          return current;
+        }
+        case OPEN -> {
+          if (System.nanoTime() - current.since < waitInOpenState.toNanos()) {
+            return null;
+          }
+          transition(current,
+                     State.HALF_OPEN);
+        }
+        case HALF_OPEN -> {
+          return current.trialCalls.getAndIncrement() < permittedCallsInHalfOpenState ? current : null;
+        }
+      }
+    }
+  }
+
+  private void onResult(final Phase current,
+                        final boolean failed,
+                        final boolean slow) {
+    long counters = current.window.record(failed,
+                                          slow);
+    int calls = Window.calls(counters);
+    switch (current.state) {
+      case CLOSED -> {
+        if (calls >= minimumNumberOfCalls && exceedsThresholds(counters)) {
+          transition(current,
+                     State.OPEN);
+        }
+      }
+      case HALF_OPEN -> {
+        if (calls >= permittedCallsInHalfOpenState) {
+          transition(current,
+                     exceedsThresholds(counters) ? State.OPEN : State.CLOSED);
+        }
+      }
+      case OPEN -> {
+      }
+    }
+  }
+
+  private boolean exceedsThresholds(final long counters) {
+    int calls = Window.calls(counters);
+    return (double) Window.failures(counters) / calls >= failureRateThreshold
+           || (slowCallDuration != null && (double) Window.slowCalls(counters) / calls >= slowCallRateThreshold);
+  }
+
+  private void transition(final Phase from,
+                          final State to) {
+    var next = new Phase(to,
+                         System.nanoTime(),
+                         new Window(to == State.HALF_OPEN ? permittedCallsInHalfOpenState : windowSize));
+    if (!phase.compareAndSet(from,
+                             next)) {
+      return;
+    }
+    if (enableJFR) {
+      var event = new CircuitBreakerEvent();
+      if (event.shouldCommit()) {
+        long counters = from.window.counters.get();
+        int calls = Window.calls(counters);
+        event.label = label;
+        event.from = from.state.name();
+        event.to = to.name();
+        event.calls = calls;
+        event.failureRate = calls == 0 ? 0 : (double) Window.failures(counters) / calls;
+        event.slowCallRate = calls == 0 ? 0 : (double) Window.slowCalls(counters) / calls;
+        event.commit();
+      }
+    }
+  }
+
+  private static double requireRate(final double rate) {
+    if (!(rate > 0 && rate <= 1)) {
+      throw new IllegalArgumentException("rate must be in (0, 1]");
+    }
+    return rate;
+  }
+
+  private static Duration requirePositive(final Duration duration) {
+    requireNonNull(duration);
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("duration <= 0");
+    }
+    return duration;
+  }
+
+  /**
+   * The states of a circuit breaker.
+   */
+  public enum State {
+    /**
+     * calls are permitted and their outcomes recorded
+     */
+    CLOSED,
+    /**
+     * calls are rejected
+     */
+    OPEN,
+    /**
+     * a limited number of trial calls are permitted to decide whether to close or open again
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * A state with its own window, so that the outcomes of the calls permitted in a previous state don't count in the
+   * new one.
+   */
+  private static final class Phase {
+
+    final State state;
+    final long since;
+    final Window window;
+    final AtomicInteger trialCalls = new AtomicInteger();
+
+    Phase(final State state,
+          final long since,
+          final Window window
+         ) {
+      this.state = state;
+      this.since = since;
+      this.window = window;
+    }
+  }
+
+  /**
+   * Ring buffer with the outcomes of the last calls. Every slot holds an outcome encoded as the increment it adds to
+   * the packed counters (calls in the low 21 bits, failures in the next 21, slow calls in the high ones), so recording
+   * an outcome is a swap of the slot and a single atomic add of the difference with the evicted one.
+   */
+  private static final class Window {
+
+    private static final int BITS = 21;
+    private static final long MASK = (1L << BITS) - 1;
+    private static final long CALL = 1L;
+    private static final long FAILURE = 1L << BITS;
+    private static final long SLOW = 1L << (2 * BITS);
+
+    final AtomicLongArray slots;
+    final AtomicLong cursor = new AtomicLong();
+    final AtomicLong counters = new AtomicLong();
+
+    Window(final int size) {
+      this.slots = new AtomicLongArray(size);
+    }
+
+    long record(final boolean failed,
+                final boolean slow) {
+      long outcome = CALL + (failed ? FAILURE : 0) + (slow ? SLOW : 0);
+      int index = (int) (cursor.getAndIncrement() % slots.length());
+      long evicted = slots.getAndSet(index,
+                                     outcome);
+      return counters.addAndGet(outcome - evicted);
+    }
+
+    static int calls(final long counters) {
+      return (int) (counters & MASK);
+    }
+
+    static int failures(final long counters) {
+      return (int) ((counters >>> BITS) & MASK);
+    }
+
+    static int slowCalls(final long counters) {
+      return (int) ((counters >>> (2 * BITS)) & MASK);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event written to the Flight Recorder system every time a {@link CircuitBreaker} changes its state, with the failure
+ * and slow-call rates of the window that caused the transition.
+ */
+@Label("Circuit Breaker Transition")
+@Name("jio.exp.CircuitBreaker")
+@Category({"JIO", "EXP", "RESILIENCE"})
+@Description("State transitions of circuit breakers")
+@StackTrace(value = false)
+final class CircuitBreakerEvent extends Event {
+
+  /**
+   * the label of the circuit breaker
+   */
+  @Label("Label")
+  String label;
+
+  /**
+   * the previous state: CLOSED, OPEN or HALF_OPEN
+   */
+  @Label("From")
+  String from;
+
+  /**
+   * the new state: CLOSED, OPEN or HALF_OPEN
+   */
+  @Label("To")
+  String to;
+
+  /**
+   * the rate of failed calls of the window when the transition happened
+   */
+  @Label("Failure Rate")
+  @Percentage
+  double failureRate;
+
+  /**
+   * the rate of slow calls of the window when the transition happened
+   */
+  @Label("Slow Call Rate")
+  @Percentage
+  double slowCallRate;
+
+  /**
+   * the number of calls of the window when the transition happened
+   */
+  @Label("Calls")
+  int calls;
+
+}
@@ -0,0 +1,37 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exception returned as the failure of the effects protected by a {@link CircuitBreaker} while it doesn't permit
+ * calls: when it's open, or when it's half-open and all the trial calls are already taken. The effect is not
+ * computed.
+ */
+@SuppressWarnings("serial")
+public final class CircuitBreakerOpenException extends Exception {
+
+  private final String label;
+
+  CircuitBreakerOpenException(final String label,
+                              final CircuitBreaker.State state
+                             ) {
+    super("The circuit breaker '%s' is %s and doesn't permit calls".formatted(requireNonNull(label),
+                                                                              state));
+    this.label = label;
+  }
+
+  /**
+   * Returns the label of the circuit breaker that rejected the call.
+   *
+   * @return the label of the circuit breaker
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  // the rejection is expected and frequent while the breaker is open, so filling the stack trace is a waste
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
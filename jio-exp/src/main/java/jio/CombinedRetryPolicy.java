@@ -0,0 +1,32 @@
+package jio;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Retry policy returned by the combinators of {@link RetryPolicy} that keeps the retry budgets of the policies it
+ * combines, so the retry loop records the successful calls in them no matter the order of the combinators.
+ *
+ * @param policy  the combined policy
+ * @param budgets the budgets of the policies it combines
+ */
+record CombinedRetryPolicy(RetryPolicy policy,
+                           List<RetryBudget> budgets) implements RetryPolicy {
+
+  static RetryPolicy of(final RetryPolicy policy,
+                        final RetryPolicy... combined) {
+    List<RetryBudget> budgets = Stream.of(combined)
+                                      .flatMap(it -> it.budgets()
+                                                       .stream())
+                                      .distinct()
+                                      .toList();
+    return budgets.isEmpty() ? policy : new CombinedRetryPolicy(policy,
+                                                                budgets);
+  }
+
+  @Override
+  public Duration apply(final RetryStatus status) {
+    return policy.apply(status);
+  }
+}
@@ -0,0 +1,133 @@
+package jio;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Cursor that computes a list of effects on virtual threads and returns their results in the order they complete. At
+ * most {@code maxConcurrency} effects are started and not yet taken by the consumer: a new effect is started every time
+ * a result is taken, so a slow consumer doesn't make the results pile up. Closing the cursor cancels the effects that
+ * are still running. An effect that throws, even an error, completes with a failure, so the consumer never waits for a
+ * result that won't come.
+ *
+ * @param <Elem> the type of the outputs of the effects
+ * @see ListExp#parUnordered()
+ */
+final class CompletionCursor<Elem> implements IOStream.Cursor<Result<Elem>> {
+
+  private final Iterator<IO<Elem>> pending;
+  private final int maxConcurrency;
+  private final Instant deadline;
+  private final BlockingQueue<Result<Elem>> completed = new LinkedBlockingQueue<>();
+  // the tasks that haven't completed yet, which remove themselves when they do
+  private final Set<Future<?>> running = ConcurrentHashMap.newKeySet();
+  private int inFlight;
+
+  CompletionCursor(final List<IO<Elem>> effects,
+                   final int maxConcurrency,
+                   final Duration timeout
+                  ) {
+    this.pending = effects.iterator();
+    this.maxConcurrency = maxConcurrency;
+    this.deadline = ParallelHelper.deadline(timeout);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (inFlight < maxConcurrency && pending.hasNext()) {
+      var task = new Task(pending.next());
+      running.add(task);
+      VirtualThreadExecutor.INSTANCE.execute(task);
+      inFlight++;
+    }
+    return inFlight > 0;
+  }
+
+  @Override
+  public Result<Elem> next() throws Exception {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Result<Elem> result;
+    if (deadline == null) {
+      result = completed.take();
+    } else {
+      result = completed.poll(Duration.between(Instant.now(),
+                                               deadline)
+                                      .toNanos(),
+                              TimeUnit.NANOSECONDS);
+      if (result == null) {
+        throw ParallelHelper.timeoutException(deadline);
+      }
+    }
+    inFlight--;
+    return result;
+  }
+
+  @Override
+  public void close() {
+    for (Future<?> future : running) {
+      future.cancel(true);
+    }
+  }
+
+  private static <Elem> Result<Elem> compute(final IO<Elem> effect) {
+    try {
+      return effect.call();
+    } catch (Throwable t) {
+      return new Failure<>(ParallelHelper.asException(t));
+    }
+  }
+
+  /**
+   * Returns a cursor with the outputs of the effects in the order they complete, that fails with the exception of the
+   * first effect that fails.
+   *
+   * @return a fail-fast cursor
+   */
+  IOStream.Cursor<Elem> failFast() {
+    return new IOStream.Cursor<>() {
+      @Override
+      public boolean hasNext() {
+        return CompletionCursor.this.hasNext();
+      }
+
+      @Override
+      public Elem next() throws Exception {
+        return switch (CompletionCursor.this.next()) {
+          case Success<Elem>(Elem output) -> output;
+          case Failure<Elem>(Exception exception) -> throw exception;
+        };
+      }
+
+      @Override
+      public void close() {
+        CompletionCursor.this.close();
+      }
+    };
+  }
+
+  private final class Task extends FutureTask<Boolean> {
+
+    Task(final IO<Elem> effect) {
+      super(Spans.bind(() -> completed.add(compute(effect))));
+    }
+
+    @Override
+    protected void done() {
+      running.remove(this);
+    }
+  }
+}
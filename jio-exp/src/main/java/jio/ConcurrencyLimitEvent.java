@@ -0,0 +1,71 @@
+package jio;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic event written to the Flight Recorder system with the state of every live {@link ConcurrencyLimiter}: the
+ * current limit, the number of calls in flight, and the number of calls rejected since the limiter was created. By
+ * default, it's emitted every second; the period can be changed with the {@code period} setting of the recording.
+ */
+@Label("Concurrency Limit")
+@Name("jio.exp.ConcurrencyLimit")
+@Category({"JIO", "EXP", "RESILIENCE"})
+@Description("Limit, calls in flight and rejections of the adaptive concurrency limiters")
+@StackTrace(value = false)
+@Period("1 s")
+final class ConcurrencyLimitEvent extends Event {
+
+  private static final ConcurrentLinkedQueue<WeakReference<ConcurrencyLimiter>> LIMITERS =
+      new ConcurrentLinkedQueue<>();
+
+  static {
+    FlightRecorder.addPeriodicEvent(ConcurrencyLimitEvent.class,
+                                    ConcurrencyLimitEvent::emit);
+  }
+
+  @Label("Label")
+  String label;
+
+  @Label("Limit")
+  int limit;
+
+  @Label("In Flight")
+  int inFlight;
+
+  @Label("Rejections")
+  long rejections;
+
+  @Label("Minimum Latency")
+  @Timespan(Timespan.NANOSECONDS)
+  long minLatency;
+
+  /**
+   * Registers a limiter so that its state is published periodically while it's reachable.
+   *
+   * @param limiter the limiter
+   */
+  static void register(final ConcurrencyLimiter limiter) {
+    LIMITERS.add(new WeakReference<>(limiter));
+  }
+
+  private static void emit() {
+    LIMITERS.removeIf(reference -> reference.get() == null);
+    for (WeakReference<ConcurrencyLimiter> reference : LIMITERS) {
+      ConcurrencyLimiter limiter = reference.get();
+      if (limiter != null) {
+        limiter.commitState(new ConcurrencyLimitEvent());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,301 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleUnaryOperator;
+import jio.Result.Failure;
+
+/**
+ * Concurrency limiter that adapts the number of calls in flight to the latency of the dependency (AIMD). It keeps track
+ * of the minimum latency observed, which approximates the latency of the dependency without load:
+ * <ul>
+ *   <li>while the latency of the calls stays below {@code latencyTolerance} times the minimum and the limit is being
+ *   used (at least half of it is in flight), every successful call increases the limit by one divided by the limit,
+ *   that is, by one per window of calls as large as the limit, which is about one per round trip (additive
+ *   increase);</li>
+ *   <li>when a call fails or its latency goes over the tolerance, which means that requests are queueing up somewhere,
+ *   the limit is multiplied by the backoff ratio (multiplicative decrease).</li>
+ * </ul>
+ * The limit is always kept between the minimum and maximum limits. Since the latency without load can change (a new
+ * deployment, another region), the minimum latency is reset periodically to the minimum of the latest samples.
+ * <p>
+ * Acquiring and releasing a permit don't take any lock: the number of calls in flight is a counter updated with
+ * compare-and-set, and so is the limit. The statistics of the latency are updated without coordination, so a sample
+ * may occasionally be counted in the wrong reset period, which doesn't matter for a minimum.
+ * <p>
+ * Calls over the limit wait up to the maximum wait time (by default, zero) for a call to complete (only the waiting
+ * calls, and the calls that complete while there are some, take a lock), and if they can't start, they fail with a
+ * {@link RejectedExecutionException} without computing the effect. The limit, the number of calls in flight and the
+ * number of rejections are published periodically with the {@code jio.exp.ConcurrencyLimit} JFR event.
+ * <p>
+ * The {@code withX} methods configure the limiter and must be called before it's shared.
+ */
+public final class ConcurrencyLimiter {
+
+  private static final String DEFAULT_LABEL = "concurrency-limiter";
+  private static final int MIN_LATENCY_RESET_SAMPLES = 1000;
+
+  private int minLimit = 1;
+  private int maxLimit = 1000;
+  private double backoffRatio = 0.9;
+  private double latencyTolerance = 2.0;
+  private Duration maxWaitTime = Duration.ZERO;
+  private boolean enableJFR = true;
+  private String label = DEFAULT_LABEL;
+
+  // only used by the calls waiting for a permit
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final LongAdder rejections = new LongAdder();
+  // the bits of the limit, which is a double
+  private final AtomicLong limit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile long minLatency = Long.MAX_VALUE;
+  private final AtomicLong samplesMinLatency = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicInteger samples = new AtomicInteger();
+
+  private ConcurrencyLimiter(final int initialLimit) {
+    this.limit = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+    ConcurrencyLimitEvent.register(this);
+  }
+
+  /**
+   * Creates a concurrency limiter with the given initial limit. By default, the limit is kept between 1 and 1000, a
+   * call is considered congested if its latency is over twice the minimum, the backoff ratio is 0.9, and calls over
+   * the limit are rejected immediately.
+   *
+   * @param initialLimit the initial limit. Must be greater than 0.
+   * @return a new ConcurrencyLimiter
+   * @throws IllegalArgumentException if initialLimit is less than or equal to 0
+   */
+  public static ConcurrencyLimiter of(final int initialLimit) {
+    if (initialLimit <= 0) {
+      throw new IllegalArgumentException("initialLimit <= 0");
+    }
+    return new ConcurrencyLimiter(initialLimit);
+  }
+
+  /**
+   * Sets the bounds of the limit.
+   *
+   * @param minLimit the minimum limit. Must be greater than 0.
+   * @param maxLimit the maximum limit. Must be greater than or equal to minLimit.
+   * @return this ConcurrencyLimiter
+   * @throws IllegalArgumentException if minLimit is less than or equal to 0 or maxLimit is less than minLimit
+   */
+  public ConcurrencyLimiter withLimits(final int minLimit,
+                                       final int maxLimit) {
+    if (minLimit <= 0) {
+      throw new IllegalArgumentException("minLimit <= 0");
+    }
+    if (maxLimit < minLimit) {
+      throw new IllegalArgumentException("maxLimit < minLimit");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit.set(Double.doubleToRawLongBits(Math.clamp(currentLimit(),
+                                                         minLimit,
+                                                         maxLimit)));
+    return this;
+  }
+
+  /**
+   * Sets the ratio the limit is multiplied by when a call fails or is congested.
+   *
+   * @param ratio the backoff ratio. Must be in (0, 1).
+   * @return this ConcurrencyLimiter
+   * @throws IllegalArgumentException if ratio is out of range
+   */
+  public ConcurrencyLimiter withBackoffRatio(final double ratio) {
+    if (!(ratio > 0 && ratio < 1)) {
+      throw new IllegalArgumentException("ratio must be in (0, 1)");
+    }
+    this.backoffRatio = ratio;
+    return this;
+  }
+
+  /**
+   * Sets how many times the minimum latency a call can take before it's considered congested.
+   *
+   * @param tolerance the latency tolerance. Must be greater than 1.
+   * @return this ConcurrencyLimiter
+   * @throws IllegalArgumentException if tolerance is less than or equal to 1
+   */
+  public ConcurrencyLimiter withLatencyTolerance(final double tolerance) {
+    if (!(tolerance > 1)) {
+      throw new IllegalArgumentException("tolerance <= 1");
+    }
+    this.latencyTolerance = tolerance;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time a call over the limit waits for another call to complete before it's rejected. With zero,
+   * calls over the limit are rejected immediately.
+   *
+   * @param duration the maximum wait time. Must not be negative.
+   * @return this ConcurrencyLimiter
+   * @throws IllegalArgumentException if duration is negative
+   */
+  public ConcurrencyLimiter withMaxWaitTime(final Duration duration) {
+    requireNonNull(duration);
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("duration < 0");
+    }
+    this.maxWaitTime = duration;
+    return this;
+  }
+
+  /**
+   * Sets the label of the limiter, used in the JFR events and in the rejections.
+   *
+   * @param label the label
+   * @return this ConcurrencyLimiter
+   */
+  public ConcurrencyLimiter withEventLabel(final String label) {
+    this.label = requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the JFR events published by the limiter.
+   *
+   * @return this ConcurrencyLimiter
+   */
+  public ConcurrencyLimiter withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return the current limit
+   */
+  public int limit() {
+    return (int) currentLimit();
+  }
+
+  private double currentLimit() {
+    return Double.longBitsToDouble(limit.get());
+  }
+
+  <Output> Result<Output> call(final IO<Output> effect) throws InterruptedException {
+    if (!acquire()) {
+      rejections.increment();
+      String message = "The concurrency limit of '%s' has been reached".formatted(label);
+      return new Failure<>(new RejectedExecutionException(message));
+    }
+    long start = System.nanoTime();
+    Result<Output> result = null;
+    try {
+      result = effect.call();
+      return result;
+    } finally {
+      release(System.nanoTime() - start,
+              result == null || result instanceof Failure<Output>);
+    }
+  }
+
+  private boolean acquire() throws InterruptedException {
+    if (tryAcquire()) {
+      return true;
+    }
+    long nanos = maxWaitTime.toNanos();
+    if (nanos <= 0) {
+      return false;
+    }
+    lock.lock();
+    // registered before trying again, so a call that completes from now on signals this one
+    waiters.incrementAndGet();
+    try {
+      while (!tryAcquire()) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = released.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      waiters.decrementAndGet();
+      lock.unlock();
+    }
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit()) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current,
+                                 current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void release(final long latency,
+                       final boolean failed) {
+    boolean used = inFlight.getAndDecrement() * 2 >= limit();
+    updateMinLatency(latency);
+    if (failed || latency > minLatency * latencyTolerance) {
+      updateLimit(current -> Math.max(minLimit,
+                                      current * backoffRatio));
+    } else if (used) {
+      updateLimit(current -> Math.min(maxLimit,
+                                      current + 1 / current));
+    }
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void updateMinLatency(final long latency) {
+    if (latency < minLatency) {
+      minLatency = latency;
+    }
+    samplesMinLatency.accumulateAndGet(latency,
+                                       Math::min);
+    if (samples.incrementAndGet() % MIN_LATENCY_RESET_SAMPLES == 0) {
+      minLatency = samplesMinLatency.getAndSet(Long.MAX_VALUE);
+    }
+  }
+
+  private void updateLimit(final DoubleUnaryOperator fn) {
+    while (true) {
+      long bits = limit.get();
+      double updated = fn.applyAsDouble(Double.longBitsToDouble(bits));
+      if (limit.compareAndSet(bits,
+                              Double.doubleToRawLongBits(updated))) {
+        return;
+      }
+    }
+  }
+
+  void commitState(final ConcurrencyLimitEvent event) {
+    if (!enableJFR || !event.shouldCommit()) {
+      return;
+    }
+    long min = minLatency;
+    event.limit = limit();
+    event.inFlight = inFlight.get();
+    event.minLatency = min == Long.MAX_VALUE ? 0 : min;
+    event.label = label;
+    event.rejections = rejections.sum();
+    event.commit();
+  }
+}
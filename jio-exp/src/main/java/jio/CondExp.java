@@ -922,6 +922,30 @@ public abstract sealed class CondExp<Output> extends Exp<Output> permits CondExp
     );
   }
 
+  /**
+   * Returns a copy of this expression that, when evaluated in parallel, computes the consequence as soon as the
+   * earliest-indexed predicate that could still win is evaluated to true, without waiting for the rest of the
+   * predicates, which are cancelled. The result is the same as the one of this expression: the consequence of the first
+   * predicate that is true (or the failure of the first predicate that fails before any is true), following the order
+   * they were passed in the constructor. Sequential expressions already stop at the first predicate evaluated to true,
+   * so they are returned as they are.
+   *
+   * @param prefetch if true, the consequence of a predicate that is evaluated to true while earlier predicates are
+   *                 still pending is started right away, and cancelled if one of those predicates wins
+   * @return a Cond expression with early exit
+   */
+  public abstract CondExp<Output> earlyExit(final boolean prefetch);
+
+  /**
+   * Returns a copy of this expression with early exit and no prefetching of consequences.
+   *
+   * @return a Cond expression with early exit
+   * @see #earlyExit(boolean)
+   */
+  public CondExp<Output> earlyExit() {
+    return earlyExit(false);
+  }
+
   @Override
   public abstract CondExp<Output> retryEach(final Predicate<? super Throwable> predicate,
                                             final RetryPolicy policy
@@ -18,20 +18,60 @@ final class CondExpPar<Output> extends CondExp<Output> {
   private final List<IO<Boolean>> tests;
   private final List<Supplier<IO<Output>>> consequences;
   private final Supplier<IO<Output>> otherwise;
+  private final boolean earlyExit;
+  private final boolean prefetch;
 
   public CondExpPar(final List<IO<Boolean>> tests,
                     final List<Supplier<IO<Output>>> consequences,
                     final Supplier<IO<Output>> otherwise,
                     final Function<EvalExpEvent, BiConsumer<Output, Throwable>> debugger
                    ) {
+    this(tests,
+         consequences,
+         otherwise,
+         debugger,
+         false,
+         false);
+  }
+
+  CondExpPar(final List<IO<Boolean>> tests,
+             final List<Supplier<IO<Output>>> consequences,
+             final Supplier<IO<Output>> otherwise,
+             final Function<EvalExpEvent, BiConsumer<Output, Throwable>> debugger,
+             final boolean earlyExit,
+             final boolean prefetch
+            ) {
     super(debugger);
     this.tests = tests;
     this.consequences = consequences;
     this.otherwise = otherwise;
+    this.earlyExit = earlyExit;
+    this.prefetch = prefetch;
+  }
+
+  @Override
+  public CondExp<Output> earlyExit(final boolean prefetch) {
+    return new CondExpPar<>(tests,
+                            consequences,
+                            otherwise,
+                            jfrPublisher,
+                            true,
+                            prefetch);
   }
 
   @Override
   Result<Output> reduceExp() {
+    if (earlyExit) {
+      try (var scope = new FirstTrueScope<>(tests,
+                                            consequences,
+                                            prefetch)) {
+        return scope.forkTests()
+                    .join()
+                    .result(otherwise);
+      } catch (Exception e) {
+        return new Failure<>(e);
+      }
+    }
     try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
 
       List<Subtask<Result<Boolean>>> tasks = tests.stream()
@@ -80,7 +120,9 @@ final class CondExpPar<Output> extends CondExp<Output> {
                                                                     policy)))
                                 .toList(),
                             otherwise,
-                            jfrPublisher
+                            jfrPublisher,
+                            earlyExit,
+                            prefetch
     );
   }
 
@@ -89,19 +131,19 @@ final class CondExpPar<Output> extends CondExp<Output> {
                                   ) {
     Objects.requireNonNull(eventBuilder);
     return new CondExpPar<>(DebuggerHelper.debugConditions(tests,
-                                                           EventBuilder.of("%s-test".formatted(eventBuilder.exp),
-                                                                           eventBuilder.context)
+                                                           eventBuilder.child("-test")
                                                           ),
                             DebuggerHelper.debugSuppliers(consequences,
-                                                          "%s-consequence".formatted(eventBuilder.exp),
-                                                          eventBuilder.context
+                                                          eventBuilder.child("-consequence")
                                                          ),
                             DebuggerHelper.debugSupplier(
                                 otherwise,
-                                "%s-otherwise".formatted(eventBuilder.exp),
-                                eventBuilder.context
+                                eventBuilder,
+                                "-otherwise"
                                                         ),
-                            getJFRPublisher(eventBuilder)
+                            getJFRPublisher(eventBuilder),
+                            earlyExit,
+                            prefetch
     );
   }
 
@@ -62,6 +62,11 @@ final class CondExpSeq<Output> extends CondExp<Output> {
               );
   }
 
+  @Override
+  public CondExp<Output> earlyExit(final boolean prefetch) {
+    return this;
+  }
+
   @Override
   public CondExp<Output> retryEach(final Predicate<? super Throwable> predicate,
                                    final RetryPolicy policy
@@ -86,16 +91,14 @@ final class CondExpSeq<Output> extends CondExp<Output> {
   public CondExp<Output> debugEach(final EventBuilder<Output> eventBuilder) {
     Objects.requireNonNull(eventBuilder);
     return new CondExpSeq<>(DebuggerHelper.debugConditions(tests,
-                                                           EventBuilder.of("%s-test".formatted(eventBuilder.exp),
-                                                                           eventBuilder.context)
+                                                           eventBuilder.child("-test")
                                                           ),
                             DebuggerHelper.debugSuppliers(consequences,
-                                                          "%s-consequence".formatted(eventBuilder.exp),
-                                                          eventBuilder.context
+                                                          eventBuilder.child("-consequence")
                                                          ),
                             DebuggerHelper.debugSupplier(otherwise,
-                                                         "%s-otherwise".formatted(eventBuilder.exp),
-                                                         eventBuilder.context
+                                                         eventBuilder,
+                                                         "-otherwise"
                                                         ),
                             getJFRPublisher(eventBuilder)
     );
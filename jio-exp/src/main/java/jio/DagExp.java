@@ -0,0 +1,447 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Represents an expression made of named nodes that depend on each other, like fetching a customer and then, in
+ * parallel, its orders and its address with the id of the customer. Every node declares the nodes it needs, and its
+ * effect is created from their outputs. When the expression is computed, every node is started on a virtual thread as
+ * soon as all its dependencies have completed, so the parallelism is the maximum the dependencies allow, and every node
+ * is computed exactly once no matter how many nodes depend on it.
+ * <p>
+ * A node can only depend on nodes that were added before it, so the graph can't have cycles. If a node fails, the
+ * whole expression fails with its exception: the nodes that depend on it are never started, and the nodes still
+ * running are cancelled.
+ * <p>
+ * Every node computed is recorded with the {@code jio.exp.DagNode} JFR event, which has the time the node waited for
+ * its dependencies since the expression started, and tells whether the node is on the critical path (the chain of
+ * dependencies that determined the duration of the whole expression).
+ */
+public final class DagExp extends Exp<DagExp.Values> {
+
+  private static final String DEFAULT_LABEL = "dag";
+
+  private final List<Node> nodes;
+  private final Map<String, Integer> index;
+  private final String label;
+  private final Duration timeout;
+
+  private DagExp(final List<Node> nodes,
+                 final String label,
+                 final Duration timeout,
+                 final Function<EvalExpEvent, BiConsumer<Values, Throwable>> debugger
+                ) {
+    super(debugger);
+    this.nodes = nodes;
+    this.label = label;
+    this.timeout = timeout;
+    this.index = new LinkedHashMap<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      index.put(nodes.get(i).name,
+                i);
+    }
+  }
+
+  /**
+   * Creates an empty DagExp.
+   *
+   * @return an empty DagExp
+   */
+  public static DagExp of() {
+    return of(DEFAULT_LABEL);
+  }
+
+  /**
+   * Creates an empty DagExp with a label that identifies it in the JFR events of its nodes.
+   *
+   * @param label the label
+   * @return an empty DagExp
+   */
+  public static DagExp of(final String label) {
+    return new DagExp(List.of(),
+                      requireNonNull(label),
+                      null,
+                      null);
+  }
+
+  /**
+   * Returns a new DagExp with a node that has no dependencies, so it's started as soon as the expression is computed.
+   *
+   * @param name   the name of the node
+   * @param effect the effect of the node
+   * @param <O>    the type of the output of the node
+   * @return a new DagExp
+   * @throws IllegalArgumentException if there is already a node with the given name
+   */
+  public <O> DagExp node(final String name,
+                         final IO<O> effect) {
+    requireNonNull(effect);
+    return node(name,
+                List.of(),
+                _ -> effect);
+  }
+
+  /**
+   * Returns a new DagExp with a node whose effect is created from the outputs of its dependencies, which are only
+   * accessible through the values passed to the lambda.
+   *
+   * @param name         the name of the node
+   * @param dependencies the names of the nodes it depends on. They must have been added before.
+   * @param lambda       the lambda that creates the effect of the node from the outputs of its dependencies
+   * @param <O>          the type of the output of the node
+   * @return a new DagExp
+   * @throws IllegalArgumentException if there is already a node with the given name or a dependency doesn't exist
+   */
+  public <O> DagExp node(final String name,
+                         final List<String> dependencies,
+                         final Lambda<Values, O> lambda) {
+    requireNonNull(name);
+    requireNonNull(dependencies);
+    requireNonNull(lambda);
+    if (index.containsKey(name)) {
+      throw new IllegalArgumentException("Duplicated node '%s'".formatted(name));
+    }
+    int[] deps = new int[dependencies.size()];
+    Set<String> names = new LinkedHashSet<>();
+    for (int i = 0; i < deps.length; i++) {
+      Integer dep = index.get(requireNonNull(dependencies.get(i)));
+      if (dep == null) {
+        String message = "The node '%s' depends on '%s', which must be added before it".formatted(name,
+                                                                                                  dependencies.get(i));
+        throw new IllegalArgumentException(message);
+      }
+      deps[i] = dep;
+      names.add(dependencies.get(i));
+    }
+    var xs = new ArrayList<>(nodes);
+    xs.add(new Node(name,
+                    deps,
+                    Collections.unmodifiableSet(names),
+                    lambda));
+    return new DagExp(xs,
+                      label,
+                      timeout,
+                      jfrPublisher);
+  }
+
+  /**
+   * Returns an effect with the output of the given node.
+   *
+   * @param name the name of the node
+   * @param <O>  the type of the output of the node
+   * @return an effect with the output of the node
+   * @throws IllegalArgumentException if there is no node with the given name
+   */
+  public <O> IO<O> get(final String name) {
+    if (!index.containsKey(requireNonNull(name))) {
+      throw new IllegalArgumentException("No node '%s'".formatted(name));
+    }
+    return map(values -> values.get(name));
+  }
+
+  /**
+   * Returns a new DagExp that fails with a {@link java.util.concurrent.TimeoutException} if all the nodes don't
+   * complete before the timeout, cancelling the nodes still running.
+   *
+   * @param timeout the timeout
+   * @return a new DagExp
+   */
+  @Override
+  public DagExp timeout(final Duration timeout) {
+    return new DagExp(nodes,
+                      label,
+                      requireNonNull(timeout),
+                      jfrPublisher);
+  }
+
+  @Override
+  Result<Values> reduceExp() {
+    if (nodes.isEmpty()) {
+      return new Success<>(new Values(index,
+                                      new Object[0],
+                                      null));
+    }
+    var run = new Run();
+    try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+      var deadline = ParallelHelper.deadline(timeout);
+      for (int i = 0; i < nodes.size(); i++) {
+        if (nodes.get(i).dependencies.length == 0) {
+          run.fork(scope,
+                   i);
+        }
+      }
+      ParallelHelper.join(scope,
+                          deadline)
+                    .throwIfFailed(ParallelHelper::asException);
+      run.commitEvents(true);
+      return new Success<>(new Values(index,
+                                      run.outputs,
+                                      null));
+    } catch (Exception e) {
+      run.commitEvents(false);
+      return new Failure<>(e);
+    }
+  }
+
+  @Override
+  public DagExp retryEach(final Predicate<? super Throwable> predicate,
+                          final RetryPolicy policy) {
+    requireNonNull(predicate);
+    requireNonNull(policy);
+    return mapEach((_, effect) -> effect.retry(predicate,
+                                               policy));
+  }
+
+  @Override
+  public DagExp retryEach(final RetryPolicy policy) {
+    return retryEach(_ -> true,
+                     policy);
+  }
+
+  @Override
+  public DagExp debugEach(final EventBuilder<Values> eventBuilder) {
+    Objects.requireNonNull(eventBuilder);
+    var dag = mapEach((name, effect) -> DebuggerHelper.debugIO(effect,
+                                                               eventBuilder,
+                                                               "[" + name + "]"));
+    return new DagExp(dag.nodes,
+                      label,
+                      timeout,
+                      getJFRPublisher(eventBuilder));
+  }
+
+  @Override
+  public DagExp debugEach(final String context) {
+    return debugEach(EventBuilder.of(this.getClass()
+                                         .getSimpleName(),
+                                     context));
+  }
+
+  @SuppressWarnings("unchecked")
+  private DagExp mapEach(final BiFunction<String, IO<Object>, IO<Object>> fn) {
+    List<Node> xs = new ArrayList<>(nodes.size());
+    for (Node node : nodes) {
+      Lambda<Values, ?> lambda = node.lambda;
+      xs.add(new Node(node.name,
+                      node.dependencies,
+                      node.dependencyNames,
+                      values -> fn.apply(node.name,
+                                         (IO<Object>) lambda.apply(values))));
+    }
+    return new DagExp(xs,
+                      label,
+                      timeout,
+                      jfrPublisher);
+  }
+
+  /**
+   * The outputs of the nodes of a DagExp. The values passed to the lambda of a node only give access to the outputs of
+   * its dependencies, while the result of the expression gives access to all of them.
+   */
+  public static final class Values {
+
+    private final Map<String, Integer> index;
+    private final Object[] outputs;
+    private final Set<String> visible;
+
+    private Values(final Map<String, Integer> index,
+                   final Object[] outputs,
+                   final Set<String> visible) {
+      this.index = index;
+      this.outputs = outputs;
+      this.visible = visible;
+    }
+
+    /**
+     * Returns the output of the given node.
+     *
+     * @param name the name of the node
+     * @param <O>  the type of the output
+     * @return the output of the node, which can be null
+     * @throws IllegalArgumentException if the node doesn't exist or is not accessible
+     */
+    @SuppressWarnings("unchecked")
+    public <O> O get(final String name) {
+      Integer i = index.get(requireNonNull(name));
+      if (i == null || (visible != null && !visible.contains(name))) {
+        throw new IllegalArgumentException("'%s' is not a dependency".formatted(name));
+      }
+      return (O) outputs[i];
+    }
+
+    /**
+     * Returns the names of the nodes whose outputs are accessible.
+     *
+     * @return the names of the accessible nodes
+     */
+    public Set<String> names() {
+      return visible != null ? visible : Collections.unmodifiableSet(index.keySet());
+    }
+
+    @Override
+    public String toString() {
+      var sb = new StringBuilder("{");
+      for (String name : names()) {
+        if (sb.length() > 1) {
+          sb.append(", ");
+        }
+        sb.append(name)
+          .append('=')
+          .append(outputs[index.get(name)]);
+      }
+      return sb.append('}')
+               .toString();
+    }
+  }
+
+  private record Node(String name,
+                      int[] dependencies,
+                      Set<String> dependencyNames,
+                      Lambda<Values, ?> lambda) {
+
+  }
+
+  /**
+   * The state of a computation of the expression. Every node is forked by the subtask of the last dependency that
+   * completes (or by the owner of the scope if it has none), so it's forked exactly once, and the outputs of its
+   * dependencies are visible to it since they were written before forking it.
+   */
+  private final class Run {
+
+    final Object[] outputs = new Object[nodes.size()];
+    final AtomicInteger[] pending = new AtomicInteger[nodes.size()];
+    final int[][] dependents;
+    final DagNodeEvent[] events;
+    final long start = System.nanoTime();
+    final long[] starts = new long[nodes.size()];
+    final long[] ends = new long[nodes.size()];
+
+    Run() {
+      List<List<Integer>> xs = new ArrayList<>(nodes.size());
+      for (int i = 0; i < nodes.size(); i++) {
+        pending[i] = new AtomicInteger(nodes.get(i).dependencies.length);
+        xs.add(new ArrayList<>());
+      }
+      for (int i = 0; i < nodes.size(); i++) {
+        for (int dep : nodes.get(i).dependencies) {
+          xs.get(dep)
+            .add(i);
+        }
+      }
+      dependents = new int[nodes.size()][];
+      for (int i = 0; i < nodes.size(); i++) {
+        dependents[i] = xs.get(i)
+                          .stream()
+                          .mapToInt(Integer::intValue)
+                          .toArray();
+      }
+      events = new DagNodeEvent().isEnabled() ? new DagNodeEvent[nodes.size()] : null;
+    }
+
+    void fork(final StructuredTaskScope<Object> scope,
+              final int i) {
+      scope.fork(() -> {
+        compute(scope,
+                i);
+        return null;
+      });
+    }
+
+    private void compute(final StructuredTaskScope<Object> scope,
+                         final int i) throws Exception {
+      Node node = nodes.get(i);
+      starts[i] = System.nanoTime();
+      DagNodeEvent event = null;
+      if (events != null) {
+        event = events[i] = new DagNodeEvent();
+        event.begin();
+      }
+      try {
+        outputs[i] = node.lambda.apply(new Values(index,
+                                                  outputs,
+                                                  node.dependencyNames))
+                                .call()
+                                .getOutputOrThrow();
+      } catch (Exception e) {
+        if (event != null) {
+          event.exception = ExceptionFun.findUltimateCause(e)
+                                        .toString();
+        }
+        throw e;
+      } finally {
+        ends[i] = System.nanoTime();
+        if (event != null) {
+          event.end();
+        }
+      }
+      for (int dependent : dependents[i]) {
+        if (pending[dependent].decrementAndGet() == 0) {
+          fork(scope,
+               dependent);
+        }
+      }
+    }
+
+    /**
+     * Commits the events of the nodes that were computed. If the expression succeeded, the critical path is the chain
+     * that goes from the node that completed last back to the roots, through the dependency that completed last.
+     */
+    void commitEvents(final boolean succeeded) {
+      if (events == null) {
+        return;
+      }
+      boolean[] critical = new boolean[nodes.size()];
+      if (succeeded) {
+        int last = 0;
+        for (int i = 1; i < ends.length; i++) {
+          if (ends[i] > ends[last]) {
+            last = i;
+          }
+        }
+        while (last >= 0) {
+          critical[last] = true;
+          int next = -1;
+          for (int dep : nodes.get(last).dependencies) {
+            if (next < 0 || ends[dep] > ends[next]) {
+              next = dep;
+            }
+          }
+          last = next;
+        }
+      }
+      for (int i = 0; i < events.length; i++) {
+        DagNodeEvent event = events[i];
+        if (event != null && event.shouldCommit()) {
+          Node node = nodes.get(i);
+          event.dag = label;
+          event.node = node.name;
+          event.dependencies = String.join(",",
+                                           node.dependencyNames);
+          event.waited = starts[i] - start;
+          event.result = event.exception == null ? DagNodeEvent.RESULT.SUCCESS.name() :
+                         DagNodeEvent.RESULT.FAILURE.name();
+          event.critical = critical[i];
+          event.commit();
+        }
+      }
+    }
+  }
+}
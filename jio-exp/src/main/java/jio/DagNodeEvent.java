@@ -0,0 +1,45 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Label("DAG Node")
+@Name("jio.exp.DagNode")
+@Category({"JIO", "EXP"})
+@Description("Duration of the nodes of a DagExp, how long they waited for their dependencies, and whether they are on the critical path")
+@StackTrace(value = false)
+final class DagNodeEvent extends Event {
+
+  @Label("DAG")
+  String dag;
+
+  @Label("Node")
+  String node;
+
+  @Label("Dependencies")
+  String dependencies;
+
+  @Label("Waited")
+  @Description("Time since the expression started until the dependencies of the node completed")
+  @Timespan
+  long waited;
+
+  @Label("Critical Path")
+  boolean critical;
+
+  @Label("Result")
+  String result;
+
+  @Label("Exception")
+  String exception;
+
+  enum RESULT {
+    SUCCESS, FAILURE
+  }
+
+}
@@ -7,81 +7,62 @@ import java.util.stream.IntStream;
 final class DebuggerHelper {
 
   static <Output> Supplier<IO<Output>> debugSupplier(final Supplier<IO<Output>> supplier,
-                                                     final String expName,
-                                                     final String context
+                                                     final EventBuilder<?> parent,
+                                                     final String suffix
                                                     ) {
-    return () -> debugIO(supplier.get(),
-                         expName,
-                         context
-                        );
+    EventBuilder<Output> builder = parent.child(suffix);
+    return () -> EventBuilder.isEnabled() ? debugExp(supplier.get(),
+                                                     builder) : supplier.get();
 
   }
 
-  static <Input, Output> List<Lambda<Input, Output>> debugLambdas(List<Lambda<Input, Output>> lambdas,
-                                                                  String expName,
-                                                                  String context
+  static <Input, Output> List<Lambda<Input, Output>> debugLambdas(final List<Lambda<Input, Output>> lambdas,
+                                                                  final EventBuilder<?> parent
                                                                  ) {
     return IntStream.range(0,
                            lambdas.size())
                     .mapToObj(i -> debugLambda(lambdas.get(i),
-                                               String.format("%s[%s]",
-                                                             expName,
-                                                             i
-                                                            ),
-                                               context
+                                               parent,
+                                               "[" + i + "]"
                                               ))
                     .toList();
   }
 
-  static <Input, Output> Lambda<Input, Output> debugLambda(Lambda<Input, Output> lambda,
-                                                           String expName,
-                                                           String context
+  static <Input, Output> Lambda<Input, Output> debugLambda(final Lambda<Input, Output> lambda,
+                                                           final EventBuilder<?> parent,
+                                                           final String suffix
                                                           ) {
-    return lambda
-        .map(it -> debugIO(it,
-                           expName,
-                           context
-                          )
-            );
+    EventBuilder<Output> builder = parent.child(suffix);
+    return input -> EventBuilder.isEnabled() ? debugExp(lambda.apply(input),
+                                                        builder) : lambda.apply(input);
   }
 
-  static <Output> List<Supplier<IO<Output>>> debugSuppliers(List<Supplier<IO<Output>>> suppliers,
-                                                            String expName,
-                                                            String context
+  static <Output> List<Supplier<IO<Output>>> debugSuppliers(final List<Supplier<IO<Output>>> suppliers,
+                                                            final EventBuilder<?> parent
                                                            ) {
     return IntStream.range(0,
                            suppliers.size())
                     .mapToObj(i -> debugSupplier(suppliers.get(i),
-                                                 String.format("%s[%s]",
-                                                               expName,
-                                                               i
-                                                              ),
-                                                 context
+                                                 parent,
+                                                 "[" + i + "]"
                                                 )
                              )
                     .toList();
   }
 
   static List<IO<Boolean>> debugConditions(final List<IO<Boolean>> exps,
-                                           final EventBuilder<Boolean> eventBuilder
+                                           final EventBuilder<?> parent
                                           ) {
-    return IntStream.range(0,
-                           exps.size())
-                    .mapToObj(i -> debugIO(exps.get(i),
-                                           "%s[%d]".formatted(eventBuilder.exp,
-                                                              i),
-                                           eventBuilder.context
-                                          ))
-                    .toList();
+    return debugList(exps,
+                     parent);
   }
 
   static <Output> IO<Output> debugIO(final IO<Output> io,
-                                     final String expName,
-                                     final String context
+                                     final EventBuilder<?> parent,
+                                     final String suffix
                                     ) {
     return debugExp(io,
-                    EventBuilder.of(expName,
-                                    context));
+                    parent.child(suffix));
   }
 
   static <Output> IO<Output> debugExp(IO<Output> o,
@@ -91,18 +72,14 @@ final class DebuggerHelper {
 
   }
 
-  static <Output> List<IO<Output>> debugList(List<IO<Output>> list,
-                                             String expName,
-                                             String context
+  static <Output> List<IO<Output>> debugList(final List<IO<Output>> list,
+                                             final EventBuilder<?> parent
                                             ) {
     return IntStream.range(0,
                            list.size())
                     .mapToObj(i -> debugIO(list.get(i),
-                                           String.format("%s[%s]",
-                                                         expName,
-                                                         i
-                                                        ),
-                                           context
+                                           parent,
+                                           "[" + i + "]"
                                           )
                              )
                     .toList();
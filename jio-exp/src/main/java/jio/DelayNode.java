@@ -0,0 +1,30 @@
+package jio;
+
+import java.time.Duration;
+import jio.Result.Failure;
+
+/**
+ * Node of the IO algebra that represents a delay. When the effect is computed with {@link IO#call()}, the thread
+ * sleeps; when it's computed with {@link IO#callAsync()}, the {@link Interpreter} suspends the computation and
+ * registers its continuation in the shared {@link TimerWheel}, so no thread is parked during the delay.
+ *
+ * <p>
+ * The delay is only reassigned by the state of a single computation of a retry or a repeat (see {@link RetryLoop}),
+ * which reuses its own node for every backoff; the nodes created by {@link IO#sleep(Duration)} never change.
+ *
+ * @see IO#sleep(Duration)
+ */
+final class DelayNode extends IO<Void> {
+
+  Duration delay;
+
+  DelayNode(final Duration delay) {
+    this.delay = delay;
+  }
+
+  @Override
+  public Result<Void> call() {
+    return Fun.sleep(delay) ? Result.NULL : new Failure<>(new InterruptedException("interrupted while sleeping"));
+  }
+
+}
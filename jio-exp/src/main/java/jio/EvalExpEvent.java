@@ -24,6 +24,17 @@ class EvalExpEvent extends Event {
 
   public String exception;
 
+  @Label("Span Id")
+  @Description("Id of the computation, unique in the JVM")
+  public long spanId;
+
+  @Label("Parent Span Id")
+  @Description("Id of the expression the computation is an operand of, or zero")
+  public long parentSpanId;
+
+  // not a field of the event, it's the start of the computation for the LatencyRegistry
+  transient long startNanos;
+
   public enum RESULT {
     SUCCESS, FAILURE
   }
@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import java.util.function.Function;
+import jdk.jfr.EventType;
 
 /**
  * Represents a builder to create JFR {@link jdk.jfr.consumer.RecordedEvent} from computations performed by the JIO API.
@@ -13,15 +14,23 @@ import java.util.function.Function;
  * <p>
  * Expressions made up of different subexpressions generate different JFR events that can be correlated with a context
  * specified with the constructor {@link EventBuilder#EventBuilder(String, String)}.
+ * <p>
+ * When the {@link LatencyRegistry} is enabled, the latency of every computation is also recorded in it, keyed by the
+ * expression and the context of the builder.
  *
  * @param <Output> the type of the result of a computation in case of success
  * @see IO#debug(EventBuilder)
  * @see Exp#debugEach(EventBuilder)
  * @see Exp#debugEach(String)
+ * @see LatencyRegistry
  */
 public final class EventBuilder<Output> {
 
-  final String exp;
+  private static final EventType EVAL_EXP = EventType.getEventType(EvalExpEvent.class);
+
+  private final EventBuilder<?> parent;
+  private final String suffix;
+  private String exp;
   final String context;
   Function<Output, String> successValue = val -> val == null ? "null" : val.toString();
   Function<Throwable, String> failureMessage = e -> ExceptionFun.findUltimateCause(e)
@@ -35,6 +44,27 @@ public final class EventBuilder<Output> {
       throw new IllegalArgumentException("exp must be a legible string");
     }
     this.context = requireNonNull(context);
+    this.parent = null;
+    this.suffix = null;
+  }
+
+  private EventBuilder(final EventBuilder<?> parent,
+                       final String suffix
+                      ) {
+    this.parent = parent;
+    this.suffix = suffix;
+    this.context = parent.context;
+  }
+
+  /**
+   * Returns true if the {@link EvalExpEvent} is enabled in any running recording or the {@link LatencyRegistry} is
+   * enabled. When neither is, the events are neither created nor committed, and debugged effects are computed as if
+   * they weren't.
+   *
+   * @return true if the events are enabled
+   */
+  static boolean isEnabled() {
+    return EVAL_EXP.isEnabled() || LatencyRegistry.INSTANCE.isEnabled();
   }
 
   /**
@@ -65,6 +95,33 @@ public final class EventBuilder<Output> {
                            "");
   }
 
+  /**
+   * Returns a builder for the events of an operand of the expression this builder is for, with the same context and
+   * the name of the expression followed by the given suffix. The name is only concatenated when an event is committed.
+   *
+   * @param suffix the suffix of the name of the operand, like {@code [0]} or {@code -predicate}
+   * @param <O>    the type of the result of the operand
+   * @return a new event builder
+   */
+  <O> EventBuilder<O> child(final String suffix) {
+    return new EventBuilder<>(this,
+                              suffix);
+  }
+
+  /**
+   * Returns the name of the expression of the events.
+   *
+   * @return the name of the expression
+   */
+  String exp() {
+    String name = exp;
+    if (name == null) {
+      name = parent.exp() + suffix;
+      exp = name;
+    }
+    return name;
+  }
+
   /**
    * Set the function that takes the result of the expression and produces the event output. By default, the output of the
    * event is <code>result.toString()</code>.
@@ -95,7 +152,7 @@ public final class EventBuilder<Output> {
     event.result = EvalExpEvent.RESULT.SUCCESS.name();
     event.value = successValue.apply(output);
     event.context = context;
-    event.expression = exp;
+    event.expression = exp();
     return event;
   }
 
@@ -104,13 +161,19 @@ public final class EventBuilder<Output> {
     var cause = ExceptionFun.findUltimateCause(exc);
     event.result = EvalExpEvent.RESULT.FAILURE.name();
     event.context = context;
-    event.expression = exp;
+    event.expression = exp();
     event.exception = failureMessage.apply(cause);
     return event;
   }
 
   void commitSuccess(final Output output,
                      final EvalExpEvent event) {
+    if (LatencyRegistry.INSTANCE.isEnabled()) {
+      LatencyRegistry.INSTANCE.record(exp(),
+                                      context,
+                                      System.nanoTime() - event.startNanos,
+                                      true);
+    }
     if (event.shouldCommit()) {
       updateSuccessfulEvent(output,
                             event).commit();
@@ -119,6 +182,12 @@ public final class EventBuilder<Output> {
 
   void commitFailure(final Throwable exc,
                      final EvalExpEvent event) {
+    if (LatencyRegistry.INSTANCE.isEnabled()) {
+      LatencyRegistry.INSTANCE.record(exp(),
+                                      context,
+                                      System.nanoTime() - event.startNanos,
+                                      false);
+    }
     if (event.shouldCommit()) {
       updateFailureEvent(exc,
                          event).commit();
@@ -13,7 +13,7 @@ import jio.Result.Success;
  * @param <Output> the type of the result returned by this expression when it succeeds
  */
 sealed abstract class Exp<Output> extends IO<Output>
-    permits AllExp, AnyExp, CondExp, IfElseExp, JsArrayExp, JsObjExp, ListExp, PairExp, SwitchExp, TripleExp {
+    permits AllExp, AnyExp, CondExp, DagExp, IfElseExp, JsArrayExp, JsObjExp, ListExp, PairExp, SwitchExp, TripleExp {
 
   final Function<EvalExpEvent, BiConsumer<Output, Throwable>> jfrPublisher;
 
@@ -37,12 +37,16 @@ sealed abstract class Exp<Output> extends IO<Output>
 
   @Override
   public Result<Output> call() {
-    if (jfrPublisher == null) {
+    if (jfrPublisher == null || !EventBuilder.isEnabled()) {
       return reduceExp();
     }
     EvalExpEvent event = new EvalExpEvent();
+    event.parentSpanId = Spans.current();
+    event.spanId = Spans.next();
     event.begin();
-    Result<Output> result = reduceExp();
+    event.startNanos = System.nanoTime();
+    Result<Output> result = Spans.within(event.spanId,
+                                         this::reduceExp);
     switch (result) {
       case Success<Output>(Output output) -> jfrPublisher.apply(event)
                                                          .accept(output,
@@ -80,6 +84,9 @@ sealed abstract class Exp<Output> extends IO<Output>
   /**
    * Attaches a debug mechanism to each operand of this expression, allowing you to monitor and log the execution of
    * each operand individually.
+   * <p>
+   * The events of the operands record the span id of the event of this expression as their parent span id, even if
+   * they are computed by other threads, which links the events of a tree of expressions.
    *
    * @param messageBuilder the builder for creating debug events for each operand
    * @return a new expression with debug behavior applied to each operand
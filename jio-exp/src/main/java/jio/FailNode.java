@@ -0,0 +1,28 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import jio.Result.Failure;
+
+/**
+ * Node of the IO algebra that represents an effect that always fails with the same exception. The failure is created
+ * once, when the node is built, and it's returned as is every time the effect is computed.
+ *
+ * @param <Output> the type of the output
+ * @see IO#fail(Exception)
+ * @see Interpreter
+ */
+final class FailNode<Output> extends IO<Output> {
+
+  final Result<Output> result;
+
+  FailNode(final Exception exception) {
+    this.result = new Failure<>(requireNonNull(exception));
+  }
+
+  @Override
+  public Result<Output> call() {
+    return result;
+  }
+
+}
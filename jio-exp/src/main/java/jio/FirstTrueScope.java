@@ -0,0 +1,138 @@
+package jio;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * StructuredTaskScope that evaluates the tests of a {@link CondExp} in parallel and shuts down as soon as the winner is
+ * known, cancelling the lower-priority tests that are still running. The winner is the earliest-indexed test that
+ * doesn't evaluate to false: it's known when that test completes and every test before it has evaluated to false. If
+ * all the tests are false, there's no winner and the default effect is computed.
+ * <p>
+ * When prefetching is enabled, the consequence of a test that evaluates to true while some earlier tests are still
+ * pending is started speculatively, so that no time is lost if those tests turn out to be false. Prefetched
+ * consequences that don't win are cancelled when the scope is closed.
+ *
+ * @param <Output> the type of the consequences
+ */
+final class FirstTrueScope<Output> extends StructuredTaskScope<Result<Boolean>> {
+
+  private final List<IO<Boolean>> tests;
+  private final List<Supplier<IO<Output>>> consequences;
+  private final boolean prefetch;
+  private final Result<?>[] results;
+  private final Future<?>[] prefetched;
+  private final ReentrantLock lock = new ReentrantLock();
+  private int next;
+  private boolean decided;
+
+  FirstTrueScope(final List<IO<Boolean>> tests,
+                 final List<Supplier<IO<Output>>> consequences,
+                 final boolean prefetch
+                ) {
+    super(null,
+          Thread.ofVirtual()
+                .factory());
+    this.tests = tests;
+    this.consequences = consequences;
+    this.prefetch = prefetch;
+    this.results = new Result<?>[tests.size()];
+    this.prefetched = new Future<?>[tests.size()];
+  }
+
+  /**
+   * Forks every test in the scope.
+   *
+   * @return this scope
+   */
+  FirstTrueScope<Output> forkTests() {
+    for (int i = 0; i < tests.size(); i++) {
+      int index = i;
+      fork(() -> complete(index,
+                          tests.get(index)
+                               .call()));
+    }
+    return this;
+  }
+
+  private Result<Boolean> complete(final int index,
+                                   final Result<Boolean> result
+                                  ) {
+    lock.lock();
+    try {
+      results[index] = result;
+      if (decided) {
+        return result;
+      }
+      while (next < results.length && Result.FALSE.equals(results[next])) {
+        next++;
+      }
+      if (next == results.length || results[next] != null) {
+        decided = true;
+        shutdown();
+      } else if (prefetch && Result.TRUE.equals(result)) {
+        prefetched[index] = VirtualThreadExecutor.INSTANCE.submit(Spans.bind(consequences.get(index)
+                                                                                        .get()));
+      }
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public FirstTrueScope<Output> join() throws InterruptedException {
+    super.join();
+    return this;
+  }
+
+  /**
+   * Computes the consequence of the winner test (reusing it if it was prefetched), or the given default effect if every
+   * test evaluated to false. If the winner test failed, returns its failure. It must be called after joining.
+   *
+   * @param otherwise the default effect
+   * @return the result of the expression
+   */
+  @SuppressWarnings("unchecked")
+  Result<Output> result(final Supplier<IO<Output>> otherwise) throws Exception {
+    ensureOwnerAndJoined();
+    int winner;
+    Future<?> future;
+    lock.lock();
+    try {
+      if (!decided) {
+        throw new IllegalStateException("No test decided the result");
+      }
+      winner = next;
+      future = winner < prefetched.length ? prefetched[winner] : null;
+    } finally {
+      lock.unlock();
+    }
+    if (winner == results.length) {
+      return otherwise.get()
+                      .call();
+    }
+    if (((Result<Boolean>) results[winner]).getOutputOrThrow()) {
+      return future != null ? ((Future<Result<Output>>) future).get() : consequences.get(winner)
+                                                                                 .get()
+                                                                                 .call();
+    }
+    throw new IllegalStateException("A test evaluated to false can't be the winner");
+  }
+
+  @Override
+  public void close() {
+    try {
+      super.close();
+    } finally {
+      for (Future<?> future : prefetched) {
+        if (future != null) {
+          future.cancel(true);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package jio;
+
+/**
+ * Node of the IO algebra that creates a new effect from the successful output of a source effect. Failures of the
+ * source are propagated untouched. The node doesn't call its source nor the effect created by the lambda; the
+ * {@link Interpreter} does it, so that long chains of this node don't grow the stack.
+ *
+ * @param <Input>  the type of the output of the source effect
+ * @param <Output> the type of the output of the effect created by the lambda
+ * @see IO#then(Lambda)
+ */
+final class FlatMapNode<Input, Output> extends IO<Output> {
+
+  final IO<Input> source;
+  private final Lambda<? super Input, Output> fn;
+
+  FlatMapNode(final IO<Input> source,
+              final Lambda<? super Input, Output> fn) {
+    this.source = source;
+    this.fn = fn;
+  }
+
+  @SuppressWarnings("unchecked")
+  IO<Output> next(final Object output) {
+    try {
+      IO<Output> next = fn.apply((Input) output);
+      return next != null ? next : new FailNode<>(new NullPointerException("lambda returned a null effect"));
+    } catch (Exception e) {
+      return new FailNode<>(e);
+    }
+  }
+
+}
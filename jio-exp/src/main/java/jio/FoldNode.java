@@ -0,0 +1,54 @@
+package jio;
+
+/**
+ * Node of the IO algebra that creates a new effect from the result of a source effect: one lambda is applied to the
+ * output if the source succeeds and another one to the exception if it fails. A null lambda means that the result of
+ * the source for that case is propagated untouched, which is how {@link IO#recover(java.util.function.Function)} or
+ * {@link IO#mapFailure(java.util.function.Function)} are modeled without creating dummy effects.
+ *
+ * @param <Input>  the type of the output of the source effect
+ * @param <Output> the type of the output of the effects created by the lambdas
+ * @see IO#then(Lambda, Lambda)
+ */
+final class FoldNode<Input, Output> extends IO<Output> {
+
+  final IO<Input> source;
+  private final Lambda<? super Input, Output> onSuccess;
+  private final Lambda<? super Exception, Output> onFailure;
+
+  FoldNode(final IO<Input> source,
+           final Lambda<? super Input, Output> onSuccess,
+           final Lambda<? super Exception, Output> onFailure) {
+    this.source = source;
+    this.onSuccess = onSuccess;
+    this.onFailure = onFailure;
+  }
+
+  boolean handlesSuccess() {
+    return onSuccess != null;
+  }
+
+  boolean handlesFailure() {
+    return onFailure != null;
+  }
+
+  @SuppressWarnings("unchecked")
+  IO<Output> nextOnSuccess(final Object output) {
+    try {
+      IO<Output> next = onSuccess.apply((Input) output);
+      return next != null ? next : new FailNode<>(new NullPointerException("lambda returned a null effect"));
+    } catch (Exception e) {
+      return new FailNode<>(e);
+    }
+  }
+
+  IO<Output> nextOnFailure(final Exception exception) {
+    try {
+      IO<Output> next = onFailure.apply(exception);
+      return next != null ? next : new FailNode<>(new NullPointerException("lambda returned a null effect"));
+    } catch (Exception e) {
+      return new FailNode<>(e);
+    }
+  }
+
+}
@@ -0,0 +1,96 @@
+package jio;
+
+/**
+ * Count-Min sketch with 4-bit counters that estimates how often a key has been accessed recently, used by
+ * {@link CachedLambda} to decide whether a new entry deserves to replace an old one (TinyLFU admission). Each key is
+ * mapped to four counters, one per row, and its frequency is the minimum of them. Sixteen counters are packed into each
+ * long. When the number of increments reaches the sample size, all the counters are halved, so that the estimates
+ * favor recent accesses.
+ * <p>
+ * It's not thread-safe: it must only be accessed while holding the eviction lock of the cache.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_COUNTER = 15;
+  private static final int MAX_TABLE_SIZE = 1 << 26;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int increments;
+
+  FrequencySketch(final long maximumSize) {
+    int size = (int) Math.min(Math.max(maximumSize,
+                                       8),
+                              MAX_TABLE_SIZE);
+    int capacity = Integer.highestOneBit(size - 1) << 1;
+    this.table = new long[capacity];
+    this.tableMask = capacity - 1;
+    this.sampleSize = 10 * capacity;
+  }
+
+  int frequency(final Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_COUNTER;
+    for (int row = 0; row < SEEDS.length; row++) {
+      long slot = slot(hash,
+                       row);
+      int count = (int) ((table[index(slot)] >>> offset(slot,
+                                                        row)) & 0xFL);
+      frequency = Math.min(frequency,
+                           count);
+    }
+    return frequency;
+  }
+
+  void increment(final Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int row = 0; row < SEEDS.length; row++) {
+      long slot = slot(hash,
+                       row);
+      int index = index(slot);
+      int offset = offset(slot,
+                          row);
+      if (((table[index] >>> offset) & 0xFL) != MAX_COUNTER) {
+        table[index] += 1L << offset;
+        added = true;
+      }
+    }
+    if (added && ++increments == sampleSize) {
+      reset();
+    }
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    increments = increments >>> 1;
+  }
+
+  private static long slot(final int hash,
+                           final int row) {
+    long slot = (hash + SEEDS[row]) * SEEDS[row];
+    return slot + (slot >>> 32);
+  }
+
+  private int index(final long slot) {
+    return (int) slot & tableMask;
+  }
+
+  // every row uses its own group of four counters of the long, and the slot picks one of them
+  private static int offset(final long slot,
+                            final int row) {
+    return ((row << 2) + (int) ((slot >>> 40) & 3)) << 2;
+  }
+
+  private static int spread(final int hashCode) {
+    int hash = hashCode * 0x9e3779b9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -28,12 +28,20 @@ final class Fun {
     event.commit();
   }
 
-   static void sleep(Duration duration){
+  /**
+   * Sleeps the current thread for the given duration.
+   *
+   * @return false if the thread was interrupted while sleeping (the interrupt status is restored), true otherwise
+   */
+  static boolean sleep(Duration duration) {
     try {
-      Thread.sleep(duration.toMillis());
+      Thread.sleep(duration);
+      return true;
     } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
+      Thread.currentThread()
+            .interrupt();
+      return false;
     }
-   }
+  }
 
 }
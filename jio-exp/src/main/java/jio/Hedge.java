@@ -0,0 +1,161 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import jio.Result.Success;
+
+/**
+ * Policy of hedged requests: the effect is computed once (the primary attempt) and, if no attempt has succeeded after a
+ * delay, a duplicate is started, up to a maximum number of duplicates (hedges). The first success is the result and
+ * the rest of attempts are cancelled. If every attempt fails, the result is the last failure. Unlike
+ * {@link IO#race(IO, IO[])}, which starts every alternative at once, the extra load is bounded and only paid by the
+ * slowest calls.
+ * <p>
+ * The delay can be fixed, or derived from a percentile of the latencies observed by the policy: with the 95th
+ * percentile, only the 5% slowest calls are hedged. The latencies of the latest successful attempts are kept in a
+ * lock-free ring buffer, and the percentile is recalculated every few samples. Until enough samples have been observed,
+ * the initial delay is used.
+ * <p>
+ * Hedging only makes sense for idempotent effects, like reads. A policy is meant to be shared by all the calls to the
+ * same operation, so that percentiles are computed over all of them.
+ *
+ * @see IO#hedge(Hedge)
+ */
+public final class Hedge {
+
+  private static final int SAMPLES = 1024;
+  private static final int MIN_SAMPLES = 64;
+  private static final int RECALCULATE_EVERY = 64;
+
+  private final int maxHedges;
+  private final double percentile;
+  private final AtomicLongArray latencies;
+  private final AtomicLong samples = new AtomicLong();
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile long delayNanos;
+
+  private Hedge(final int maxHedges,
+                final long delayNanos,
+                final double percentile
+               ) {
+    this.maxHedges = maxHedges;
+    this.delayNanos = delayNanos;
+    this.percentile = percentile;
+    this.latencies = Double.isNaN(percentile) ? null : new AtomicLongArray(SAMPLES);
+  }
+
+  /**
+   * Creates a hedging policy with a fixed delay.
+   *
+   * @param delay     the time to wait for a success before starting every hedge. Must not be negative.
+   * @param maxHedges the maximum number of duplicates of the primary attempt. Must be greater than 0.
+   * @return a new Hedge
+   * @throws IllegalArgumentException if delay is negative or maxHedges is less than or equal to 0
+   */
+  public static Hedge fixed(final Duration delay,
+                            final int maxHedges) {
+    return new Hedge(requirePositive(maxHedges),
+                     requireNotNegative(delay).toNanos(),
+                     Double.NaN);
+  }
+
+  /**
+   * Creates a hedging policy whose delay is the given percentile of the latencies of the successful attempts observed
+   * so far.
+   *
+   * @param percentile   the percentile, for example 0.95. Must be in (0, 1).
+   * @param initialDelay the delay used until enough latencies have been observed. Must not be negative.
+   * @param maxHedges    the maximum number of duplicates of the primary attempt. Must be greater than 0.
+   * @return a new Hedge
+   * @throws IllegalArgumentException if percentile is out of range, initialDelay is negative or maxHedges is less than
+   *                                  or equal to 0
+   */
+  public static Hedge percentile(final double percentile,
+                                 final Duration initialDelay,
+                                 final int maxHedges) {
+    if (!(percentile > 0 && percentile < 1)) {
+      throw new IllegalArgumentException("percentile must be in (0, 1)");
+    }
+    return new Hedge(requirePositive(maxHedges),
+                     requireNotNegative(initialDelay).toNanos(),
+                     percentile);
+  }
+
+  /**
+   * Returns the current delay before starting a hedge.
+   *
+   * @return the current delay
+   */
+  public Duration delay() {
+    return Duration.ofNanos(delayNanos);
+  }
+
+  <Output> Result<Output> call(final IO<Output> effect) throws InterruptedException {
+    try (var scope = new HedgeScope<Output>()) {
+      scope.fork(() -> attempt(effect));
+      for (int hedge = 0; hedge < maxHedges; hedge++) {
+        try {
+          scope.joinUntil(Instant.now()
+                                 .plusNanos(delayNanos));
+          break;
+        } catch (TimeoutException e) {
+          scope.fork(() -> attempt(effect));
+        }
+      }
+      scope.join();
+      return scope.result();
+    }
+  }
+
+  private <Output> Result<Output> attempt(final IO<Output> effect) {
+    long start = System.nanoTime();
+    Result<Output> result = effect.call();
+    if (latencies != null && result instanceof Success<Output>) {
+      record(System.nanoTime() - start);
+    }
+    return result;
+  }
+
+  private void record(final long latency) {
+    long n = samples.getAndIncrement();
+    latencies.set((int) (n % SAMPLES),
+                  latency);
+    if (n + 1 >= MIN_SAMPLES && (n + 1) % RECALCULATE_EVERY == 0 && lock.tryLock()) {
+      try {
+        int size = (int) Math.min(n + 1,
+                                  SAMPLES);
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+          sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        delayNanos = sorted[(int) Math.min(size - 1,
+                                           Math.ceil(percentile * size) - 1)];
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static int requirePositive(final int maxHedges) {
+    if (maxHedges <= 0) {
+      throw new IllegalArgumentException("maxHedges <= 0");
+    }
+    return maxHedges;
+  }
+
+  private static Duration requireNotNegative(final Duration delay) {
+    requireNonNull(delay);
+    if (delay.isNegative()) {
+      throw new IllegalArgumentException("delay < 0");
+    }
+    return delay;
+  }
+}
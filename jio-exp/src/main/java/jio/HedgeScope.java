@@ -0,0 +1,56 @@
+package jio;
+
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.atomic.AtomicReference;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * StructuredTaskScope that computes the attempts of a hedged effect and shuts down as soon as one of them succeeds,
+ * cancelling the rest. If every attempt fails, the result is the failure of the last one that completed.
+ *
+ * @param <Output> the type of the result of the attempts
+ * @see Hedge
+ */
+final class HedgeScope<Output> extends StructuredTaskScope<Result<Output>> {
+
+  private final AtomicReference<Result<Output>> success = new AtomicReference<>();
+  private volatile Result<Output> failure;
+
+  HedgeScope() {
+    super(null,
+          Thread.ofVirtual()
+                .factory());
+  }
+
+  @Override
+  protected void handleComplete(final Subtask<? extends Result<Output>> subtask) {
+    switch (subtask.state()) {
+      case SUCCESS -> {
+        Result<Output> result = subtask.get();
+        if (result instanceof Success<Output>) {
+          if (success.compareAndSet(null,
+                                    result)) {
+            shutdown();
+          }
+        } else {
+          failure = result;
+        }
+      }
+      case FAILED -> failure = new Failure<>(ParallelHelper.asException(subtask.exception()));
+      case UNAVAILABLE -> {
+      }
+    }
+  }
+
+  /**
+   * Returns the first success, or the last failure if every attempt failed. It must be called after joining.
+   *
+   * @return the result of the hedged effect
+   */
+  Result<Output> result() {
+    ensureOwnerAndJoined();
+    Result<Output> result = success.get();
+    return result != null ? result : failure;
+  }
+}
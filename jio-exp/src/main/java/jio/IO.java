@@ -7,8 +7,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.StructuredTaskScope.ShutdownOnFailure;
 import java.util.concurrent.StructuredTaskScope.ShutdownOnSuccess;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -48,7 +52,8 @@ import jio.Result.Success;
  * @see Exp
  */
 
-public sealed abstract class IO<Output> implements Callable<Result<Output>> permits Exp, Val {
+public sealed abstract class IO<Output> implements Callable<Result<Output>>
+    permits Exp, Val, PureNode, FailNode, MapNode, FlatMapNode, FoldNode, DelayNode {
 
   /**
    * Effect that always succeeds with true
@@ -141,7 +146,23 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    * @return an IO effect that always succeeds with the specified output.
    */
   public static <Output> IO<Output> succeed(final Output val) {
-    return new Val<>(() -> new Success<>(val));
+    return new PureNode<>(val);
+  }
+
+  /**
+   * Creates an effect that waits for the specified duration and then succeeds with null. When it's computed with
+   * {@link #call()}, the thread sleeps (and the result is a failure if it's interrupted); when it's computed with
+   * {@link #callAsync()}, the computation is suspended and resumed by a shared timer, so no thread waits for the delay.
+   *
+   * @param delay the duration of the delay
+   * @return an effect that waits for the delay
+   */
+  public static IO<Void> sleep(final Duration delay) {
+    requireNonNull(delay);
+    if (delay.isNegative()) {
+      throw new IllegalArgumentException("delay < 0");
+    }
+    return new DelayNode(delay);
   }
 
   /**
@@ -193,8 +214,7 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    * @return an IO effect that returns the specified exception as its result.
    */
   public static <Output> IO<Output> fail(final Exception exc) {
-    requireNonNull(exc);
-    return new Val<>(() -> new Failure<>(exc));
+    return new FailNode<>(requireNonNull(exc));
 
   }
 
@@ -234,6 +254,36 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
 
   }
 
+  /**
+   * Creates a new effect that computes this effect and, if it hasn't succeeded after the specified delay, computes a
+   * duplicate of it, up to {@code maxHedges} duplicates. The first success is the result and the rest of computations
+   * are cancelled. Unlike {@link #race(IO, IO[])}, the extra load is only paid by the slowest computations. This effect
+   * must be idempotent.
+   *
+   * @param delay     the time to wait for a success before starting every duplicate
+   * @param maxHedges the maximum number of duplicates
+   * @return a hedged effect
+   * @see #hedge(Hedge)
+   */
+  public IO<Output> hedge(final Duration delay,
+                          final int maxHedges) {
+    return hedge(Hedge.fixed(delay,
+                             maxHedges));
+  }
+
+  /**
+   * Creates a new effect that computes this effect following the given hedging policy, which can derive the delay from
+   * a percentile of the observed latencies. This effect must be idempotent.
+   *
+   * @param hedge the hedging policy, usually shared by all the calls to the same operation
+   * @return a hedged effect
+   * @see Hedge
+   */
+  public IO<Output> hedge(final Hedge hedge) {
+    requireNonNull(hedge);
+    return new Val<>(() -> hedge.call(this));
+  }
+
   /**
    * The `async` method allows you to compute this effect without waiting for its result and returns immediately. It is
    * useful when you are not interested in the outcome of the action and want to trigger it asynchronously.
@@ -246,6 +296,197 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
     return IO.NULL();
   }
 
+  /**
+   * Creates a new effect that computes this effect through the given circuit breaker. While the breaker is open (or
+   * half-open with all its trial calls taken), the returned effect fails fast with a
+   * {@link CircuitBreakerOpenException} without computing this effect. Otherwise, this effect is computed and its
+   * outcome and duration are recorded by the breaker.
+   *
+   * @param breaker the circuit breaker, usually shared by all the effects that call the same dependency
+   * @return an effect protected by the circuit breaker
+   * @see CircuitBreaker
+   */
+  public IO<Output> circuitBreaker(final CircuitBreaker breaker) {
+    requireNonNull(breaker);
+    return new Val<>(() -> breaker.call(this));
+  }
+
+  /**
+   * Creates a new effect that computes this effect within the limit of the given adaptive concurrency limiter. If the
+   * limit is reached and no call completes within the maximum wait time of the limiter, the returned effect fails with
+   * a {@link java.util.concurrent.RejectedExecutionException} without computing this effect. Otherwise, the latency and
+   * outcome of this effect are used to adapt the limit.
+   *
+   * @param limiter the concurrency limiter, usually shared by all the effects that call the same dependency
+   * @return an effect whose concurrency is limited
+   * @see ConcurrencyLimiter
+   */
+  public IO<Output> limitConcurrency(final ConcurrencyLimiter limiter) {
+    requireNonNull(limiter);
+    return new Val<>(() -> limiter.call(this));
+  }
+
+  /**
+   * Creates a new effect that computes this effect once the given rate limiter permits it. If no permit is available
+   * within the maximum wait time of the limiter, the returned effect fails with a
+   * {@link java.util.concurrent.RejectedExecutionException} without computing this effect. Every computation of the
+   * returned effect takes a permit, so when it's retried, every attempt counts against the rate.
+   *
+   * @param limiter the rate limiter, usually shared by all the effects that call the same dependency
+   * @return a rate-limited effect
+   * @see RateLimiter
+   */
+  public IO<Output> rateLimited(final RateLimiter limiter) {
+    requireNonNull(limiter);
+    return new Val<>(() -> limiter.call(this));
+  }
+
+  /**
+   * Creates a new effect that computes this effect within the given bulkhead. If the bulkhead is full and no permit is
+   * released within its maximum wait time, the returned effect fails with a
+   * {@link java.util.concurrent.RejectedExecutionException} without computing this effect.
+   *
+   * @param bulkhead the bulkhead, usually shared by all the effects that call the same dependency
+   * @return an effect isolated by the bulkhead
+   * @see Bulkhead
+   */
+  public IO<Output> bulkhead(final Bulkhead bulkhead) {
+    requireNonNull(bulkhead);
+    return new Val<>(() -> bulkhead.call(this));
+  }
+
+  /**
+   * Creates a new effect that computes this effect at most once and shares its result with every computation of the
+   * returned effect, including failures (but not interruptions, like the cancellation of the computing branch of a
+   * parallel expression, which are computed again). Concurrent computations are coalesced onto a single in-flight one:
+   * one computes this effect and the rest wait for its result. It's useful for effects shared by different branches of an
+   * expression, like fetching a configuration or a token.
+   *
+   * @return a memoized effect
+   * @see #memoize(boolean)
+   */
+  public IO<Output> memoize() {
+    return memoize(true);
+  }
+
+  /**
+   * Creates a new effect that computes this effect at most once and shares its result with every computation of the
+   * returned effect. Concurrent computations are coalesced onto a single in-flight one. If {@code cacheFailures} is
+   * false, a failure is only shared with the computations that were waiting for it, and the next computation tries
+   * again.
+   *
+   * @param cacheFailures whether failures are cached like successes
+   * @return a memoized effect
+   */
+  public IO<Output> memoize(final boolean cacheFailures) {
+    return new Val<>(new Memo<>(this,
+                                null,
+                                cacheFailures));
+  }
+
+  /**
+   * Creates a new effect that caches the result of this effect, including failures, for the specified time-to-live.
+   * Once it expires, the next computation refreshes it. Concurrent computations that find no valid result are
+   * coalesced onto a single in-flight one.
+   *
+   * @param ttl the time-to-live of the result
+   * @return a cached effect
+   * @see #cached(Duration, boolean)
+   */
+  public IO<Output> cached(final Duration ttl) {
+    return cached(ttl,
+                  true);
+  }
+
+  /**
+   * Creates a new effect that caches the result of this effect for the specified time-to-live. Once it expires, the
+   * next computation refreshes it. Concurrent computations that find no valid result are coalesced onto a single
+   * in-flight one. If {@code cacheFailures} is false, a failure is only shared with the computations that were waiting
+   * for it, and the next computation tries again.
+   *
+   * @param ttl           the time-to-live of the result
+   * @param cacheFailures whether failures are cached like successes
+   * @return a cached effect
+   */
+  public IO<Output> cached(final Duration ttl,
+                           final boolean cacheFailures) {
+    requireNonNull(ttl);
+    if (ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("ttl <= 0");
+    }
+    return new Val<>(new Memo<>(this,
+                                ttl,
+                                cacheFailures));
+  }
+
+  /**
+   * Creates a new effect that fails with a {@link TimeoutException} if this effect doesn't complete within the
+   * specified duration. The computation is forked into a structured scope and, when the deadline passes, the virtual
+   * thread computing it is interrupted, so blocking calls stop instead of running in the background.
+   *
+   * @param timeout the maximum time the computation is allowed to take
+   * @return a new effect that fails with a {@link TimeoutException} when the deadline passes
+   */
+  public IO<Output> timeout(final Duration timeout) {
+    requireNonNull(timeout);
+    return new Val<>(() -> timeout(this,
+                                   timeout,
+                                   Failure::new));
+  }
+
+  /**
+   * Creates a new effect that, if this effect doesn't complete within the specified duration, interrupts the virtual
+   * thread computing it and computes the effect returned by the given supplier instead. The fallback is only used when
+   * the deadline of this combinator passes, not when the effect itself fails with a {@link TimeoutException}.
+   *
+   * @param timeout  the maximum time the computation is allowed to take
+   * @param fallback supplier of the effect to compute when the deadline passes
+   * @return a new effect that falls back to another effect when the deadline passes
+   * @see #timeout(Duration)
+   */
+  public IO<Output> timeout(final Duration timeout,
+                            final Supplier<IO<Output>> fallback) {
+    requireNonNull(timeout);
+    requireNonNull(fallback);
+    return new Val<>(() -> timeout(this,
+                                   timeout,
+                                   _ -> fallback.get()
+                                                .call()));
+  }
+
+  /**
+   * Computes the given effect in a structured scope, interrupting it if it doesn't complete before the timeout.
+   *
+   * @param effect    the effect
+   * @param timeout   the timeout
+   * @param onTimeout function that computes the result from the exception when the deadline passes
+   * @return the result of the effect, or the one computed by {@code onTimeout} when the deadline passes
+   */
+  static <Output> Result<Output> timeout(final IO<Output> effect,
+                                         final Duration timeout,
+                                         final Function<TimeoutException, Result<Output>> onTimeout
+                                        ) {
+    TimeoutException expired;
+    try (var scope = new ShutdownOnFailure()) {
+      Subtask<Result<Output>> task = scope.fork(effect);
+      try {
+        ParallelHelper.join(scope,
+                            ParallelHelper.deadline(timeout));
+        return task.get();
+      } catch (TimeoutException e) {
+        expired = e;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+      return new Failure<>(e);
+    } catch (Exception e) {
+      return new Failure<>(e);
+    }
+    // the scope is closed, so the interrupted computation has stopped before the fallback starts
+    return onTimeout.apply(expired);
+  }
+
   /**
    * Creates a new effect that, when this succeeds, maps the computed output into another output using the specified
    * function.
@@ -255,18 +496,8 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    * @return a new effect that represents the mapped result.
    */
   public <OutputMapped> IO<OutputMapped> map(final Function<? super Output, ? extends OutputMapped> fn) {
-    requireNonNull(fn);
-    return new Val<>(() -> {
-      try {
-        Result<Output> result = call();
-        return switch (result) {
-          case Success<Output>(Output output) -> new Success<>(fn.apply(output));
-          case Failure<Output>(Exception exception) -> new Failure<>(exception);
-        };
-      } catch (Exception e) { //fn can fail!
-        return new Failure<>(e);
-      }
-    });
+    return new MapNode<>(this,
+                         requireNonNull(fn));
   }
 
   /**
@@ -286,17 +517,9 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    */
   public IO<Output> mapFailure(final Function<Exception, Exception> fn) {
     requireNonNull(fn);
-    return new Val<>(
-        () -> {
-          try {
-            return switch (call()) {
-              case Success<Output> s -> s;
-              case Failure<Output>(Exception exception) -> new Failure<>(fn.apply(exception));
-            };
-          } catch (Exception e) {
-            return new Failure<>(e);
-          }
-        });
+    return new FoldNode<>(this,
+                          null,
+                          exception -> fail(fn.apply(exception)));
   }
 
   /**
@@ -310,18 +533,8 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    * @return a new effect representing the result of applying the lambda.
    */
   public <Q> IO<Q> then(final Lambda<? super Output, Q> fn) {
-    requireNonNull(fn);
-    return new Val<>(() -> {
-      try {
-        return switch (call()) {
-          case Success<Output>(Output output) -> fn.apply(output)
-                                                   .call();
-          case Failure<Output>(Exception e) -> new Failure<>(e);
-        };
-      } catch (Exception e) {
-        return new Failure<>(e);
-      }
-    });
+    return new FlatMapNode<>(this,
+                             requireNonNull(fn));
   }
 
   /**
@@ -337,21 +550,9 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
 
   public <Q> IO<Q> then(final Lambda<? super Output, Q> successLambda,
                         final Lambda<? super Exception, Q> failureLambda) {
-    requireNonNull(successLambda);
-    requireNonNull(failureLambda);
-    return new Val<>(() -> {
-      try {
-        Result<Output> result = call();
-        return switch (result) {
-          case Success<Output>(Output output) -> successLambda.apply(output)
-                                                              .call();
-          case Failure<Output>(Exception exception) -> failureLambda.apply(exception)
-                                                                    .call();
-        };
-      } catch (Exception e) {
-        return new Failure<>(e);
-      }
-    });
+    return new FoldNode<>(this,
+                          requireNonNull(successLambda),
+                          requireNonNull(failureLambda));
   }
 
   /**
@@ -365,16 +566,9 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    */
   public IO<Output> recover(final Function<? super Exception, Output> fn) {
     requireNonNull(fn);
-    return new Val<>(() -> {
-      try {
-        return switch (call()) {
-          case Success<Output> success -> success;
-          case Failure<Output>(Exception exception) -> new Success<>(fn.apply(exception));
-        };
-      } catch (Exception e) {
-        return new Failure<>(e);
-      }
-    });
+    return new FoldNode<>(this,
+                          null,
+                          exception -> succeed(fn.apply(exception)));
 
   }
 
@@ -478,9 +672,10 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
 
   /**
    * Creates a new effect that will retry the computation according to the specified {@link RetryPolicy policy} if this
-   * effect fails and the failure satisfies the given predicate. If a delay before the retry is imposed by the policy, a
-   * thread from the fork join pool will execute the retry; otherwise (delay is zero), the same thread as the one
-   * computing this effect will execute the retry.
+   * effect fails and the failure satisfies the given predicate. If a delay before the retry is imposed by the policy,
+   * the thread computing this effect waits for it before retrying; otherwise (delay is zero), the retry is executed
+   * right away. Retries are executed in a loop, so the stack doesn't grow with the number of attempts. If the thread is
+   * interrupted while waiting, no more retries are made and the last failure is returned.
    *
    * @param predicate the predicate that determines if the failure should be retried.
    * @param policy    the retry policy specifying the retry behavior.
@@ -489,19 +684,45 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    */
   public IO<Output> retry(final Predicate<? super Throwable> predicate,
                           final RetryPolicy policy) {
+    return retry(predicate,
+                 policy,
+                 RetryListener.NONE);
+
+  }
+
+  /**
+   * Creates a new effect that will retry the computation according to the specified {@link RetryPolicy policy} if this
+   * effect fails and the failure satisfies the given predicate, notifying the given listener before every retry with
+   * the attempt number, the delay imposed by the policy and the failure that caused the retry.
+   *
+   * @param predicate the predicate that determines if the failure should be retried.
+   * @param policy    the retry policy specifying the retry behavior.
+   * @param listener  the listener notified before every retry.
+   * @return a new effect representing the original computation with retry behavior.
+   * @see #retry(Predicate, RetryPolicy)
+   * @see RetryListener
+   */
+  public IO<Output> retry(final Predicate<? super Throwable> predicate,
+                          final RetryPolicy policy,
+                          final RetryListener listener) {
     requireNonNull(predicate);
     requireNonNull(policy);
-    return retry(this,
-                 policy,
-                 RetryStatus.ZERO,
-                 predicate);
+    requireNonNull(listener);
+    IO<Output> retried = RetryLoop.retry(this,
+                                         policy,
+                                         predicate,
+                                         listener);
+    List<RetryBudget> budgets = policy.budgets();
+    return budgets.isEmpty() ?
+           retried :
+           retried.peekSuccess(_ -> budgets.forEach(RetryBudget::recordSuccess));
 
   }
 
   /**
    * Creates a new effect that will retry the computation according to the specified {@link RetryPolicy policy} if this
-   * effect fails. If a delay before the retry is imposed by the policy, a thread from the fork join pool will execute
-   * the retry; otherwise (delay is zero), the same thread as the one computing this effect will execute the retry.
+   * effect fails. If a delay before the retry is imposed by the policy, the thread computing this effect waits for it
+   * before retrying; otherwise (delay is zero), the retry is executed right away.
    *
    * @param policy the retry policy specifying the retry behavior.
    * @return a new effect representing the original computation with retry behavior.
@@ -512,47 +733,12 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
                  policy);
   }
 
-  private IO<Output> retry(IO<Output> effect,
-                           Function<RetryStatus, Duration> policy,
-                           RetryStatus rs,
-                           Predicate<? super Throwable> predicate) {
-
-    return effect.then(IO::succeed,
-                       exc -> {
-                         if (predicate.test(exc)) {
-                           Duration duration = policy.apply(rs);
-                           if (duration == null) {
-                             return fail(exc);
-                           }
-                           if (duration.isZero()) {
-                             return retry(effect,
-                                          policy,
-                                          new RetryStatus(rs.counter() + 1,
-                                                          rs.cumulativeDelay(),
-                                                          Duration.ZERO),
-                                          predicate);
-                           }
-                           Fun.sleep(duration);
-                           return retry(effect,
-                                        policy,
-                                        new RetryStatus(rs.counter() + 1,
-                                                        rs.cumulativeDelay()
-                                                          .plus(duration),
-                                                        duration),
-                                        predicate
-
-                                       );
-                         }
-                         return fail(exc);
-                       });
-
-  }
-
   /**
    * Creates a new effect that repeats the computation according to the specified {@link RetryPolicy policy} if the
-   * result, when computed, satisfies the given predicate. If a delay before the retry is imposed by the policy, thread
-   * from the fork join pool will execute the retry; otherwise (delay is zero), the same thread as the one computing
-   * this effect will execute the retry.
+   * result, when computed, satisfies the given predicate. If a delay before the repetition is imposed by the policy,
+   * the thread computing this effect waits for it; otherwise (delay is zero), the computation is repeated right away.
+   * Repetitions are executed in a loop, so the stack doesn't grow with the number of attempts. If the thread is
+   * interrupted while waiting, the last output is returned.
    *
    * @param predicate the predicate that determines if the result should be computed again.
    * @param policy    the retry policy specifying the repeat behavior.
@@ -561,45 +747,34 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    */
   public IO<Output> repeat(final Predicate<? super Output> predicate,
                            final RetryPolicy policy) {
-    return repeat(this,
-                  requireNonNull(policy),
-                  RetryStatus.ZERO,
-                  requireNonNull(predicate));
+    return repeat(predicate,
+                  policy,
+                  RetryListener.NONE);
 
   }
 
-  private IO<Output> repeat(IO<Output> exp,
-                            RetryPolicy policy,
-                            RetryStatus rs,
-                            Predicate<? super Output> predicate) {
-
-    return exp.then(output -> {
-      if (predicate.test(output)) {
-        Duration delay = policy.apply(rs);
-        if (delay == null) {
-          return succeed(output);
-        }
-        if (delay.isZero()) {
-          return repeat(exp,
-                        policy,
-                        new RetryStatus(rs.counter() + 1,
-                                        rs.cumulativeDelay(),
-                                        Duration.ZERO),
-                        predicate);
-        }
-        Fun.sleep(delay);
-        return repeat(exp,
-                      policy,
-                      new RetryStatus(rs.counter() + 1,
-                                      rs.cumulativeDelay()
-                                        .plus(delay),
-                                      delay),
-                      predicate
-
-                     );
-      }
-      return succeed(output);
-    });
+  /**
+   * Creates a new effect that repeats the computation according to the specified {@link RetryPolicy policy} if the
+   * result, when computed, satisfies the given predicate, notifying the given listener before every repetition with the
+   * attempt number and the delay imposed by the policy (the cause is always null).
+   *
+   * @param predicate the predicate that determines if the result should be computed again.
+   * @param policy    the retry policy specifying the repeat behavior.
+   * @param listener  the listener notified before every repetition.
+   * @return a new effect representing the original computation with repeat behavior.
+   * @see #repeat(Predicate, RetryPolicy)
+   * @see RetryListener
+   */
+  public IO<Output> repeat(final Predicate<? super Output> predicate,
+                           final RetryPolicy policy,
+                           final RetryListener listener) {
+    requireNonNull(predicate);
+    requireNonNull(policy);
+    requireNonNull(listener);
+    return RetryLoop.repeat(this,
+                            policy,
+                            predicate,
+                            listener);
 
   }
 
@@ -612,13 +787,19 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    * @see EvalExpEvent
    */
   public IO<Output> debug() {
-    return debug(EventBuilder.of(getClass().getSimpleName()));
+    return debug(EventBuilder.of(this instanceof Exp<?> ? getClass().getSimpleName() : "Val"));
   }
 
   /**
    * Creates a copy of this effect that generates an {@link RecordedEvent} from the result of the computation and sends
    * it to the Flight Recorder system. Customization of the event can be achieved using the provided
    * {@link EventBuilder}.
+   * <p>
+   * The event has its own span id and, when the effect is computed as an operand of an expression debugged with
+   * {@link Exp#debugEach(EventBuilder)}, the span id of that expression as its parent span id.
+   * <p>
+   * If no recording has the event enabled when the effect is computed, no event is created and this effect is computed
+   * as it is.
    *
    * @param builder the builder used to customize the event.
    * @return a new effect with debugging enabled.
@@ -626,21 +807,72 @@ public sealed abstract class IO<Output> implements Callable<Result<Output>> perm
    */
   public IO<Output> debug(final EventBuilder<Output> builder) {
     requireNonNull(builder);
-    return IO.lazy(() -> {
-               EvalExpEvent expEvent = new EvalExpEvent();
-               expEvent.begin();
-               return expEvent;
-             })
-             .then(event -> this.peek(val -> {
-                                        event.end();
-                                        builder.commitSuccess(val,
-                                                              event);
-                                      },
-                                      exc -> {
-                                        event.end();
-                                        builder.commitFailure(exc,
-                                                              event);
-                                      }));
+    if (this instanceof Val<?> || this instanceof Exp<?>) {
+      // leaves of the interpreter are computed with a single call, and so is their copy
+      return new Val<>(() -> EventBuilder.isEnabled() ? callRecorded(builder) : call());
+    }
+    IO<Output> recorded = IO.lazy(() -> {
+                              EvalExpEvent expEvent = new EvalExpEvent();
+                              expEvent.parentSpanId = Spans.current();
+                              expEvent.spanId = Spans.next();
+                              expEvent.begin();
+                              expEvent.startNanos = System.nanoTime();
+                              return expEvent;
+                            })
+                            .then(event -> this.peek(val -> {
+                                                       event.end();
+                                                       builder.commitSuccess(val,
+                                                                             event);
+                                                     },
+                                                     exc -> {
+                                                       event.end();
+                                                       builder.commitFailure(exc,
+                                                                             event);
+                                                     }));
+    return IO.lazy(EventBuilder::isEnabled)
+             .then(isEnabled -> isEnabled ? recorded : this);
+  }
+
+  private Result<Output> callRecorded(final EventBuilder<Output> builder) {
+    EvalExpEvent event = new EvalExpEvent();
+    event.parentSpanId = Spans.current();
+    event.spanId = Spans.next();
+    event.begin();
+    event.startNanos = System.nanoTime();
+    Result<Output> result = call();
+    event.end();
+    switch (result) {
+      case Success<Output>(Output output) -> builder.commitSuccess(output,
+                                                                   event);
+      case Failure<Output>(Throwable exception) -> builder.commitFailure(exception,
+                                                                         event);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the result of this effect with the {@link Interpreter}, which reduces the chain of operations this effect
+   * is made up of in a loop, so that the Java stack doesn't grow with the length of the chain.
+   *
+   * @return the result of the computation, either a {@link Success} or a {@link Failure}.
+   */
+  @Override
+  public Result<Output> call() {
+    return Interpreter.run(this);
+  }
+
+  /**
+   * Computes the result of this effect without blocking on its delays. The effect is computed on the calling thread
+   * until its first delay (see {@link #sleep(Duration)}, and the delays between attempts of {@code retry} and
+   * {@code repeat}). Then, instead of parking a thread, the computation is suspended and a continuation is registered in
+   * a shared hashed timer wheel, which resumes it on a virtual thread when the delay has passed. Thousands of effects
+   * waiting for a backoff cost a few objects each rather than a thread each. Delays inside expressions or suspended
+   * computations are still waited for by the thread computing them.
+   *
+   * @return a future completed with the result of the computation
+   */
+  public CompletableFuture<Result<Output>> callAsync() {
+    return Interpreter.runAsync(this);
   }
 
   /**
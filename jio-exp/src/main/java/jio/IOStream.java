@@ -0,0 +1,649 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Lazy, pull-based stream of elements read from a resource (a result set, a database cursor, the lines of a file...)
+ * that is processed incrementally instead of being materialized in memory. A stream is a description: nothing is read
+ * until a terminal operation like {@link #fold(Object, BiFunction)} or {@link #toList()} is computed, and every time it
+ * is, the resource is opened again.
+ * <p>
+ * Elements are pulled one at a time by the terminal operation, from the last stage to the source, so a slow consumer
+ * never makes the source read ahead (backpressure comes for free) and the memory used doesn't depend on the number of
+ * elements: only {@link #mapPar(int, Lambda)} and {@link #chunk(int)} hold more than one element at a time, and they
+ * hold a bounded number of them. The resource is closed with {@link IO#resource(Callable, Lambda)} when the terminal
+ * operation completes, fails or stops early because of {@link #take(long)}.
+ * <p>
+ * The stages of a stream are not thread-safe, but a stream can be computed any number of times, concurrently, since
+ * every computation opens its own resource.
+ *
+ * @param <T> the type of the elements
+ */
+public final class IOStream<T> {
+
+  private final Callable<? extends Cursor<T>> open;
+
+  private IOStream(final Callable<? extends Cursor<T>> open) {
+    this.open = open;
+  }
+
+  /**
+   * Creates a stream from a cursor. The callable is invoked every time a terminal operation is computed, and the
+   * cursor it returns is closed once the operation completes.
+   *
+   * @param open the callable that opens the cursor
+   * @param <T>  the type of the elements
+   * @return a stream
+   */
+  public static <T> IOStream<T> fromCursor(final Callable<? extends Cursor<T>> open) {
+    return new IOStream<>(requireNonNull(open));
+  }
+
+  /**
+   * Creates a stream from an iterator. The callable is invoked every time a terminal operation is computed, and if the
+   * iterator it returns is {@link AutoCloseable} (like a MongoDB cursor), it's closed once the operation completes.
+   *
+   * @param open the callable that returns the iterator
+   * @param <T>  the type of the elements
+   * @return a stream
+   */
+  public static <T> IOStream<T> fromIterator(final Callable<? extends Iterator<T>> open) {
+    requireNonNull(open);
+    return new IOStream<>(() -> new IteratorCursor<>(requireNonNull(open.call())));
+  }
+
+  /**
+   * Creates a stream from the elements of an iterable.
+   *
+   * @param iterable the iterable
+   * @param <T>      the type of the elements
+   * @return a stream
+   */
+  public static <T> IOStream<T> fromIterable(final Iterable<T> iterable) {
+    requireNonNull(iterable);
+    return fromIterator(iterable::iterator);
+  }
+
+  /**
+   * Creates a stream from the given elements.
+   *
+   * @param elements the elements. Null is not allowed.
+   * @param <T>      the type of the elements
+   * @return a stream
+   */
+  @SafeVarargs
+  public static <T> IOStream<T> of(final T... elements) {
+    List<T> list = new ArrayList<>(elements.length);
+    for (T element : elements) {
+      list.add(requireNonNull(element));
+    }
+    return fromIterable(list);
+  }
+
+  /**
+   * Creates a stream from a closable resource and a function that returns an iterator over its content. The resource
+   * is opened every time a terminal operation is computed, and closed once the operation completes.
+   *
+   * @param resource the callable that opens the resource
+   * @param iterator the function that returns the iterator over the content of the resource
+   * @param <R>      the type of the resource
+   * @param <T>      the type of the elements
+   * @return a stream
+   */
+  public static <R extends AutoCloseable, T> IOStream<T> resource(final Callable<? extends R> resource,
+                                                                 final Function<? super R, ? extends Iterator<T>> iterator
+                                                                ) {
+    requireNonNull(resource);
+    requireNonNull(iterator);
+    return new IOStream<>(() -> {
+      R opened = resource.call();
+      try {
+        return new IteratorCursor<>(requireNonNull(iterator.apply(opened)),
+                                    opened);
+      } catch (Exception e) {
+        opened.close();
+        throw e;
+      }
+    });
+  }
+
+  /**
+   * Returns a stream with the result of applying the given function to every element.
+   *
+   * @param fn  the function
+   * @param <R> the type of the new elements
+   * @return a new stream
+   */
+  public <R> IOStream<R> map(final Function<? super T, ? extends R> fn) {
+    requireNonNull(fn);
+    return new IOStream<>(() -> new MapCursor<>(open.call(),
+                                                fn));
+  }
+
+  /**
+   * Returns a stream with the output of the effects that the given lambda returns for every element, computing up to
+   * {@code n} of them in parallel on virtual threads. The order of the elements is preserved, and no more than
+   * {@code n} elements are read ahead of the consumer. If an effect fails, the stream fails with its exception, and the
+   * effects in flight are cancelled.
+   *
+   * @param n      the maximum number of effects computed in parallel. Must be greater than 0.
+   * @param lambda the lambda
+   * @param <R>    the type of the new elements
+   * @return a new stream
+   * @throws IllegalArgumentException if n is less than or equal to 0
+   */
+  public <R> IOStream<R> mapPar(final int n,
+                                final Lambda<? super T, R> lambda) {
+    requireNonNull(lambda);
+    if (n <= 0) {
+      throw new IllegalArgumentException("n <= 0");
+    }
+    return new IOStream<>(() -> new MapParCursor<>(open.call(),
+                                                   n,
+                                                   lambda));
+  }
+
+  /**
+   * Returns a stream with the elements that satisfy the given predicate.
+   *
+   * @param predicate the predicate
+   * @return a new stream
+   */
+  public IOStream<T> filter(final Predicate<? super T> predicate) {
+    requireNonNull(predicate);
+    return new IOStream<>(() -> new FilterCursor<>(open.call(),
+                                                   predicate));
+  }
+
+  /**
+   * Returns a stream that groups the elements in lists of the given size. The last list has the remaining elements,
+   * and it can be smaller.
+   *
+   * @param size the size of the lists. Must be greater than 0.
+   * @return a new stream
+   * @throws IllegalArgumentException if size is less than or equal to 0
+   */
+  public IOStream<List<T>> chunk(final int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("size <= 0");
+    }
+    return new IOStream<>(() -> new ChunkCursor<>(open.call(),
+                                                  size));
+  }
+
+  /**
+   * Returns a stream with the first {@code n} elements at most. Once they are read, the source is not pulled anymore,
+   * and the resource is closed without reading the rest.
+   *
+   * @param n the maximum number of elements. Must not be negative.
+   * @return a new stream
+   * @throws IllegalArgumentException if n is negative
+   */
+  public IOStream<T> take(final long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("n < 0");
+    }
+    return new IOStream<>(() -> new TakeCursor<>(open.call(),
+                                                 n));
+  }
+
+  /**
+   * Returns a stream that, when opening or reading this one fails with an exception that satisfies the predicate,
+   * closes it, waits for the delay imposed by the policy and opens it again, skipping the elements that were already
+   * emitted. It's meant for sources that return the same elements in the same order every time they are opened (a
+   * query with an order by, a file...); otherwise, elements can be lost or repeated. The failures of the stages added
+   * after this one are not retried.
+   *
+   * @param predicate the predicate that determines if the failure should be retried
+   * @param policy    the retry policy
+   * @return a new stream
+   * @see IO#retry(Predicate, RetryPolicy)
+   */
+  public IOStream<T> retry(final Predicate<? super Throwable> predicate,
+                           final RetryPolicy policy) {
+    requireNonNull(predicate);
+    requireNonNull(policy);
+    return new IOStream<>(() -> new RetryCursor<>(open,
+                                                  predicate,
+                                                  policy));
+  }
+
+  /**
+   * Returns a stream that, when opening or reading this one fails, opens it again according to the given policy.
+   *
+   * @param policy the retry policy
+   * @return a new stream
+   * @see #retry(Predicate, RetryPolicy)
+   */
+  public IOStream<T> retry(final RetryPolicy policy) {
+    return retry(_ -> true,
+                 policy);
+  }
+
+  /**
+   * Returns an effect that reads the whole stream, combining every element with the accumulated value, starting with
+   * the initial one. Since the effect can be computed more than once, the initial value should be immutable. The
+   * resource is closed once the stream is exhausted or the effect fails.
+   *
+   * @param init the initial value
+   * @param fn   the function that combines the accumulated value with an element
+   * @param <R>  the type of the accumulated value
+   * @return an effect with the accumulated value
+   */
+  public <R> IO<R> fold(final R init,
+                        final BiFunction<? super R, ? super T, ? extends R> fn) {
+    requireNonNull(fn);
+    return IO.resource(open,
+                       cursor -> IO.task(() -> {
+                         R acc = init;
+                         while (cursor.hasNext()) {
+                           acc = fn.apply(acc,
+                                          cursor.next());
+                         }
+                         return acc;
+                       }));
+  }
+
+  /**
+   * Returns an effect that reads the whole stream into a list. Since the list holds every element, it's meant for
+   * streams made small with {@link #take(long)}, {@link #filter(Predicate)} or {@link #chunk(int)} and a fold.
+   *
+   * @return an effect with the list of elements
+   */
+  public IO<List<T>> toList() {
+    return IO.resource(open,
+                       cursor -> IO.task(() -> {
+                         List<T> list = new ArrayList<>();
+                         while (cursor.hasNext()) {
+                           list.add(cursor.next());
+                         }
+                         return list;
+                       }));
+  }
+
+  /**
+   * Returns an effect that reads the whole stream and counts the elements.
+   *
+   * @return an effect with the number of elements
+   */
+  public IO<Long> count() {
+    return fold(0L,
+                (count, _) -> count + 1);
+  }
+
+  /**
+   * A source of elements pulled one at a time, and the resource it reads them from. Unlike an {@link Iterator}, its
+   * methods can throw checked exceptions, which makes it easy to adapt JDBC result sets or any other API that throws
+   * them.
+   *
+   * @param <T> the type of the elements
+   */
+  @SuppressWarnings("try") // cursors close their resource, and so they can throw any exception
+  public interface Cursor<T> extends AutoCloseable {
+
+    /**
+     * Returns true if there are more elements, reading the next one if needed.
+     *
+     * @return true if there are more elements
+     * @throws Exception if the element can't be read
+     */
+    boolean hasNext() throws Exception;
+
+    /**
+     * Returns the next element. It's only called after {@link #hasNext()} returned true.
+     *
+     * @return the next element
+     * @throws Exception if the element can't be read
+     */
+    T next() throws Exception;
+  }
+
+  @SuppressWarnings("try")
+  private static final class IteratorCursor<T> implements Cursor<T> {
+
+    private final Iterator<T> iterator;
+    private final AutoCloseable resource;
+
+    IteratorCursor(final Iterator<T> iterator) {
+      this(iterator,
+           iterator instanceof AutoCloseable closeable ? closeable : null);
+    }
+
+    IteratorCursor(final Iterator<T> iterator,
+                   final AutoCloseable resource
+                  ) {
+      this.iterator = iterator;
+      this.resource = resource;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+      return iterator.next();
+    }
+
+    @Override
+    public void close() throws Exception {
+      if (resource != null) {
+        resource.close();
+      }
+    }
+  }
+
+  @SuppressWarnings("try")
+  private record MapCursor<T, R>(Cursor<T> source,
+                                 Function<? super T, ? extends R> fn) implements Cursor<R> {
+
+    @Override
+    public boolean hasNext() throws Exception {
+      return source.hasNext();
+    }
+
+    @Override
+    public R next() throws Exception {
+      return fn.apply(source.next());
+    }
+
+    @Override
+    public void close() throws Exception {
+      source.close();
+    }
+  }
+
+  @SuppressWarnings("try")
+  private static final class FilterCursor<T> implements Cursor<T> {
+
+    private final Cursor<T> source;
+    private final Predicate<? super T> predicate;
+    private T next;
+    private boolean ready;
+
+    FilterCursor(final Cursor<T> source,
+                 final Predicate<? super T> predicate
+                ) {
+      this.source = source;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+      while (!ready && source.hasNext()) {
+        T element = source.next();
+        if (predicate.test(element)) {
+          next = element;
+          ready = true;
+        }
+      }
+      return ready;
+    }
+
+    @Override
+    public T next() throws Exception {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T element = next;
+      next = null;
+      ready = false;
+      return element;
+    }
+
+    @Override
+    public void close() throws Exception {
+      source.close();
+    }
+  }
+
+  @SuppressWarnings("try")
+  private record ChunkCursor<T>(Cursor<T> source,
+                                int size) implements Cursor<List<T>> {
+
+    @Override
+    public boolean hasNext() throws Exception {
+      return source.hasNext();
+    }
+
+    @Override
+    public List<T> next() throws Exception {
+      List<T> chunk = new ArrayList<>(size);
+      while (chunk.size() < size && source.hasNext()) {
+        chunk.add(source.next());
+      }
+      return chunk;
+    }
+
+    @Override
+    public void close() throws Exception {
+      source.close();
+    }
+  }
+
+  @SuppressWarnings("try")
+  private static final class TakeCursor<T> implements Cursor<T> {
+
+    private final Cursor<T> source;
+    private long remaining;
+
+    TakeCursor(final Cursor<T> source,
+               final long n
+              ) {
+      this.source = source;
+      this.remaining = n;
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+      return remaining > 0 && source.hasNext();
+    }
+
+    @Override
+    public T next() throws Exception {
+      if (remaining <= 0) {
+        throw new NoSuchElementException();
+      }
+      remaining--;
+      return source.next();
+    }
+
+    @Override
+    public void close() throws Exception {
+      source.close();
+    }
+  }
+
+  /**
+   * Keeps a window of up to n effects in flight, in the order of the elements. The source is only read by the thread
+   * that pulls from the cursor, which refills the window every time an output is taken from its head.
+   */
+  @SuppressWarnings("try")
+  private static final class MapParCursor<T, R> implements Cursor<R> {
+
+    private final Cursor<T> source;
+    private final int n;
+    private final Lambda<? super T, R> lambda;
+    private final ArrayDeque<Future<Result<R>>> window;
+
+    MapParCursor(final Cursor<T> source,
+                 final int n,
+                 final Lambda<? super T, R> lambda
+                ) {
+      this.source = source;
+      this.n = n;
+      this.lambda = lambda;
+      this.window = new ArrayDeque<>(n);
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+      while (window.size() < n && source.hasNext()) {
+        IO<R> effect = lambda.apply(source.next());
+        window.add(VirtualThreadExecutor.INSTANCE.submit(Spans.bind(effect)));
+      }
+      return !window.isEmpty();
+    }
+
+    @Override
+    public R next() throws Exception {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Result<R> result;
+      try {
+        result = window.poll()
+                       .get();
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof Exception exception ? exception : e;
+      }
+      return switch (result) {
+        case Success<R>(R output) -> output;
+        case Failure<R>(Exception exception) -> throw exception;
+      };
+    }
+
+    @Override
+    public void close() throws Exception {
+      Future<Result<R>> future;
+      while ((future = window.poll()) != null) {
+        future.cancel(true);
+      }
+      source.close();
+    }
+  }
+
+  /**
+   * Reopens the source when it fails, skipping the elements that were already emitted. The delays imposed by the
+   * policy are waited for by the thread that pulls from the cursor.
+   */
+  @SuppressWarnings("try")
+  private static final class RetryCursor<T> implements Cursor<T> {
+
+    private final Callable<? extends Cursor<T>> open;
+    private final Predicate<? super Throwable> predicate;
+    private final RetryPolicy policy;
+    private Cursor<T> source;
+    private RetryStatus status = RetryStatus.ZERO;
+    private long emitted;
+    private boolean completed;
+
+    RetryCursor(final Callable<? extends Cursor<T>> open,
+                final Predicate<? super Throwable> predicate,
+                final RetryPolicy policy
+               ) throws Exception {
+      this.open = open;
+      this.predicate = predicate;
+      this.policy = policy;
+      this.source = reopen(0);
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+      while (true) {
+        try {
+          boolean hasNext = source.hasNext();
+          if (!hasNext && !completed) {
+            completed = true;
+            policy.budgets()
+                  .forEach(RetryBudget::recordSuccess);
+          }
+          return hasNext;
+        } catch (Exception e) {
+          source = recover(e);
+        }
+      }
+    }
+
+    @Override
+    public T next() throws Exception {
+      while (true) {
+        try {
+          T element = source.next();
+          emitted++;
+          return element;
+        } catch (Exception e) {
+          source = recover(e);
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() throws Exception {
+      if (source != null) {
+        source.close();
+      }
+    }
+
+    private Cursor<T> reopen(final long skip) throws Exception {
+      while (true) {
+        Cursor<T> cursor = null;
+        try {
+          cursor = open.call();
+          for (long i = 0; i < skip && cursor.hasNext(); i++) {
+            cursor.next();
+          }
+          return cursor;
+        } catch (Exception e) {
+          if (cursor != null) {
+            closeQuietly(cursor);
+          }
+          waitBeforeRetry(e);
+        }
+      }
+    }
+
+    private Cursor<T> recover(final Exception exception) throws Exception {
+      Cursor<T> failed = source;
+      source = null;
+      closeQuietly(failed);
+      waitBeforeRetry(exception);
+      return reopen(emitted);
+    }
+
+    private void waitBeforeRetry(final Exception exception) throws Exception {
+      if (!predicate.test(exception)) {
+        throw exception;
+      }
+      Duration delay = policy.apply(status);
+      if (delay == null) {
+        throw exception;
+      }
+      status = new RetryStatus(status.counter() + 1,
+                               status.cumulativeDelay()
+                                     .plus(delay),
+                               delay);
+      if (!delay.isZero()) {
+        Thread.sleep(delay);
+      }
+    }
+
+    private static void closeQuietly(final AutoCloseable cursor) {
+      try {
+        cursor.close();
+      } catch (Exception e) {
+        Fun.publishException("stream-retry",
+                             e);
+      }
+    }
+  }
+}
@@ -2,6 +2,9 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -21,12 +24,15 @@ public final class IfElseExp<Output> extends Exp<Output> {
   private final IO<Boolean> predicate;
   private Supplier<IO<Output>> consequence = IO::NULL;
   private Supplier<IO<Output>> alternative = IO::NULL;
+  private final boolean speculative;
 
   private IfElseExp(final IO<Boolean> predicate,
-                    final Function<EvalExpEvent, BiConsumer<Output, Throwable>> debugger
+                    final Function<EvalExpEvent, BiConsumer<Output, Throwable>> debugger,
+                    final boolean speculative
                    ) {
     super(debugger);
     this.predicate = predicate;
+    this.speculative = speculative;
   }
 
   /**
@@ -38,7 +44,8 @@ public final class IfElseExp<Output> extends Exp<Output> {
    */
   public static <O> IfElseExp<O> predicate(final IO<Boolean> predicate) {
     return new IfElseExp<>(requireNonNull(predicate),
-                           null);
+                           null,
+                           false);
   }
 
   /**
@@ -49,7 +56,8 @@ public final class IfElseExp<Output> extends Exp<Output> {
    */
   public IfElseExp<Output> consequence(final Supplier<IO<Output>> consequence) {
     IfElseExp<Output> exp = new IfElseExp<>(predicate,
-                                            jfrPublisher);
+                                            jfrPublisher,
+                                            speculative);
     exp.alternative = alternative;
     exp.consequence = requireNonNull(consequence);
     return exp;
@@ -63,12 +71,32 @@ public final class IfElseExp<Output> extends Exp<Output> {
    */
   public IfElseExp<Output> alternative(final Supplier<IO<Output>> alternative) {
     IfElseExp<Output> exp = new IfElseExp<>(predicate,
-                                            jfrPublisher);
+                                            jfrPublisher,
+                                            speculative);
     exp.consequence = consequence;
     exp.alternative = requireNonNull(alternative);
     return exp;
   }
 
+  /**
+   * Returns a copy of this expression that starts the predicate and both branches at the same time, instead of waiting
+   * for the predicate to pick the branch to compute. When the predicate resolves, the losing branch is cancelled (or
+   * both of them if the predicate fails), and the result of the winning one is returned, so the latency is the maximum
+   * of the predicate and the winning branch rather than their sum. Only use it when both branches are idempotent and
+   * cheap enough to be computed for nothing. Every discarded branch is recorded with a {@code jio.exp.SpeculativeWaste}
+   * JFR event to judge whether the mode pays off.
+   *
+   * @return a speculative IfElseExp
+   */
+  public IfElseExp<Output> speculative() {
+    IfElseExp<Output> exp = new IfElseExp<>(predicate,
+                                            jfrPublisher,
+                                            true);
+    exp.consequence = consequence;
+    exp.alternative = alternative;
+    return exp;
+  }
+
   @Override
   public IfElseExp<Output> retryEach(final Predicate<? super Throwable> predicate,
                                      final RetryPolicy policy
@@ -76,7 +104,8 @@ public final class IfElseExp<Output> extends Exp<Output> {
     return new IfElseExp<>(this.predicate.retry(requireNonNull(predicate),
                                                 requireNonNull(policy)
                                                ),
-                           jfrPublisher
+                           jfrPublisher,
+                           speculative
     )
         .consequence(() -> consequence.get()
                                       .retry(predicate,
@@ -90,6 +119,9 @@ public final class IfElseExp<Output> extends Exp<Output> {
 
   @Override
   Result<Output> reduceExp() {
+    if (speculative) {
+      return reduceSpeculatively();
+    }
 
     try {
       Result<Boolean> predicate = this.predicate.call();
@@ -105,32 +137,127 @@ public final class IfElseExp<Output> extends Exp<Output> {
 
   }
 
+  private Result<Output> reduceSpeculatively() {
+    Future<Result<Output>> consequenceTask = null;
+    Future<Result<Output>> alternativeTask = null;
+    try {
+      var consequenceBranch = new SpeculativeBranch<>(consequence.get(),
+                                                      "consequence");
+      consequenceTask = VirtualThreadExecutor.INSTANCE.submit(Spans.bind(consequenceBranch));
+      var alternativeBranch = new SpeculativeBranch<>(alternative.get(),
+                                                      "alternative");
+      alternativeTask = VirtualThreadExecutor.INSTANCE.submit(Spans.bind(alternativeBranch));
+      Result<Boolean> predicate = this.predicate.call();
+      boolean isTrue = predicate instanceof Success<Boolean>(Boolean output) && output;
+      boolean isFalse = predicate instanceof Success<Boolean>(Boolean output) && !output;
+      if (!isTrue) {
+        consequenceBranch.discard(consequenceTask);
+      }
+      if (!isFalse) {
+        alternativeBranch.discard(alternativeTask);
+      }
+      return switch (predicate) {
+        case Success(Boolean output) -> output ? consequenceTask.get() : alternativeTask.get();
+        case Failure(Exception e) -> new Failure<>(e);
+      };
+    } catch (Exception e) {
+      if (consequenceTask != null) {
+        consequenceTask.cancel(true);
+      }
+      if (alternativeTask != null) {
+        alternativeTask.cancel(true);
+      }
+      return new Failure<>(e);
+    }
+  }
+
+  /**
+   * A branch computed speculatively. Its {@link SpeculativeWasteEvent} ends when the branch ends, not when it's
+   * discarded, so a branch that completed before the predicate resolved isn't charged for the wait. The event is
+   * committed by the thread that learns last both that the branch ended and that it was discarded: the branch itself,
+   * if it was still running when it was discarded, or the discarding thread otherwise.
+   */
+  private static final class SpeculativeBranch<Output> implements Callable<Result<Output>> {
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int ENDED = 2;
+    private static final int DISCARDED = 3;
+
+    private final IO<Output> effect;
+    private final String name;
+    private final SpeculativeWasteEvent event = new SpeculativeWasteEvent();
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    SpeculativeBranch(final IO<Output> effect,
+                      final String name
+                     ) {
+      this.effect = effect;
+      this.name = name;
+      event.begin();
+    }
+
+    @Override
+    public Result<Output> call() throws Exception {
+      if (!state.compareAndSet(NEW,
+                               RUNNING)) {
+        // discarded before it started, its future is already cancelled
+        return null;
+      }
+      try {
+        return effect.call();
+      } finally {
+        event.end();
+        if (!state.compareAndSet(RUNNING,
+                                 ENDED)) {
+          commit(SpeculativeWasteEvent.STATE.CANCELLED);
+        }
+      }
+    }
+
+    void discard(final Future<?> task) {
+      // marked before the cancellation, so that the interrupted branch knows that it was discarded when it stops
+      int previous = state.getAndSet(DISCARDED);
+      task.cancel(true);
+      switch (previous) {
+        case NEW -> {
+          event.end();
+          commit(SpeculativeWasteEvent.STATE.CANCELLED);
+        }
+        case ENDED -> commit(SpeculativeWasteEvent.STATE.COMPLETED);
+        default -> {
+          // still running: the branch commits the event when it stops
+        }
+      }
+    }
+
+    private void commit(final SpeculativeWasteEvent.STATE state) {
+      if (event.shouldCommit()) {
+        event.branch = name;
+        event.state = state.name();
+        event.commit();
+      }
+    }
+  }
+
   @Override
   public IfElseExp<Output> debugEach(final EventBuilder<Output> eventBuilder) {
     return new IfElseExp<>(DebuggerHelper.debugIO(predicate,
-                                                  String.format("%s-predicate",
-                                                                eventBuilder.exp
-                                                               ),
-
-                                                  eventBuilder.context
+                                                  eventBuilder,
+                                                  "-predicate"
                                                  ),
-                           getJFRPublisher(eventBuilder)
+                           getJFRPublisher(eventBuilder),
+                           speculative
     )
-        .consequence(() -> DebuggerHelper.debugIO(consequence.get(),
-                                                  String.format("%s-consequence",
-                                                                eventBuilder.exp
-                                                               ),
-                                                  eventBuilder.context
+        .consequence(DebuggerHelper.debugSupplier(consequence,
+                                                  eventBuilder,
+                                                  "-consequence"
                                                  )
-
                     )
-        .alternative(() -> DebuggerHelper.debugIO(alternative.get(),
-                                                  String.format("%s-alternative",
-                                                                eventBuilder.exp
-                                                               ),
-                                                  eventBuilder.context
+        .alternative(DebuggerHelper.debugSupplier(alternative,
+                                                  eventBuilder,
+                                                  "-alternative"
                                                  )
-
                     );
   }
 
@@ -0,0 +1,175 @@
+package jio;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Reduces the nodes of the IO algebra ({@link PureNode}, {@link FailNode}, {@link Val}, {@link MapNode},
+ * {@link FlatMapNode}, {@link FoldNode} and {@link DelayNode}) to a {@link Result} with a single loop. Instead of every
+ * node calling its source (which would take a stack frame per node), the nodes waiting for the result of their source
+ * are pushed onto an explicit stack of continuations. When a leaf (a pure value, a failure, a suspended computation, a
+ * delay or an expression) is reduced, the continuations are popped and applied one after the other. Continuations that
+ * produce a new effect make the loop descend into that effect. The depth of the Java stack is therefore constant no
+ * matter how long the chain of operations is.
+ * <p>
+ * Since the whole state of a computation is the stack of continuations, it can be suspended and resumed later. When an
+ * effect is computed asynchronously, a delay doesn't park the thread: the computation is suspended, and a task that
+ * resumes it on a virtual thread is registered in the shared {@link TimerWheel}. Cancelling the future of the
+ * computation cancels that task, so a cancelled computation is never resumed.
+ */
+final class Interpreter {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private Interpreter() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static <Output> Result<Output> run(final IO<Output> io) {
+    return (Result<Output>) new Computation(null).reduce(io,
+                                                         null);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <Output> CompletableFuture<Result<Output>> runAsync(final IO<Output> io) {
+    var future = new CompletableFuture<Result<?>>();
+    var computation = new Computation(future);
+    future.whenComplete((_, _) -> computation.cancelTimeout());
+    computation.resume(io,
+                       null);
+    return (CompletableFuture<Result<Output>>) (CompletableFuture<?>) future;
+  }
+
+  /**
+   * The state of a computation: the stack of continuations and, if it's asynchronous, the future completed with the
+   * result.
+   */
+  private static final class Computation {
+
+    private static final Result<?> SUSPENDED = new Failure<>(new IllegalStateException("suspended"));
+
+    private final CompletableFuture<Result<?>> future;
+    private IO<?>[] continuations = new IO<?>[INITIAL_CAPACITY];
+    private int size;
+    // the task that resumes the computation after a delay, if it's suspended
+    private volatile TimerWheel.Timeout timeout;
+
+    Computation(final CompletableFuture<Result<?>> future) {
+      this.future = future;
+    }
+
+    void cancelTimeout() {
+      TimerWheel.Timeout pending = timeout;
+      if (pending != null) {
+        pending.cancel();
+      }
+    }
+
+    void resume(final IO<?> current,
+                final Result<?> result) {
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        Result<?> reduced = reduce(current,
+                                   result);
+        if (reduced != SUSPENDED) {
+          future.complete(reduced);
+        }
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+
+    /**
+     * Reduces the current effect and applies the continuations of the stack. If current is null, the given result is
+     * the result of the leaf the computation was suspended at.
+     *
+     * @return the result, or SUSPENDED if the computation is asynchronous and was suspended at a delay
+     */
+    Result<?> reduce(IO<?> current,
+                     Result<?> result) {
+      eval:
+      while (true) {
+        if (current != null) {
+          switch (current) {
+            case PureNode<?> pure -> result = pure.result;
+            case FailNode<?> fail -> result = fail.result;
+            case Val<?> val -> result = val.call();
+            case Exp<?> exp -> result = exp.call();
+            case DelayNode delay -> {
+              if (future == null || delay.delay.isZero()) {
+                result = delay.call();
+              } else {
+                timeout = TimerWheel.shared()
+                                    .schedule(() -> VirtualThreadExecutor.INSTANCE.execute(() -> resume(null,
+                                                                                                        Result.NULL)),
+                                              delay.delay.toNanos());
+                // the future may have been cancelled before the timeout was assigned
+                if (future.isDone()) {
+                  cancelTimeout();
+                }
+                return SUSPENDED;
+              }
+            }
+            case MapNode<?, ?> map -> {
+              push(map);
+              current = map.source;
+              continue eval;
+            }
+            case FlatMapNode<?, ?> flatMap -> {
+              push(flatMap);
+              current = flatMap.source;
+              continue eval;
+            }
+            case FoldNode<?, ?> fold -> {
+              push(fold);
+              current = fold.source;
+              continue eval;
+            }
+          }
+        }
+        while (size > 0) {
+          IO<?> continuation = continuations[--size];
+          continuations[size] = null;
+          switch (continuation) {
+            case MapNode<?, ?> map -> result = map.apply(result);
+            case FlatMapNode<?, ?> flatMap -> {
+              if (result instanceof Success<?>(Object output)) {
+                current = flatMap.next(output);
+                continue eval;
+              }
+            }
+            case FoldNode<?, ?> fold -> {
+              switch (result) {
+                case Success<?>(Object output) when fold.handlesSuccess() -> {
+                  current = fold.nextOnSuccess(output);
+                  continue eval;
+                }
+                case Failure<?>(Exception exception) when fold.handlesFailure() -> {
+                  current = fold.nextOnFailure(exception);
+                  continue eval;
+                }
+                default -> {
+                }
+              }
+            }
+            default -> throw new IllegalStateException("unexpected continuation");
+          }
+        }
+        return result;
+      }
+    }
+
+    private void push(final IO<?> continuation) {
+      if (size == continuations.length) {
+        continuations = Arrays.copyOf(continuations,
+                                      size << 1);
+      }
+      continuations[size++] = continuation;
+    }
+  }
+
+}
@@ -2,11 +2,13 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import jsonvalues.JsArray;
@@ -62,23 +64,89 @@ public abstract sealed class JsArrayExp extends Exp<JsArray> permits JsArrayExpP
                              null);
   }
 
+  /**
+   * Creates a JsArray expression that evaluates the effects in parallel, with at most `maxConcurrency` of them running
+   * at the same time. A new effect is started every time a running one finishes, and the order of the elements in the
+   * array is maintained. If any effect fails, the entire expression fails, and the effects still running are cancelled.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @param effects        the effects to be evaluated in parallel
+   * @return a JsArrayExp for parallel evaluation
+   * @throws IllegalArgumentException if maxConcurrency is less than or equal to 0
+   */
+  @SafeVarargs
+  public static JsArrayExp parN(final int maxConcurrency,
+                                final IO<JsValue>... effects) {
+    var list = new ArrayList<IO<JsValue>>();
+    for (var other : requireNonNull(effects)) {
+      list.add(requireNonNull(other));
+    }
+    return parN(maxConcurrency,
+                list);
+  }
+
+  /**
+   * Creates a JsArray expression that evaluates the given list of effects in parallel, with at most `maxConcurrency` of
+   * them running at the same time.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @param effects        the effects to be evaluated in parallel
+   * @return a JsArrayExp for parallel evaluation
+   * @throws IllegalArgumentException if maxConcurrency is less than or equal to 0
+   * @see #parN(int, IO[])
+   */
+  public static JsArrayExp parN(final int maxConcurrency,
+                                final List<IO<JsValue>> effects) {
+    return new JsArrayExpPar(requireNonNull(effects),
+                             null,
+                             ParallelHelper.requirePositive(maxConcurrency),
+                             null);
+  }
+
+  /**
+   * Returns a Collector for collecting effects into a JsArrayExp. The effects will be evaluated in parallel, with at most
+   * `maxConcurrency` of them running at the same time, and the order of the elements in the array is maintained.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @return A Collector for collecting effects into a JsArrayExp
+   * @see #parN(int, List)
+   */
+  public static Collector<IO<JsValue>, ?, JsArrayExp> parNCollector(final int maxConcurrency) {
+    ParallelHelper.requirePositive(maxConcurrency);
+    return Collector.<IO<JsValue>, List<IO<JsValue>>, JsArrayExp>of(ArrayList::new,
+                                                                    List::add,
+                                                                    (a, b) -> {
+                                                                      a.addAll(b);
+                                                                      return a;
+                                                                    },
+                                                                    list -> parN(maxConcurrency,
+                                                                                 list)
+                                                                   );
+  }
+
   List<IO<JsValue>> debugJsArray(List<IO<JsValue>> exps,
                                  EventBuilder<JsArray> eventBuilder
                                 ) {
     return IntStream.range(0,
                            exps.size())
                     .mapToObj(i -> DebuggerHelper.debugIO(exps.get(i),
-                                                          String.format("%s[%s]",
-                                                                        eventBuilder.exp,
-                                                                        i
-                                                                       ),
-                                                          eventBuilder.context
-
+                                                          eventBuilder,
+                                                          "[" + i + "]"
                                                          )
                              )
                     .collect(Collectors.toList());
   }
 
+  /**
+   * Returns a new expression that fails with a {@link java.util.concurrent.TimeoutException} if the effects of the
+   * indexes don't complete before the timeout, interrupting the ones still running.
+   *
+   * @param timeout the timeout
+   * @return a new JsArrayExp
+   */
+  @Override
+  public abstract JsArrayExp timeout(final Duration timeout);
+
   @Override
   public abstract JsArrayExp retryEach(final Predicate<? super Throwable> predicate,
                                        final RetryPolicy policy
@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,11 +19,32 @@ import jsonvalues.JsValue;
 
 final class JsArrayExpPar extends JsArrayExp {
 
+  private final int maxConcurrency;
+
+  private final Duration timeout;
+
   public JsArrayExpPar(List<IO<JsValue>> list,
                        Function<EvalExpEvent, BiConsumer<JsArray, Throwable>> debugger
                       ) {
+    this(list,
+         debugger,
+         ParallelHelper.UNBOUNDED,
+         null);
+  }
+
+  JsArrayExpPar(List<IO<JsValue>> list,
+                Function<EvalExpEvent, BiConsumer<JsArray, Throwable>> debugger,
+                int maxConcurrency,
+                Duration timeout
+               ) {
     super(list,
           debugger);
+    this.maxConcurrency = maxConcurrency;
+    this.timeout = timeout;
+  }
+
+  boolean isFlattenable() {
+    return maxConcurrency == ParallelHelper.UNBOUNDED && timeout == null && jfrPublisher == null;
   }
 
   /**
@@ -32,18 +54,22 @@ final class JsArrayExpPar extends JsArrayExp {
    */
   @Override
   Result<JsArray> reduceExp() {
+    if (maxConcurrency == ParallelHelper.UNBOUNDED && ParallelTree.hasNested(list)) {
+      return ParallelTree.reduce(this,
+                                 timeout);
+    }
     try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-
-      List<Subtask<Result<JsValue>>> xs = list.stream()
-                                              .map(scope::fork)
-                                              .toList();
-      scope.join()
-           .throwIfFailed();
-      List<JsValue> result = new ArrayList<>();
+      var deadline = ParallelHelper.deadline(timeout);
+      List<Subtask<JsValue>> xs = ParallelHelper.fork(scope,
+                                                      list,
+                                                      maxConcurrency,
+                                                      deadline);
+      ParallelHelper.join(scope,
+                          deadline)
+                    .throwIfFailed(ParallelHelper::asException);
+      List<JsValue> result = new ArrayList<>(xs.size());
       for (var task : xs) {
-        JsValue call = task.get()
-                           .getOutputOrThrow();
-        result.add(call);
+        result.add(task.get());
       }
       return new Success<>(JsArray.ofIterable(result));
 
@@ -65,7 +91,9 @@ final class JsArrayExpPar extends JsArrayExp {
                                                     )
                                      )
                                  .collect(Collectors.toList()),
-                             jfrPublisher
+                             jfrPublisher,
+                             maxConcurrency,
+                             timeout
     );
   }
 
@@ -76,10 +104,20 @@ final class JsArrayExpPar extends JsArrayExp {
     return new JsArrayExpPar(debugJsArray(list,
                                           eventBuilder
                                          ),
-                             getJFRPublisher(eventBuilder)
+                             getJFRPublisher(eventBuilder),
+                             maxConcurrency,
+                             timeout
     );
   }
 
+  @Override
+  public JsArrayExp timeout(final Duration timeout) {
+    return new JsArrayExpPar(list,
+                             jfrPublisher,
+                             maxConcurrency,
+                             requireNonNull(timeout));
+  }
+
   @Override
   public JsArrayExp debugEach(final String context) {
     return this.debugEach(EventBuilder.of(this.getClass()
@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -22,11 +23,23 @@ import jsonvalues.JsValue;
 
 final class JsArrayExpSeq extends JsArrayExp {
 
+  private final Duration timeout;
+
   public JsArrayExpSeq(final List<IO<JsValue>> list,
                        final Function<EvalExpEvent, BiConsumer<JsArray, Throwable>> debugger
                       ) {
+    this(list,
+         debugger,
+         null);
+  }
+
+  JsArrayExpSeq(final List<IO<JsValue>> list,
+                final Function<EvalExpEvent, BiConsumer<JsArray, Throwable>> debugger,
+                final Duration timeout
+               ) {
     super(list,
           debugger);
+    this.timeout = timeout;
   }
 
   /**
@@ -36,6 +49,12 @@ final class JsArrayExpSeq extends JsArrayExp {
    */
   @Override
   Result<JsArray> reduceExp() {
+    return timeout == null ? reduceInOrder() : IO.timeout(new Val<>(this::reduceInOrder),
+                                                          timeout,
+                                                          Failure::new);
+  }
+
+  private Result<JsArray> reduceInOrder() {
     List<JsValue> xs = new ArrayList<>(list.size());
     for (var entry : list) {
       try {
@@ -62,17 +81,26 @@ final class JsArrayExpSeq extends JsArrayExp {
                                 policy
                                ))
             .collect(Collectors.toList()),
-        jfrPublisher
+        jfrPublisher,
+        timeout
     );
   }
 
+  @Override
+  public JsArrayExp timeout(final Duration timeout) {
+    return new JsArrayExpSeq(list,
+                             jfrPublisher,
+                             requireNonNull(timeout));
+  }
+
   @Override
   public JsArrayExp debugEach(final EventBuilder<JsArray> eventBuilder) {
     Objects.requireNonNull(eventBuilder);
     return new JsArrayExpSeq(debugJsArray(list,
                                           eventBuilder
                                          ),
-                             getJFRPublisher(eventBuilder)
+                             getJFRPublisher(eventBuilder),
+                             timeout
     );
 
   }
@@ -2,11 +2,14 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import jsonvalues.JsObj;
 import jsonvalues.JsValue;
@@ -1628,6 +1631,61 @@ public abstract sealed class JsObjExp extends Exp<JsObj>
 
   }
 
+  /**
+   * Creates a JsObjExp that is evaluated to the empty JsObj, and whose effects, added with
+   * {@link #set(String, IO)}, are computed in parallel with at most `maxConcurrency` of them running at the same time.
+   * If any of the effects fail, the entire expression fails immediately, and the effects still running are cancelled.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @return a JsObjExp
+   * @throws IllegalArgumentException if maxConcurrency is less than or equal to 0
+   */
+  public static JsObjExp parN(final int maxConcurrency) {
+    return new JsObjExpPar(ParallelHelper.requirePositive(maxConcurrency));
+  }
+
+  /**
+   * Creates a JsObjExp from the given key-effect bindings, which are computed in parallel with at most
+   * `maxConcurrency` of them running at the same time.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @param bindings       the key-effect bindings
+   * @return a JsObjExp
+   * @throws IllegalArgumentException if maxConcurrency is less than or equal to 0
+   * @see #parN(int)
+   */
+  public static JsObjExp parN(final int maxConcurrency,
+                              final Map<String, ? extends IO<? extends JsValue>> bindings) {
+    var obj = new JsObjExpPar(ParallelHelper.requirePositive(maxConcurrency));
+    requireNonNull(bindings).forEach((key, effect) -> obj.bindings.put(requireNonNull(key),
+                                                                       requireNonNull(effect)));
+    return obj;
+  }
+
+  /**
+   * Returns a Collector for collecting key-effect bindings into a JsObjExp. The effects will be computed in parallel,
+   * with at most `maxConcurrency` of them running at the same time.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @return A Collector for collecting key-effect bindings into a JsObjExp
+   * @see #parN(int, Map)
+   */
+  public static Collector<Map.Entry<String, ? extends IO<? extends JsValue>>, ?, JsObjExp> parNCollector(final int maxConcurrency) {
+    ParallelHelper.requirePositive(maxConcurrency);
+    BiConsumer<Map<String, IO<? extends JsValue>>, Map.Entry<String, ? extends IO<? extends JsValue>>> accumulator =
+        (map, entry) -> map.put(requireNonNull(entry.getKey()),
+                                requireNonNull(entry.getValue()));
+    return Collector.of(LinkedHashMap::new,
+                        accumulator,
+                        (a, b) -> {
+                          a.putAll(b);
+                          return a;
+                        },
+                        bindings -> parN(maxConcurrency,
+                                         bindings)
+                       );
+  }
+
   /**
    * Creates a new JsObjExp with the given effect associated with the specified key.
    *
@@ -1646,16 +1704,23 @@ public abstract sealed class JsObjExp extends Exp<JsObj>
                    .stream()
                    .collect(Collectors.toMap(Map.Entry::getKey,
                                              e -> DebuggerHelper.debugIO(e.getValue(),
-                                                                         String.format("%s[%s]",
-                                                                                       eventBuilder.exp,
-                                                                                       e.getKey()
-                                                                                      ),
-                                                                         eventBuilder.context
+                                                                         eventBuilder,
+                                                                         "[" + e.getKey() + "]"
                                                                         )
                                             )
                            );
   }
 
+  /**
+   * Returns a new expression that fails with a {@link java.util.concurrent.TimeoutException} if the effects of the keys
+   * don't complete before the timeout, interrupting the ones still running.
+   *
+   * @param timeout the timeout
+   * @return a new JsObjExp
+   */
+  @Override
+  public abstract JsObjExp timeout(final Duration timeout);
+
   @Override
   public abstract JsObjExp retryEach(final Predicate<? super Throwable> predicate,
                                      final RetryPolicy policy
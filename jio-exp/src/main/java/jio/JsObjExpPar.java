@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -25,16 +26,42 @@ import jsonvalues.JsValue;
  */
 final class JsObjExpPar extends JsObjExp {
 
+  private final int maxConcurrency;
+
+  private final Duration timeout;
+
   public JsObjExpPar(Map<String, IO<? extends JsValue>> bindings,
                      Function<EvalExpEvent, BiConsumer<JsObj, Throwable>> debugger
                     ) {
+    this(bindings,
+         debugger,
+         ParallelHelper.UNBOUNDED,
+         null);
+  }
+
+  JsObjExpPar(Map<String, IO<? extends JsValue>> bindings,
+              Function<EvalExpEvent, BiConsumer<JsObj, Throwable>> debugger,
+              int maxConcurrency,
+              Duration timeout
+             ) {
     super(bindings,
           debugger);
+    this.maxConcurrency = maxConcurrency;
+    this.timeout = timeout;
   }
 
   JsObjExpPar() {
-    super(new LinkedHashMap<>(),
-          null);
+    this(new LinkedHashMap<>(),
+         null,
+         ParallelHelper.UNBOUNDED,
+         null);
+  }
+
+  JsObjExpPar(int maxConcurrency) {
+    this(new LinkedHashMap<>(),
+         null,
+         maxConcurrency,
+         null);
   }
 
   /**
@@ -53,7 +80,13 @@ final class JsObjExpPar extends JsObjExp {
            requireNonNull(exp)
           );
     return new JsObjExpPar(xs,
-                           jfrPublisher);
+                           jfrPublisher,
+                           maxConcurrency,
+                           timeout);
+  }
+
+  boolean isFlattenable() {
+    return maxConcurrency == ParallelHelper.UNBOUNDED && timeout == null && jfrPublisher == null;
   }
 
   /**
@@ -63,26 +96,33 @@ final class JsObjExpPar extends JsObjExp {
    */
   @Override
   Result<JsObj> reduceExp() {
+    if (maxConcurrency == ParallelHelper.UNBOUNDED && ParallelTree.hasNested(bindings.values())) {
+      return ParallelTree.reduce(this,
+                                 timeout);
+    }
     try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
 
       List<String> keys = bindings.keySet()
                                   .stream()
                                   .toList();
-
-      Map<String, Subtask<Result<? extends JsValue>>> tasks = keys.stream()
-                                                                  .collect(Collectors.toMap(it -> it,
-                                                                                            it -> scope.fork(bindings.get(it))
-                                                                                           ));
+      List<IO<? extends JsValue>> effects = keys.stream()
+                                                .<IO<? extends JsValue>>map(bindings::get)
+                                                .toList();
 
       try {
-        scope.join()
-             .throwIfFailed();
+        var deadline = ParallelHelper.deadline(timeout);
+        List<Subtask<JsValue>> tasks = ParallelHelper.fork(scope,
+                                                           effects,
+                                                           maxConcurrency,
+                                                           deadline);
+        ParallelHelper.join(scope,
+                            deadline)
+                      .throwIfFailed(ParallelHelper::asException);
         JsObj json = JsObj.empty();
-        for (var entry : tasks.entrySet()) {
-          json = json.set(entry.getKey(),
-                          entry.getValue()
-                               .get()
-                               .getOutputOrThrow());
+        for (int i = 0; i < keys.size(); i++) {
+          json = json.set(keys.get(i),
+                          tasks.get(i)
+                               .get());
         }
         return new Success<>(json);
 
@@ -109,7 +149,9 @@ final class JsObjExpPar extends JsObjExp {
                                                                          )
                                                             )
                                            ),
-                           jfrPublisher
+                           jfrPublisher,
+                           maxConcurrency,
+                           timeout
     );
   }
 
@@ -120,10 +162,20 @@ final class JsObjExpPar extends JsObjExp {
     return new JsObjExpPar(debugJsObj(bindings,
                                       eventBuilder
                                      ),
-                           getJFRPublisher(eventBuilder)
+                           getJFRPublisher(eventBuilder),
+                           maxConcurrency,
+                           timeout
     );
   }
 
+  @Override
+  public JsObjExp timeout(final Duration timeout) {
+    return new JsObjExpPar(bindings,
+                           jfrPublisher,
+                           maxConcurrency,
+                           requireNonNull(timeout));
+  }
+
   @Override
   public JsObjExp debugEach(String context) {
     return debugEach(EventBuilder.of(this.getClass()
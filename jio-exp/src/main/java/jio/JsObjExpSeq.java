@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -22,16 +23,28 @@ import jsonvalues.JsValue;
  */
 final class JsObjExpSeq extends JsObjExp {
 
+  private final Duration timeout;
+
   public JsObjExpSeq(final Map<String, IO<? extends JsValue>> bindings,
                      final Function<EvalExpEvent, BiConsumer<JsObj, Throwable>> debugger
                     ) {
+    this(bindings,
+         debugger,
+         null);
+  }
+
+  JsObjExpSeq(final Map<String, IO<? extends JsValue>> bindings,
+              final Function<EvalExpEvent, BiConsumer<JsObj, Throwable>> debugger,
+              final Duration timeout
+             ) {
     super(bindings,
           debugger);
+    this.timeout = timeout;
   }
 
   JsObjExpSeq() {
-    super(new LinkedHashMap<>(),
-          null);
+    this(new LinkedHashMap<>(),
+         null);
   }
 
   /**
@@ -50,7 +63,8 @@ final class JsObjExpSeq extends JsObjExp {
            requireNonNull(exp)
           );
     return new JsObjExpSeq(xs,
-                           jfrPublisher);
+                           jfrPublisher,
+                           timeout);
   }
 
   /**
@@ -60,7 +74,12 @@ final class JsObjExpSeq extends JsObjExp {
    */
   @Override
   Result<JsObj> reduceExp() {
+    return timeout == null ? reduceInOrder() : IO.timeout(new Val<>(this::reduceInOrder),
+                                                          timeout,
+                                                          Failure::new);
+  }
 
+  private Result<JsObj> reduceInOrder() {
     JsObj result = JsObj.empty();
     for (var entry : bindings.entrySet()) {
       try {
@@ -92,10 +111,18 @@ final class JsObjExpSeq extends JsObjExp {
                                                                          )
                                                             )
                                            ),
-                           jfrPublisher
+                           jfrPublisher,
+                           timeout
     );
   }
 
+  @Override
+  public JsObjExp timeout(final Duration timeout) {
+    return new JsObjExpSeq(bindings,
+                           jfrPublisher,
+                           requireNonNull(timeout));
+  }
+
   @Override
   public JsObjExp debugEach(final EventBuilder<JsObj> eventBuilder
                            ) {
@@ -103,7 +130,8 @@ final class JsObjExpSeq extends JsObjExp {
     return new JsObjExpSeq(debugJsObj(bindings,
                                       eventBuilder
                                      ),
-                           getJFRPublisher(eventBuilder)
+                           getJFRPublisher(eventBuilder),
+                           timeout
     );
   }
 
@@ -2,6 +2,8 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -110,4 +112,141 @@ public interface Lambda<Input, Output> extends Function<Input, IO<Output>> {
                         .mapFailure(mapFailure);
   }
 
+  /**
+   * Returns a Lambda that caches the results of this Lambda by input, as specified by the given {@link CacheSpec}. The
+   * cache is bounded, evicts entries with a frequency-aware policy (W-TinyLFU), can expire entries after write or
+   * access, and loads every missing input only once even if it's requested by different callers at the same time. Its
+   * statistics are published as JFR events.
+   *
+   * @param spec the specification of the cache
+   * @return a new Lambda backed by a cache
+   * @see CacheSpec
+   */
+  default Lambda<Input, Output> cached(final CacheSpec spec) {
+    requireNonNull(spec);
+    return new CachedLambda<>(this,
+                              spec);
+  }
+
+  /**
+   * Returns a Lambda whose effects are computed through the given circuit breaker. While the breaker doesn't permit
+   * calls, the effects fail fast with a {@link CircuitBreakerOpenException} without applying this Lambda.
+   *
+   * @param breaker the circuit breaker
+   * @return a new Lambda protected by the circuit breaker
+   * @see IO#circuitBreaker(CircuitBreaker)
+   */
+  default Lambda<Input, Output> withCircuitBreaker(final CircuitBreaker breaker) {
+    requireNonNull(breaker);
+    return input -> new Val<>(() -> breaker.call(this.apply(input)));
+  }
+
+  /**
+   * Returns a Lambda whose effects are computed within the limit of the given adaptive concurrency limiter. Calls over
+   * the limit fail with a {@link java.util.concurrent.RejectedExecutionException} without applying this Lambda.
+   *
+   * @param limiter the concurrency limiter
+   * @return a new Lambda whose concurrency is limited
+   * @see IO#limitConcurrency(ConcurrencyLimiter)
+   */
+  default Lambda<Input, Output> withConcurrencyLimiter(final ConcurrencyLimiter limiter) {
+    requireNonNull(limiter);
+    return input -> new Val<>(() -> limiter.call(this.apply(input)));
+  }
+
+  /**
+   * Returns a Lambda whose effects are computed once the given rate limiter permits them. Calls that get no permit
+   * within the maximum wait time of the limiter fail with a {@link java.util.concurrent.RejectedExecutionException}
+   * without applying this Lambda.
+   *
+   * @param limiter the rate limiter
+   * @return a new rate-limited Lambda
+   * @see IO#rateLimited(RateLimiter)
+   */
+  default Lambda<Input, Output> withRateLimiter(final RateLimiter limiter) {
+    requireNonNull(limiter);
+    return input -> new Val<>(() -> limiter.call(this.apply(input)));
+  }
+
+  /**
+   * Returns a Lambda whose effects are computed within the given bulkhead. Calls that get no permit within the maximum
+   * wait time of the bulkhead fail with a {@link java.util.concurrent.RejectedExecutionException} without applying
+   * this Lambda.
+   *
+   * @param bulkhead the bulkhead
+   * @return a new Lambda isolated by the bulkhead
+   * @see IO#bulkhead(Bulkhead)
+   */
+  default Lambda<Input, Output> withBulkhead(final Bulkhead bulkhead) {
+    requireNonNull(bulkhead);
+    return input -> new Val<>(() -> bulkhead.call(this.apply(input)));
+  }
+
+  /**
+   * Returns a Lambda that buffers the inputs it receives from concurrent callers and sends them to the given bulk lambda
+   * in batches of at most {@code maxSize} inputs. A batch is flushed when it's full or when {@code maxDelay} expires,
+   * whatever happens first, and every caller gets the output at the position of its input in the list returned by the
+   * bulk lambda, which must have the same size as the batch. If the bulk lambda fails, every caller of the batch gets
+   * the failure.
+   * <p>
+   * At most {@code 16 * maxSize} inputs can be pending at the same time; more callers wait until a batch completes.
+   * Every flushed batch is recorded with the {@code jio.exp.MicroBatch} JFR event, that includes the fill ratio of the
+   * batch and the time its oldest input waited in the queue.
+   *
+   * @param maxSize  the maximum number of inputs of a batch. Must be greater than 0.
+   * @param maxDelay the maximum time an input waits for the batch to fill. Must not be negative.
+   * @param bulk     the lambda that computes the outputs of a list of inputs at once
+   * @param <Input>  the type of the input
+   * @param <Output> the type of the output
+   * @return a new micro-batched Lambda
+   * @throws IllegalArgumentException if maxSize is less than or equal to 0 or maxDelay is negative
+   */
+  static <Input, Output> Lambda<Input, Output> microBatched(final int maxSize,
+                                                            final Duration maxDelay,
+                                                            final Lambda<List<Input>, List<Output>> bulk
+                                                           ) {
+    return microBatched(maxSize,
+                        maxDelay,
+                        (int) Math.min(16L * maxSize,
+                                       Integer.MAX_VALUE),
+                        bulk);
+  }
+
+  /**
+   * Like {@link #microBatched(int, Duration, Lambda)}, but sets the maximum number of inputs that can be pending
+   * (queued or in a batch that hasn't completed) at the same time. When the limit is reached, new callers wait until
+   * some batch completes.
+   *
+   * @param maxSize    the maximum number of inputs of a batch. Must be greater than 0.
+   * @param maxDelay   the maximum time an input waits for the batch to fill. Must not be negative.
+   * @param maxPending the maximum number of pending inputs. Must be greater than or equal to maxSize.
+   * @param bulk       the lambda that computes the outputs of a list of inputs at once
+   * @param <Input>    the type of the input
+   * @param <Output>   the type of the output
+   * @return a new micro-batched Lambda
+   * @throws IllegalArgumentException if maxSize is less than or equal to 0, maxPending is less than maxSize or maxDelay
+   *                                  is negative
+   */
+  static <Input, Output> Lambda<Input, Output> microBatched(final int maxSize,
+                                                            final Duration maxDelay,
+                                                            final int maxPending,
+                                                            final Lambda<List<Input>, List<Output>> bulk
+                                                           ) {
+    requireNonNull(maxDelay);
+    requireNonNull(bulk);
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize <= 0");
+    }
+    if (maxPending < maxSize) {
+      throw new IllegalArgumentException("maxPending < maxSize");
+    }
+    if (maxDelay.isNegative()) {
+      throw new IllegalArgumentException("maxDelay < 0");
+    }
+    return new MicroBatchLambda<>(bulk,
+                                  maxSize,
+                                  maxDelay,
+                                  maxPending);
+  }
+
 }
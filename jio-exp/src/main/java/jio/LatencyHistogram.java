@@ -0,0 +1,113 @@
+package jio;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, in the style of HdrHistogram. Every power of two is split into
+ * sixteen buckets of the same width, so a recorded value is off by less than 1/16 of itself (values under 32 are
+ * exact). Up to 2^63 nanoseconds fit in 960 buckets.
+ * <p>
+ * Recording is lock-free: the counts are kept in up to four stripes of atomic arrays picked by the id of the recording
+ * thread, and the counters are {@link LongAdder adders}, so that threads recording at the same time seldom contend for
+ * the same cache line. A snapshot sums the stripes without stopping the recorders, and therefore may miss the values
+ * being recorded while it's taken.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+  private static final int STRIPES = Math.min(Integer.highestOneBit(Runtime.getRuntime()
+                                                                           .availableProcessors()),
+                                              4);
+
+  private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+  private final LongAdder successes = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max,
+                                                          0);
+
+  LatencyHistogram() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new AtomicLongArray(BUCKETS);
+    }
+  }
+
+  static int bucket(final long nanos) {
+    if (nanos < 2 * SUB_BUCKETS) {
+      return (int) Math.max(nanos,
+                            0);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long value(final int bucket) {
+    if (bucket < 2 * SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    int shift = exponent - SUB_BUCKET_BITS;
+    long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lower + ((1L << shift) >>> 1);
+  }
+
+  void record(final long nanos,
+              final boolean success) {
+    stripes[(int) Thread.currentThread()
+                        .threadId() & (STRIPES - 1)].getAndIncrement(bucket(nanos));
+    (success ? successes : failures).increment();
+    sum.add(nanos);
+    max.accumulate(nanos);
+  }
+
+  LatencyRegistry.Snapshot snapshot(final String expression,
+                                    final String context) {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKETS; i++) {
+        long count = stripe.get(i);
+        counts[i] += count;
+        total += count;
+      }
+    }
+    return new LatencyRegistry.Snapshot(expression,
+                                        context,
+                                        successes.sum(),
+                                        failures.sum(),
+                                        Duration.ofNanos(total == 0 ? 0 : sum.sum() / total),
+                                        Duration.ofNanos(percentile(counts,
+                                                                    total,
+                                                                    0.5)),
+                                        Duration.ofNanos(percentile(counts,
+                                                                    total,
+                                                                    0.99)),
+                                        Duration.ofNanos(percentile(counts,
+                                                                    total,
+                                                                    0.999)),
+                                        Duration.ofNanos(max.get()));
+  }
+
+  private static long percentile(final long[] counts,
+                                 final long total,
+                                 final double quantile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(quantile * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return value(i);
+      }
+    }
+    return value(counts.length - 1);
+  }
+}
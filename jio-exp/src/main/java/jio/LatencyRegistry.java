@@ -0,0 +1,165 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of the latencies of the computations debugged with {@link IO#debug(EventBuilder)} and
+ * {@link Exp#debugEach(EventBuilder)}, keyed by the expression and the context of their {@link EventBuilder}. For every
+ * key, it keeps a lock-free log-linear histogram of the latencies and the number of successes and failures, so that
+ * percentiles can be scraped for a live dashboard without streaming and parsing JFR events.
+ * <p>
+ * The registry is opt-in: nothing is recorded until {@link #enable()} is called. Once enabled, debugged computations are
+ * measured even if no JFR recording is running.
+ *
+ * <pre>
+ * {@code
+ * LatencyRegistry.INSTANCE.enable();
+ *
+ * // every minute
+ * for (var snapshot : LatencyRegistry.INSTANCE.snapshotAndReset()) {
+ *   publish(snapshot.expression(), snapshot.p99());
+ * }
+ * }
+ * </pre>
+ */
+public final class LatencyRegistry {
+
+  /**
+   * The registry fed by the event builders.
+   */
+  public static final LatencyRegistry INSTANCE = new LatencyRegistry();
+
+  private final ConcurrentHashMap<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private volatile boolean enabled;
+
+  private LatencyRegistry() {
+  }
+
+  /**
+   * Starts recording the latencies of the debugged computations.
+   */
+  public void enable() {
+    enabled = true;
+  }
+
+  /**
+   * Stops recording the latencies of the debugged computations. The recorded ones are kept until {@link #reset()}.
+   */
+  public void disable() {
+    enabled = false;
+  }
+
+  /**
+   * Returns true if the registry is recording latencies.
+   *
+   * @return true if the registry is enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns a snapshot of the latencies recorded so far for every expression and context.
+   *
+   * @return the snapshots, one per expression and context
+   */
+  public List<Snapshot> snapshot() {
+    List<Snapshot> snapshots = new ArrayList<>(histograms.size());
+    histograms.forEach((key, histogram) -> snapshots.add(histogram.snapshot(key.expression(),
+                                                                            key.context())));
+    return snapshots;
+  }
+
+  /**
+   * Returns a snapshot of the latencies recorded so far for every expression and context and removes them from the
+   * registry, so that the next snapshot only has the latencies recorded after this one. Latencies recorded while the
+   * snapshot is taken may be missed.
+   *
+   * @return the snapshots, one per expression and context
+   */
+  public List<Snapshot> snapshotAndReset() {
+    List<Snapshot> snapshots = new ArrayList<>(histograms.size());
+    for (Key key : histograms.keySet()) {
+      LatencyHistogram histogram = histograms.remove(key);
+      if (histogram != null) {
+        snapshots.add(histogram.snapshot(key.expression(),
+                                         key.context()));
+      }
+    }
+    return snapshots;
+  }
+
+  /**
+   * Removes all the recorded latencies.
+   */
+  public void reset() {
+    histograms.clear();
+  }
+
+  void record(final String expression,
+              final String context,
+              final long nanos,
+              final boolean success) {
+    histograms.computeIfAbsent(new Key(expression,
+                                       context),
+                               _ -> new LatencyHistogram())
+              .record(nanos,
+                      success);
+  }
+
+  private record Key(String expression,
+                     String context) {
+
+  }
+
+  /**
+   * The latencies recorded for an expression and context. Percentiles are accurate to within 1/16 of their value.
+   *
+   * @param expression the expression of the event builder
+   * @param context    the context of the event builder
+   * @param successes  the number of computations that succeeded
+   * @param failures   the number of computations that failed
+   * @param mean       the mean latency
+   * @param p50        the median latency
+   * @param p99        the 99th percentile of the latency
+   * @param p999       the 99.9th percentile of the latency
+   * @param max        the maximum latency
+   */
+  public record Snapshot(String expression,
+                         String context,
+                         long successes,
+                         long failures,
+                         Duration mean,
+                         Duration p50,
+                         Duration p99,
+                         Duration p999,
+                         Duration max) {
+
+    /**
+     * Creates a snapshot.
+     */
+    public Snapshot {
+      requireNonNull(expression);
+      requireNonNull(context);
+      requireNonNull(mean);
+      requireNonNull(p50);
+      requireNonNull(p99);
+      requireNonNull(p999);
+      requireNonNull(max);
+    }
+
+    /**
+     * Returns the number of computations recorded.
+     *
+     * @return the number of successes plus the number of failures
+     */
+    public long count() {
+      return successes + failures;
+    }
+  }
+}
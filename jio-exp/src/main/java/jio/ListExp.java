@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -116,6 +117,29 @@ public abstract sealed class ListExp<Elem> extends Exp<List<Elem>> permits ListE
     };
   }
 
+  /**
+   * Returns a Collector for collecting IO effects into a ListExp. The effects will be executed in parallel to compute
+   * the List, with at most `maxConcurrency` of them running at the same time, and the order of the results in the list
+   * is maintained.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @param <O>            The type of elements in the ListExp and IO objects.
+   * @return A Collector for collecting effects into a ListExp
+   * @see #parN(int, List)
+   */
+  public static <O> Collector<IO<O>, ?, ListExp<O>> parNCollector(final int maxConcurrency) {
+    ParallelHelper.requirePositive(maxConcurrency);
+    return Collector.<IO<O>, List<IO<O>>, ListExp<O>>of(ArrayList::new,
+                                                         List::add,
+                                                         (a, b) -> {
+                                                           a.addAll(b);
+                                                           return a;
+                                                         },
+                                                         list -> parN(maxConcurrency,
+                                                                      list)
+                                                        );
+  }
+
   /**
    * Creates a ListExp from a list of effects that will be evaluated sequentially. If one fails, the whole expression
    * fails.
@@ -171,6 +195,48 @@ public abstract sealed class ListExp<Elem> extends Exp<List<Elem>> permits ListE
                             null);
   }
 
+  /**
+   * Creates a ListExp from a list of effects that will be evaluated in parallel, with at most `maxConcurrency` of them
+   * running at the same time. A new effect is started every time a running one finishes, and the order of the results
+   * in the list is maintained. If one fails, the whole expression fails immediately, and the effects still running are
+   * cancelled.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @param effects        the list of effects
+   * @param <O>            the type of the list effects
+   * @return a ListExp
+   * @throws IllegalArgumentException if maxConcurrency is less than or equal to 0
+   */
+  @SafeVarargs
+  public static <O> ListExp<O> parN(final int maxConcurrency,
+                                    final IO<O>... effects) {
+    var list = new ArrayList<IO<O>>();
+    for (IO<O> effect : requireNonNull(effects)) {
+      list.add(requireNonNull(effect));
+    }
+    return parN(maxConcurrency,
+                list);
+  }
+
+  /**
+   * Creates a ListExp from a list of effects that will be evaluated in parallel, with at most `maxConcurrency` of them
+   * running at the same time.
+   *
+   * @param maxConcurrency the max number of effects running at the same time
+   * @param list           the list of effects
+   * @param <O>            the type of the list effects
+   * @return a ListExp
+   * @throws IllegalArgumentException if maxConcurrency is less than or equal to 0
+   * @see #parN(int, IO[])
+   */
+  public static <O> ListExp<O> parN(final int maxConcurrency,
+                                    final List<IO<O>> list) {
+    return new ListExpPar<>(requireNonNull(list),
+                            null,
+                            ParallelHelper.requirePositive(maxConcurrency),
+                            null);
+  }
+
   /**
    * Returns the size of the list.
    *
@@ -209,6 +275,34 @@ public abstract sealed class ListExp<Elem> extends Exp<List<Elem>> permits ListE
     });
   }
 
+  /**
+   * Returns a stream with the results of the effects in the order they complete, instead of the order of the list, so
+   * that the next stage of the work can start as soon as the first results arrive. The effects of a parallel expression
+   * are computed on virtual threads with its max concurrency and timeout (a new effect is started every time a result
+   * is taken from the stream), and the effects of a sequential expression one after the other. A failure is emitted as
+   * any other result, and it doesn't cancel the rest of the effects; the effects still running are cancelled only when
+   * the stream is closed, for example, after {@link IOStream#take(long)}.
+   *
+   * @return a stream with the results of the effects in completion order
+   * @see #parUnorderedFailFast()
+   */
+  public IOStream<Result<Elem>> parUnordered() {
+    return IOStream.fromCursor(this::completionCursor);
+  }
+
+  /**
+   * Returns a stream with the outputs of the effects in the order they complete, instead of the order of the list. If
+   * an effect fails, the stream fails with its exception, and the effects still running are cancelled.
+   *
+   * @return a stream with the outputs of the effects in completion order
+   * @see #parUnordered()
+   */
+  public IOStream<Elem> parUnorderedFailFast() {
+    return IOStream.fromCursor(() -> completionCursor().failFast());
+  }
+
+  abstract CompletionCursor<Elem> completionCursor();
+
   /**
    * Checks if the list is empty.
    *
@@ -234,6 +328,16 @@ public abstract sealed class ListExp<Elem> extends Exp<List<Elem>> permits ListE
    */
   public abstract ListExp<Elem> tail();
 
+  /**
+   * Returns a new expression that fails with a {@link java.util.concurrent.TimeoutException} if the effects of the list
+   * don't complete before the timeout, interrupting the ones still running.
+   *
+   * @param timeout the timeout
+   * @return a new ListExp
+   */
+  @Override
+  public abstract ListExp<Elem> timeout(final Duration timeout);
+
   @Override
   public abstract ListExp<Elem> retryEach(final Predicate<? super Throwable> predicate,
                                           final RetryPolicy policy);
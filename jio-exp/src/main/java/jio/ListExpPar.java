@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -15,11 +16,28 @@ import jio.Result.Success;
 
 final class ListExpPar<Elem> extends ListExp<Elem> {
 
+  private final int maxConcurrency;
+
+  private final Duration timeout;
+
   ListExpPar(final List<IO<Elem>> list,
              final Function<EvalExpEvent, BiConsumer<List<Elem>, Throwable>> debugger
             ) {
+    this(list,
+         debugger,
+         ParallelHelper.UNBOUNDED,
+         null);
+  }
+
+  ListExpPar(final List<IO<Elem>> list,
+             final Function<EvalExpEvent, BiConsumer<List<Elem>, Throwable>> debugger,
+             final int maxConcurrency,
+             final Duration timeout
+            ) {
     super(list,
           debugger);
+    this.maxConcurrency = maxConcurrency;
+    this.timeout = timeout;
   }
 
   @Override
@@ -27,14 +45,18 @@ final class ListExpPar<Elem> extends ListExp<Elem> {
     var xs = new ArrayList<>(list);
     xs.add(requireNonNull(val));
     return new ListExpPar<>(xs,
-                            jfrPublisher);
+                            jfrPublisher,
+                            maxConcurrency,
+                            timeout);
   }
 
   @Override
   public ListExp<Elem> tail() {
     return new ListExpPar<>(list.subList(1,
                                          list.size()),
-                            jfrPublisher
+                            jfrPublisher,
+                            maxConcurrency,
+                            timeout
     );
   }
 
@@ -51,24 +73,41 @@ final class ListExpPar<Elem> extends ListExp<Elem> {
                                                    )
                                     )
                                 .toList(),
-                            jfrPublisher
+                            jfrPublisher,
+                            maxConcurrency,
+                            timeout
     );
   }
 
+  @Override
+  CompletionCursor<Elem> completionCursor() {
+    return new CompletionCursor<>(list,
+                                  maxConcurrency,
+                                  timeout);
+  }
+
+  boolean isFlattenable() {
+    return maxConcurrency == ParallelHelper.UNBOUNDED && timeout == null && jfrPublisher == null;
+  }
+
   @Override
   Result<List<Elem>> reduceExp() {
+    if (maxConcurrency == ParallelHelper.UNBOUNDED && ParallelTree.hasNested(list)) {
+      return ParallelTree.reduce(this,
+                                 timeout);
+    }
     try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-
-      List<Subtask<Result<Elem>>> xs = list.stream()
-                                           .map(scope::fork)
-                                           .toList();
-      scope.join()
-           .throwIfFailed();
-      List<Elem> result = new ArrayList<>();
-      for (Subtask<Result<Elem>> task : xs) {
-        Elem call = task.get()
-                        .getOutputOrThrow();
-        result.add(call);
+      var deadline = ParallelHelper.deadline(timeout);
+      List<Subtask<Elem>> xs = ParallelHelper.fork(scope,
+                                                   list,
+                                                   maxConcurrency,
+                                                   deadline);
+      ParallelHelper.join(scope,
+                          deadline)
+                    .throwIfFailed(ParallelHelper::asException);
+      List<Elem> result = new ArrayList<>(xs.size());
+      for (Subtask<Elem> task : xs) {
+        result.add(task.get());
       }
       return new Success<>(result);
 
@@ -82,13 +121,22 @@ final class ListExpPar<Elem> extends ListExp<Elem> {
                                 ) {
     Objects.requireNonNull(eventBuilder);
     return new ListExpPar<>(DebuggerHelper.debugList(list,
-                                                     eventBuilder.exp,
-                                                     eventBuilder.context
+                                                     eventBuilder
                                                     ),
-                            getJFRPublisher(eventBuilder)
+                            getJFRPublisher(eventBuilder),
+                            maxConcurrency,
+                            timeout
     );
   }
 
+  @Override
+  public ListExp<Elem> timeout(final Duration timeout) {
+    return new ListExpPar<>(list,
+                            jfrPublisher,
+                            maxConcurrency,
+                            requireNonNull(timeout));
+  }
+
   @Override
   public ListExp<Elem> debugEach(String context) {
     return debugEach(EventBuilder.of(this.getClass()
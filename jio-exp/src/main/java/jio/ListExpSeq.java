@@ -2,6 +2,7 @@ package jio;
 
 import static java.util.Objects.requireNonNull;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -13,11 +14,23 @@ import jio.Result.Success;
 
 final class ListExpSeq<Elem> extends ListExp<Elem> {
 
+  private final Duration timeout;
+
   ListExpSeq(final List<IO<Elem>> list,
              final Function<EvalExpEvent, BiConsumer<List<Elem>, Throwable>> debugger
             ) {
+    this(list,
+         debugger,
+         null);
+  }
+
+  ListExpSeq(final List<IO<Elem>> list,
+             final Function<EvalExpEvent, BiConsumer<List<Elem>, Throwable>> debugger,
+             final Duration timeout
+            ) {
     super(list,
           debugger);
+    this.timeout = timeout;
   }
 
   @Override
@@ -25,7 +38,8 @@ final class ListExpSeq<Elem> extends ListExp<Elem> {
     var xs = new ArrayList<>(list);
     xs.add(requireNonNull(val));
     return new ListExpSeq<>(xs,
-                            jfrPublisher);
+                            jfrPublisher,
+                            timeout);
   }
 
   @Override
@@ -33,7 +47,8 @@ final class ListExpSeq<Elem> extends ListExp<Elem> {
     return new ListExpSeq<>(list.subList(1,
                                          list.size()
                                         ),
-                            jfrPublisher
+                            jfrPublisher,
+                            timeout
     );
   }
 
@@ -49,12 +64,26 @@ final class ListExpSeq<Elem> extends ListExp<Elem> {
                                                    )
                                     )
                                 .toList(),
-                            jfrPublisher
+                            jfrPublisher,
+                            timeout
     );
   }
 
+  @Override
+  CompletionCursor<Elem> completionCursor() {
+    return new CompletionCursor<>(list,
+                                  1,
+                                  null);
+  }
+
   @Override
   Result<List<Elem>> reduceExp() {
+    return timeout == null ? reduceInOrder() : IO.timeout(new Val<>(this::reduceInOrder),
+                                                          timeout,
+                                                          Failure::new);
+  }
+
+  private Result<List<Elem>> reduceInOrder() {
     List<Elem> xs = new ArrayList<>(list.size());
     for (var entry : list) {
       try {
@@ -70,13 +99,20 @@ final class ListExpSeq<Elem> extends ListExp<Elem> {
 
   }
 
+  @Override
+  public ListExp<Elem> timeout(final Duration timeout) {
+    return new ListExpSeq<>(list,
+                            jfrPublisher,
+                            requireNonNull(timeout));
+  }
+
   @Override
   public ListExp<Elem> debugEach(final EventBuilder<List<Elem>> eventBuilder) {
     return new ListExpSeq<>(DebuggerHelper.debugList(list,
-                                                     eventBuilder.exp,
-                                                     Objects.requireNonNull(eventBuilder).context
+                                                     Objects.requireNonNull(eventBuilder)
                                                     ),
-                            getJFRPublisher(eventBuilder)
+                            getJFRPublisher(eventBuilder),
+                            timeout
     );
   }
 
@@ -0,0 +1,41 @@
+package jio;
+
+import java.util.function.Function;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Node of the IO algebra that maps the successful output of a source effect with a function. Failures of the source
+ * are propagated untouched. The node doesn't call its source; the {@link Interpreter} does it and then applies the
+ * function to the result.
+ *
+ * @param <Input>  the type of the output of the source effect
+ * @param <Output> the type of the mapped output
+ * @see IO#map(Function)
+ */
+final class MapNode<Input, Output> extends IO<Output> {
+
+  final IO<Input> source;
+  private final Function<? super Input, ? extends Output> fn;
+
+  MapNode(final IO<Input> source,
+          final Function<? super Input, ? extends Output> fn) {
+    this.source = source;
+    this.fn = fn;
+  }
+
+  @SuppressWarnings("unchecked")
+  Result<Output> apply(final Result<?> result) {
+    return switch (result) {
+      case Success<?>(Object output) -> {
+        try {
+          yield new Success<>(fn.apply((Input) output));
+        } catch (Exception e) { //fn can fail!
+          yield new Failure<>(e);
+        }
+      }
+      case Failure<?> failure -> (Result<Output>) failure;
+    };
+  }
+
+}
@@ -0,0 +1,135 @@
+package jio;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Callable that computes an effect at most once per time-to-live and shares the result with every caller. Concurrent
+ * callers that find no valid result are coalesced onto a single in-flight computation (single flight): the first of
+ * them computes the effect and the rest wait for its result. Failures are shared with the callers waiting for the
+ * computation that produced them, but they are only cached if {@code cacheFailures} is true; otherwise the next call
+ * computes the effect again. Interruptions and cancellations of the computing thread (for example, when a parallel
+ * expression or a timeout cancels it) are never cached: the callers waiting for it compute the effect again. If the
+ * effect throws an {@link Error}, it's propagated to the computing caller, the waiting ones throw it too, and the next
+ * call computes the effect again.
+ *
+ * @param <Output> the type of the result
+ */
+final class Memo<Output> implements Callable<Result<Output>> {
+
+  private final IO<Output> effect;
+  private final long ttlNanos;
+  private final boolean cacheFailures;
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile Entry<Output> entry;
+  private CompletableFuture<Result<Output>> inFlight;
+
+  /**
+   * @param effect        the effect to memoize
+   * @param ttl           the time-to-live of the result, or null if it never expires
+   * @param cacheFailures whether failures are cached like successes
+   */
+  Memo(final IO<Output> effect,
+       final Duration ttl,
+       final boolean cacheFailures
+      ) {
+    this.effect = effect;
+    this.ttlNanos = ttl == null ? Long.MAX_VALUE : ttl.toNanos();
+    this.cacheFailures = cacheFailures;
+  }
+
+  @Override
+  public Result<Output> call() throws Exception {
+    while (true) {
+      Entry<Output> cached = entry;
+      if (cached != null && cached.isValid(ttlNanos)) {
+        return cached.result;
+      }
+      CompletableFuture<Result<Output>> flight;
+      boolean leader = false;
+      lock.lock();
+      try {
+        cached = entry;
+        if (cached != null && cached.isValid(ttlNanos)) {
+          return cached.result;
+        }
+        if (inFlight == null) {
+          inFlight = new CompletableFuture<>();
+          leader = true;
+        }
+        flight = inFlight;
+      } finally {
+        lock.unlock();
+      }
+      if (leader) {
+        return compute(flight);
+      }
+      Result<Output> result;
+      try {
+        result = flight.get();
+      } catch (ExecutionException e) {
+        // only errors complete the flight exceptionally
+        throw (Error) e.getCause();
+      }
+      // the leader was cancelled: its interruption is not the result of the effect, so try again
+      if (!isInterruption(result)) {
+        return result;
+      }
+    }
+  }
+
+  private Result<Output> compute(final CompletableFuture<Result<Output>> flight) {
+    Result<Output> result = null;
+    Throwable error = null;
+    try {
+      result = effect.call();
+    } catch (Exception e) {
+      result = new Failure<>(e);
+    } catch (Throwable t) {
+      error = t;
+      throw t;
+    } finally {
+      lock.lock();
+      try {
+        if (result != null && !isInterruption(result) && (cacheFailures || result instanceof Success<Output>)) {
+          entry = new Entry<>(result,
+                              System.nanoTime());
+        }
+        inFlight = null;
+      } finally {
+        lock.unlock();
+      }
+      if (error == null) {
+        flight.complete(result);
+      } else {
+        flight.completeExceptionally(error);
+      }
+    }
+    return result;
+  }
+
+  private static boolean isInterruption(final Result<?> result) {
+    if (result instanceof Failure<?>(Throwable exception)) {
+      for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+        if (cause instanceof InterruptedException || cause instanceof CancellationException) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private record Entry<Output>(Result<Output> result,
+                               long createdAt) {
+
+    boolean isValid(final long ttlNanos) {
+      return ttlNanos == Long.MAX_VALUE || System.nanoTime() - createdAt < ttlNanos;
+    }
+  }
+}
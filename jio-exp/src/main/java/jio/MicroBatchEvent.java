@@ -0,0 +1,70 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Event written to the Flight Recorder system every time a lambda built with
+ * {@link Lambda#microBatched(int, java.time.Duration, Lambda)} flushes a batch. The duration of the event is the time
+ * spent by the bulk lambda.
+ */
+@Label("Micro Batch")
+@Name("jio.exp.MicroBatch")
+@Category({"JIO", "EXP", "BATCH"})
+@Description("Batches flushed by micro-batched lambdas, with their fill ratio and queueing delay")
+@StackTrace(value = false)
+final class MicroBatchEvent extends Event {
+
+  /**
+   * what flushed the batch: SIZE if it was full, TIME if the maximum delay expired
+   */
+  @Label("Trigger")
+  String trigger;
+
+  /**
+   * the number of items of the batch
+   */
+  @Label("Batch Size")
+  int size;
+
+  /**
+   * the number of items of the batch divided by the maximum size
+   */
+  @Label("Fill Ratio")
+  @Percentage
+  double fillRatio;
+
+  /**
+   * the time the oldest item of the batch waited in the queue before the batch was flushed
+   */
+  @Label("Queueing Delay")
+  @Timespan(Timespan.NANOSECONDS)
+  long queueDelay;
+
+  /**
+   * the result of the bulk lambda: SUCCESS or FAILURE
+   */
+  @Label("Result")
+  String result;
+
+  /**
+   * the exception of the bulk lambda in case of failure
+   */
+  @Label("Exception")
+  String exception;
+
+  enum TRIGGER {
+    SIZE, TIME
+  }
+
+  enum RESULT {
+    SUCCESS, FAILURE
+  }
+
+}
@@ -0,0 +1,193 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.Result.Failure;
+import jio.Result.Success;
+
+/**
+ * Lambda that buffers the inputs of concurrent callers and sends them to a bulk lambda in batches. Inputs are appended
+ * to a lock-free queue; the caller that fills a batch flushes it on its own thread, and a timer scheduled on the shared
+ * {@link TimerWheel} by the first input that finds no timer pending flushes whatever is queued when the maximum delay
+ * expires. A size flush cancels the pending timer, so no thread waits for a deadline that is no longer needed. Every
+ * caller gets the output at the position of its input in the list returned by the bulk lambda.
+ * <p>
+ * The number of pending inputs (queued or in a batch that hasn't completed yet) is bounded: when the limit is reached,
+ * new callers wait until some batch completes (backpressure). Every flushed batch is recorded with the
+ * {@code jio.exp.MicroBatch} JFR event.
+ *
+ * @param <Input>  the type of the input
+ * @param <Output> the type of the output
+ */
+final class MicroBatchLambda<Input, Output> implements Lambda<Input, Output> {
+
+  private final Lambda<List<Input>, List<Output>> bulk;
+  private final int maxSize;
+  private final Duration maxDelay;
+  private final Semaphore permits;
+  private final ConcurrentLinkedQueue<Pending<Input, Output>> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicBoolean timerScheduled = new AtomicBoolean();
+  private volatile TimerWheel.Timeout timer;
+
+  MicroBatchLambda(final Lambda<List<Input>, List<Output>> bulk,
+                   final int maxSize,
+                   final Duration maxDelay,
+                   final int maxPending
+                  ) {
+    this.bulk = requireNonNull(bulk);
+    this.maxSize = maxSize;
+    this.maxDelay = requireNonNull(maxDelay);
+    this.permits = new Semaphore(maxPending);
+  }
+
+  @Override
+  public IO<Output> apply(final Input input) {
+    requireNonNull(input);
+    return new Val<>(() -> submit(input));
+  }
+
+  private Result<Output> submit(final Input input) throws Exception {
+    permits.acquire();
+    var pending = new Pending<Input, Output>(input,
+                                             System.nanoTime());
+    queue.offer(pending);
+    if (queued.incrementAndGet() >= maxSize) {
+      cancelTimer();
+      flush(MicroBatchEvent.TRIGGER.SIZE);
+    }
+    scheduleTimer();
+    return pending.future.get();
+  }
+
+  // every input checks the flag after it is queued, so none is left in the queue without a timer pending
+  private void scheduleTimer() {
+    if (queued.get() > 0 && !timerScheduled.get() && timerScheduled.compareAndSet(false,
+                                                                                  true)) {
+      // the wheel thread must never block, so the batch is flushed on a virtual thread
+      timer = TimerWheel.shared()
+                        .schedule(() -> VirtualThreadExecutor.INSTANCE.execute(this::onTimer),
+                                  maxDelay.toNanos());
+    }
+  }
+
+  // only the caller that cancels the pending timer resets the flag; a timer that already fired resets it itself
+  private void cancelTimer() {
+    TimerWheel.Timeout pending = timer;
+    if (pending != null && pending.cancel()) {
+      timerScheduled.set(false);
+    }
+  }
+
+  // the flag is reset before draining, so an input queued later is either drained here or schedules a new timer
+  private void onTimer() {
+    timerScheduled.set(false);
+    while (queued.get() > 0) {
+      flush(MicroBatchEvent.TRIGGER.TIME);
+    }
+  }
+
+  private void flush(final MicroBatchEvent.TRIGGER trigger) {
+    List<Pending<Input, Output>> batch = new ArrayList<>(maxSize);
+    Pending<Input, Output> pending;
+    while (batch.size() < maxSize && (pending = queue.poll()) != null) {
+      batch.add(pending);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    queued.addAndGet(-batch.size());
+    if (trigger == MicroBatchEvent.TRIGGER.SIZE) {
+      // the timer of the inputs left in the queue was cancelled, so they need a new one before the bulk call
+      scheduleTimer();
+    }
+    long queueDelay = System.nanoTime() - batch.getFirst().enqueuedAt;
+    var event = new MicroBatchEvent();
+    event.begin();
+    Result<List<Output>> result = null;
+    try {
+      result = bulk.apply(batch.stream()
+                               .map(Pending::input)
+                               .toList())
+                   .call();
+    } catch (Exception e) {
+      result = new Failure<>(e);
+    } catch (Throwable t) {
+      // rethrown once the callers of the batch have a failure and their permits are released
+      result = new Failure<>(ParallelHelper.asException(t));
+      throw t;
+    } finally {
+      event.end();
+      result = checkSize(result,
+                         batch.size());
+      for (int i = 0; i < batch.size(); i++) {
+        Pending<Input, Output> item = batch.get(i);
+        item.future.complete(switch (result) {
+          case Success<List<Output>>(List<Output> outputs) -> new Success<>(outputs.get(i));
+          case Failure<List<Output>>(Exception exception) -> new Failure<>(exception);
+        });
+      }
+      permits.release(batch.size());
+      commit(event,
+             trigger,
+             batch.size(),
+             queueDelay,
+             result);
+    }
+  }
+
+  private static <Output> Result<List<Output>> checkSize(final Result<List<Output>> result,
+                                                         final int size) {
+    if (result instanceof Success<List<Output>>(List<Output> outputs)
+        && (outputs == null || outputs.size() != size)) {
+      String returned = outputs == null ? "null" : String.valueOf(outputs.size());
+      String message = "The bulk lambda returned %s outputs for %d inputs".formatted(returned,
+                                                                                     size);
+      return new Failure<>(new IllegalStateException(message));
+    }
+    return result;
+  }
+
+  private void commit(final MicroBatchEvent event,
+                      final MicroBatchEvent.TRIGGER trigger,
+                      final int size,
+                      final long queueDelay,
+                      final Result<List<Output>> result) {
+    if (event.shouldCommit()) {
+      event.trigger = trigger.name();
+      event.size = size;
+      event.fillRatio = (double) size / maxSize;
+      event.queueDelay = queueDelay;
+      switch (result) {
+        case Success<List<Output>> _ -> event.result = MicroBatchEvent.RESULT.SUCCESS.name();
+        case Failure<List<Output>>(Exception exception) -> {
+          event.result = MicroBatchEvent.RESULT.FAILURE.name();
+          event.exception = ExceptionFun.findUltimateCause(exception)
+                                        .toString();
+        }
+      }
+      event.commit();
+    }
+  }
+
+  private record Pending<Input, Output>(Input input,
+                                        long enqueuedAt,
+                                        CompletableFuture<Result<Output>> future) {
+
+    Pending(final Input input,
+            final long enqueuedAt
+           ) {
+      this(input,
+           enqueuedAt,
+           new CompletableFuture<>());
+    }
+  }
+}
@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import fun.tuple.Pair;
+import java.time.Duration;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -86,6 +87,16 @@ public abstract sealed class PairExp<First, Second> extends Exp<Pair<First, Seco
     return _2;
   }
 
+  /**
+   * Returns a new expression that fails with a {@link java.util.concurrent.TimeoutException} if both effects don't
+   * complete before the timeout, interrupting the ones still running.
+   *
+   * @param timeout the timeout
+   * @return a new PairExp
+   */
+  @Override
+  public abstract PairExp<First, Second> timeout(final Duration timeout);
+
   @Override
   public abstract PairExp<First, Second> retryEach(final Predicate<? super Throwable> predicate,
                                                    final RetryPolicy policy
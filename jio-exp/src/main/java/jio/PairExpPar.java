@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import fun.tuple.Pair;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.StructuredTaskScope;
 import java.util.concurrent.StructuredTaskScope.Subtask;
@@ -14,13 +15,27 @@ import jio.Result.Success;
 
 final class PairExpPar<First, Second> extends PairExp<First, Second> {
 
+  private final Duration timeout;
+
   public PairExpPar(final IO<First> _1,
                     final IO<Second> _2,
                     final Function<EvalExpEvent, BiConsumer<Pair<First, Second>, Throwable>> debugger
                    ) {
+    this(_1,
+         _2,
+         debugger,
+         null);
+  }
+
+  PairExpPar(final IO<First> _1,
+             final IO<Second> _2,
+             final Function<EvalExpEvent, BiConsumer<Pair<First, Second>, Throwable>> debugger,
+             final Duration timeout
+            ) {
     super(debugger,
           _1,
           _2);
+    this.timeout = timeout;
   }
 
   @Override
@@ -35,7 +50,8 @@ final class PairExpPar<First, Second> extends PairExp<First, Second> {
                             _2.retry(predicate,
                                      policy
                                     ),
-                            jfrPublisher
+                            jfrPublisher,
+                            timeout
     );
   }
 
@@ -44,8 +60,9 @@ final class PairExpPar<First, Second> extends PairExp<First, Second> {
     try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
       Subtask<Result<First>> first = scope.fork(_1);
       Subtask<Result<Second>> second = scope.fork(_2);
-      scope.join()
-           .throwIfFailed();
+      ParallelHelper.join(scope,
+                          ParallelHelper.deadline(timeout))
+                    .throwIfFailed();
       return new Success<>(Pair.of(first.get()
                                         .getOutput(),
                                    second.get()
@@ -61,22 +78,27 @@ final class PairExpPar<First, Second> extends PairExp<First, Second> {
                                          ) {
     Objects.requireNonNull(eventBuilder);
     return new PairExpPar<>(DebuggerHelper.debugIO(_1,
-                                                   String.format("%s[1]",
-                                                                 eventBuilder.exp
-                                                                ),
-                                                   eventBuilder.context
+                                                   eventBuilder,
+                                                   "[1]"
                                                   ),
                             DebuggerHelper.debugIO(_2,
-                                                   String.format("%s[2]",
-                                                                 eventBuilder.exp
-                                                                ),
-                                                   eventBuilder.context
+                                                   eventBuilder,
+                                                   "[2]"
 
                                                   ),
-                            getJFRPublisher(eventBuilder)
+                            getJFRPublisher(eventBuilder),
+                            timeout
     );
   }
 
+  @Override
+  public PairExp<First, Second> timeout(final Duration timeout) {
+    return new PairExpPar<>(_1,
+                            _2,
+                            jfrPublisher,
+                            requireNonNull(timeout));
+  }
+
   @Override
   public PairExp<First, Second> debugEach(final String context) {
     return this.debugEach(EventBuilder.of(this.getClass()
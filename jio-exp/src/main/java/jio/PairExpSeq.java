@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import fun.tuple.Pair;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -11,13 +12,27 @@ import jio.Result.Failure;
 
 final class PairExpSeq<First, Second> extends PairExp<First, Second> {
 
+  private final Duration timeout;
+
   public PairExpSeq(final IO<First> _1,
                     final IO<Second> _2,
                     final Function<EvalExpEvent, BiConsumer<Pair<First, Second>, Throwable>> debugger
                    ) {
+    this(_1,
+         _2,
+         debugger,
+         null);
+  }
+
+  PairExpSeq(final IO<First> _1,
+             final IO<Second> _2,
+             final Function<EvalExpEvent, BiConsumer<Pair<First, Second>, Throwable>> debugger,
+             final Duration timeout
+            ) {
     super(debugger,
           _1,
           _2);
+    this.timeout = timeout;
   }
 
   @Override
@@ -32,12 +47,19 @@ final class PairExpSeq<First, Second> extends PairExp<First, Second> {
                             _2.retry(predicate,
                                      policy
                                     ),
-                            jfrPublisher
+                            jfrPublisher,
+                            timeout
     );
   }
 
   @Override
   Result<Pair<First, Second>> reduceExp() {
+    return timeout == null ? reduceInOrder() : IO.timeout(new Val<>(this::reduceInOrder),
+                                                          timeout,
+                                                          Failure::new);
+  }
+
+  private Result<Pair<First, Second>> reduceInOrder() {
     try {
       var first = _1.call()
                     .getOutputOrThrow();
@@ -51,23 +73,28 @@ final class PairExpSeq<First, Second> extends PairExp<First, Second> {
     }
   }
 
+  @Override
+  public PairExp<First, Second> timeout(final Duration timeout) {
+    return new PairExpSeq<>(_1,
+                            _2,
+                            jfrPublisher,
+                            requireNonNull(timeout));
+  }
+
   @Override
   public PairExp<First, Second> debugEach(final EventBuilder<Pair<First, Second>> eventBuilder) {
     Objects.requireNonNull(eventBuilder);
     return new PairExpSeq<>(DebuggerHelper.debugIO(_1,
-                                                   String.format("%s[1]",
-                                                                 eventBuilder.exp
-                                                                ),
-                                                   eventBuilder.context
+                                                   eventBuilder,
+                                                   "[1]"
                                                   ),
                             DebuggerHelper.debugIO(_2,
-                                                   String.format("%s[2]",
-                                                                 eventBuilder.exp
-                                                                ),
-                                                   eventBuilder.context
+                                                   eventBuilder,
+                                                   "[2]"
 
                                                   ),
-                            getJFRPublisher(eventBuilder)
+                            getJFRPublisher(eventBuilder),
+                            timeout
     );
   }
 
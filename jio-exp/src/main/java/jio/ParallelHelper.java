@@ -0,0 +1,147 @@
+package jio;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+final class ParallelHelper {
+
+  /**
+   * Max concurrency of the parallel expressions created with the `par` constructors.
+   */
+  static final int UNBOUNDED = Integer.MAX_VALUE;
+
+  private ParallelHelper() {
+  }
+
+  static int requirePositive(final int maxConcurrency) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency <= 0");
+    }
+    return maxConcurrency;
+  }
+
+  /**
+   * Returns the instant when a computation that starts now must be completed, or null if no timeout is specified.
+   *
+   * @param timeout the timeout, or null
+   * @return the deadline, or null
+   */
+  static Instant deadline(final Duration timeout) {
+    return timeout == null ? null : Instant.now()
+                                           .plus(timeout);
+  }
+
+  /**
+   * Forks the given effects in the scope, in order, with at most `maxConcurrency` of them running at the same time. When
+   * the limit is reached, the calling thread waits for a running subtask to complete before forking the next one. No
+   * more subtasks are forked once the scope is shut down. Every subtask throws the exception of a failed effect, so
+   * that the scope is shut down and the rest of the subtasks cancelled as soon as one effect fails.
+   *
+   * @param scope          the scope
+   * @param effects        the effects to be forked
+   * @param maxConcurrency the max number of subtasks running at the same time
+   * @param deadline       the deadline, or null
+   * @return the subtasks, in the same order as the effects
+   */
+  static <Output> List<Subtask<Output>> fork(final StructuredTaskScope<Object> scope,
+                                             final List<? extends IO<? extends Output>> effects,
+                                             final int maxConcurrency,
+                                             final Instant deadline
+                                            ) throws InterruptedException, TimeoutException {
+    List<Subtask<Output>> tasks = new ArrayList<>(effects.size());
+    if (maxConcurrency >= effects.size()) {
+      for (IO<? extends Output> effect : effects) {
+        if (scope.isShutdown()) {
+          break;
+        }
+        tasks.add(scope.fork(() -> effect.call()
+                                         .getOutputOrThrow()));
+      }
+      return tasks;
+    }
+    Semaphore permits = new Semaphore(maxConcurrency);
+    for (IO<? extends Output> effect : effects) {
+      acquire(scope,
+              permits,
+              deadline);
+      if (scope.isShutdown()) {
+        break;
+      }
+      tasks.add(scope.fork(() -> {
+        try {
+          return effect.call()
+                       .getOutputOrThrow();
+        } finally {
+          permits.release();
+        }
+      }));
+    }
+    return tasks;
+  }
+
+  private static void acquire(final StructuredTaskScope<Object> scope,
+                              final Semaphore permits,
+                              final Instant deadline
+                             ) throws InterruptedException, TimeoutException {
+    if (deadline == null) {
+      permits.acquire();
+      return;
+    }
+    long nanos = Duration.between(Instant.now(),
+                                  deadline)
+                         .toNanos();
+    if (!permits.tryAcquire(nanos,
+                            TimeUnit.NANOSECONDS)) {
+      scope.shutdown();
+      throw timeoutException(deadline);
+    }
+  }
+
+  /**
+   * Waits for the subtasks forked in the given scope. If a deadline is specified and reached before all of them
+   * complete, the scope is shut down, interrupting the threads of the subtasks that are still running, and a
+   * {@link TimeoutException} is thrown.
+   *
+   * @param scope    the scope
+   * @param deadline the deadline, or null to wait with no limit
+   * @return the given scope
+   */
+  static <Scope extends StructuredTaskScope<?>> Scope join(final Scope scope,
+                                                           final Instant deadline
+                                                          ) throws InterruptedException, TimeoutException {
+    if (deadline == null) {
+      scope.join();
+      return scope;
+    }
+    try {
+      scope.joinUntil(deadline);
+      return scope;
+    } catch (TimeoutException e) {
+      scope.shutdown();
+      throw timeoutException(deadline);
+    }
+  }
+
+  /**
+   * Maps the exception of the subtask that failed first to the exception of the failure returned by a parallel
+   * expression, which is the exception of the effect that failed.
+   *
+   * @param cause the exception thrown by the subtask
+   * @return the exception of the failure
+   */
+  static Exception asException(final Throwable cause) {
+    return cause instanceof Exception exception ? exception : new ExecutionException(cause);
+  }
+
+  static TimeoutException timeoutException(final Instant deadline) {
+    return new TimeoutException("Computation didn't complete before the deadline %s".formatted(deadline));
+  }
+}
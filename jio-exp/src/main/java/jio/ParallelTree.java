@@ -0,0 +1,172 @@
+package jio;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jsonvalues.JsArray;
+import jsonvalues.JsObj;
+import jsonvalues.JsValue;
+
+/**
+ * Reduces a tree of nested parallel expressions ({@link JsObjExp#par}, {@link JsArrayExp#par} and
+ * {@link ListExp#par}) with a single structured scope. Computed one by one, every nested expression opens its own
+ * scope in a virtual thread of its parent's scope that just waits in {@code join()}; instead, the tree is walked once,
+ * all the leaf effects are forked in the scope of the root, and the nested results are assembled bottom-up once all of
+ * them complete.
+ * <p>
+ * Only the nested expressions whose reduction can't be told apart from the flattened one are flattened: unbounded
+ * concurrency, no timeout, and no JFR events of their own. The rest of nested expressions are leaves like any other
+ * effect. The root itself must have unbounded concurrency (its timeout, if any, bounds the whole tree as it did).
+ */
+final class ParallelTree {
+
+  private ParallelTree() {
+  }
+
+  /**
+   * Returns true if any of the given effects is a parallel expression that can be flattened into the scope of its
+   * parent.
+   *
+   * @param effects the effects of a parallel expression
+   * @return true if the tree has nested parallel expressions to flatten
+   */
+  static boolean hasNested(final Collection<? extends IO<?>> effects) {
+    for (IO<?> effect : effects) {
+      if (isFlattenable(effect)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Reduces the given parallel expression and all the nested parallel expressions that can be flattened with a single
+   * scope.
+   *
+   * @param root    the root of the tree
+   * @param timeout the timeout of the root, or null
+   * @return the result of the root
+   */
+  @SuppressWarnings("unchecked")
+  static <Output> Result<Output> reduce(final Exp<Output> root,
+                                        final Duration timeout) {
+    try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+      var deadline = ParallelHelper.deadline(timeout);
+      Node node = fork(scope,
+                       root,
+                       true);
+      ParallelHelper.join(scope,
+                          deadline)
+                    .throwIfFailed(ParallelHelper::asException);
+      return new Success<>((Output) node.value());
+    } catch (Exception e) {
+      return new Failure<>(e);
+    }
+  }
+
+  private static boolean isFlattenable(final IO<?> effect) {
+    return switch (effect) {
+      case JsObjExpPar obj -> obj.isFlattenable();
+      case JsArrayExpPar array -> array.isFlattenable();
+      case ListExpPar<?> list -> list.isFlattenable();
+      default -> false;
+    };
+  }
+
+  private static Node fork(final StructuredTaskScope<Object> scope,
+                           final IO<?> effect,
+                           final boolean root) {
+    if (!root && !isFlattenable(effect)) {
+      return new Leaf(scope.fork(() -> effect.call()
+                                             .getOutputOrThrow()));
+    }
+    return switch (effect) {
+      case JsObjExpPar obj -> {
+        List<String> keys = new ArrayList<>(obj.bindings.size());
+        List<Node> values = new ArrayList<>(obj.bindings.size());
+        for (Map.Entry<String, IO<? extends JsValue>> binding : obj.bindings.entrySet()) {
+          keys.add(binding.getKey());
+          values.add(fork(scope,
+                          binding.getValue(),
+                          false));
+        }
+        yield new ObjNode(keys,
+                          values);
+      }
+      case JsArrayExpPar array -> new ArrayNode(forkAll(scope,
+                                                        array.list));
+      case ListExpPar<?> list -> new ListNode(forkAll(scope,
+                                                      list.list));
+      default -> throw new IllegalArgumentException("not a parallel expression");
+    };
+  }
+
+  private static List<Node> forkAll(final StructuredTaskScope<Object> scope,
+                                    final List<? extends IO<?>> effects) {
+    List<Node> nodes = new ArrayList<>(effects.size());
+    for (IO<?> effect : effects) {
+      nodes.add(fork(scope,
+                     effect,
+                     false));
+    }
+    return nodes;
+  }
+
+  private sealed interface Node permits Leaf, ObjNode, ArrayNode, ListNode {
+
+    Object value();
+  }
+
+  private record Leaf(Subtask<?> task) implements Node {
+
+    @Override
+    public Object value() {
+      return task.get();
+    }
+  }
+
+  private record ObjNode(List<String> keys,
+                         List<Node> values) implements Node {
+
+    @Override
+    public Object value() {
+      JsObj json = JsObj.empty();
+      for (int i = 0; i < keys.size(); i++) {
+        json = json.set(keys.get(i),
+                        (JsValue) values.get(i)
+                                        .value());
+      }
+      return json;
+    }
+  }
+
+  private record ArrayNode(List<Node> values) implements Node {
+
+    @Override
+    public Object value() {
+      List<JsValue> result = new ArrayList<>(values.size());
+      for (Node node : values) {
+        result.add((JsValue) node.value());
+      }
+      return JsArray.ofIterable(result);
+    }
+  }
+
+  private record ListNode(List<Node> values) implements Node {
+
+    @Override
+    public Object value() {
+      List<Object> result = new ArrayList<>(values.size());
+      for (Node node : values) {
+        result.add(node.value());
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package jio;
+
+import jio.Result.Success;
+
+/**
+ * Node of the IO algebra that represents an effect whose output is already known. The result is created once, when
+ * the node is built, and it's returned as is every time the effect is computed.
+ *
+ * @param <Output> the type of the output
+ * @see IO#succeed(Object)
+ * @see Interpreter
+ */
+final class PureNode<Output> extends IO<Output> {
+
+  final Result<Output> result;
+
+  PureNode(final Output output) {
+    this.result = new Success<>(output);
+  }
+
+  @Override
+  public Result<Output> call() {
+    return result;
+  }
+
+}
@@ -0,0 +1,151 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import jio.Result.Failure;
+
+/**
+ * Rate limiter that permits a number of calls per period, with bursts, implemented as a lock-free token bucket. The
+ * bucket is represented by the theoretical time at which the next call would be permitted if calls were evenly spaced
+ * (generic cell rate algorithm): every call moves it forward by the emission interval ({@code period / permits}), and a
+ * call is permitted if that time is at most {@code burst - 1} intervals in the future. Taking a permit is a single
+ * compare-and-set of an atomic long.
+ * <p>
+ * A call that can't be permitted right away waits for its permit if it's available within the maximum wait time, and
+ * it's rejected with a {@link RejectedExecutionException} otherwise, without computing the effect. By default, the
+ * maximum wait time is zero, so calls over the rate are rejected. Waiting calls reserve their permit, so they are
+ * served in order. Every rejection is recorded with the {@code jio.exp.CallRejected} JFR event.
+ * <p>
+ * The {@code withX} methods configure the limiter and must be called before it's shared.
+ */
+public final class RateLimiter {
+
+  private static final String DEFAULT_LABEL = "rate-limiter";
+
+  private final long emissionInterval;
+  private long burstTolerance;
+  private Duration maxWaitTime = Duration.ZERO;
+  private boolean enableJFR = true;
+  private String label = DEFAULT_LABEL;
+  private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+
+  private RateLimiter(final long emissionInterval) {
+    this.emissionInterval = emissionInterval;
+  }
+
+  /**
+   * Creates a rate limiter that permits the given number of calls per period, evenly spaced (a burst of one call).
+   *
+   * @param permits the number of calls permitted per period. Must be greater than 0.
+   * @param period  the period. Must be greater than 0.
+   * @return a new RateLimiter
+   * @throws IllegalArgumentException if permits or period are less than or equal to 0, or if the period is too short
+   *                                  for the number of permits
+   */
+  public static RateLimiter of(final int permits,
+                               final Duration period) {
+    requireNonNull(period);
+    if (permits <= 0) {
+      throw new IllegalArgumentException("permits <= 0");
+    }
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("period <= 0");
+    }
+    long emissionInterval = period.toNanos() / permits;
+    if (emissionInterval == 0) {
+      throw new IllegalArgumentException("more than one permit per nanosecond");
+    }
+    return new RateLimiter(emissionInterval);
+  }
+
+  /**
+   * Sets the maximum number of calls that can be permitted at once after a quiet period.
+   *
+   * @param burst the size of the bursts. Must be greater than 0.
+   * @return this RateLimiter
+   * @throws IllegalArgumentException if burst is less than or equal to 0
+   */
+  public RateLimiter withBurst(final int burst) {
+    if (burst <= 0) {
+      throw new IllegalArgumentException("burst <= 0");
+    }
+    this.burstTolerance = (burst - 1) * emissionInterval;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time a call waits for a permit before it's rejected. With zero, calls over the rate are rejected
+   * immediately.
+   *
+   * @param duration the maximum wait time. Must not be negative.
+   * @return this RateLimiter
+   * @throws IllegalArgumentException if duration is negative
+   */
+  public RateLimiter withMaxWaitTime(final Duration duration) {
+    requireNonNull(duration);
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("duration < 0");
+    }
+    this.maxWaitTime = duration;
+    return this;
+  }
+
+  /**
+   * Sets the label of the limiter, used in the JFR events and in the rejections.
+   *
+   * @param label the label
+   * @return this RateLimiter
+   */
+  public RateLimiter withEventLabel(final String label) {
+    this.label = requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the JFR events published by the limiter.
+   *
+   * @return this RateLimiter
+   */
+  public RateLimiter withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  <Output> Result<Output> call(final IO<Output> effect) throws InterruptedException {
+    long wait = reserve();
+    if (wait < 0) {
+      if (enableJFR) {
+        CallRejectedEvent.commit(CallRejectedEvent.LIMITER.RATE_LIMITER,
+                                 label);
+      }
+      return new Failure<>(new RejectedExecutionException("The rate limit of '%s' has been exceeded".formatted(label)));
+    }
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+    return effect.call();
+  }
+
+  // returns the nanoseconds to wait for the reserved permit, or -1 if no permit can be reserved within the max wait time
+  private long reserve() {
+    long maxWait = maxWaitTime.toNanos();
+    while (true) {
+      long now = System.nanoTime();
+      long tat = theoreticalArrivalTime.get();
+      long start = tat - now > 0 ? tat : now;
+      long wait = start - burstTolerance - now;
+      if (wait > maxWait) {
+        return -1;
+      }
+      if (theoreticalArrivalTime.compareAndSet(tat,
+                                               start + emissionInterval)) {
+        return Math.max(wait,
+                        0);
+      }
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package jio;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Budget of retries shared by all the effects retried with a policy built with {@link RetryPolicy#withBudget}. It
+ * permits retries up to a ratio of the successful calls of a sliding window (for example, 10%), plus a minimum number
+ * of retries per second so that a low-traffic operation can still retry. When a dependency fails, successes stop and
+ * the budget is soon consumed, so in-flight calls give up instead of multiplying the load on the dependency with their
+ * retries (retry storm).
+ * <p>
+ * The window is divided in ten buckets that are reused as time goes by. Every bucket is updated with a single
+ * compare-and-set, and a retry is reserved before the budget is checked and given back if it's denied, so recording a
+ * success and asking for a retry never block and concurrent failures can't retry more than the budget permits. Every
+ * denied retry is recorded with the {@code jio.exp.RetryDenied} JFR event.
+ * <p>
+ * The {@code withX} methods configure the budget and must be called before it's shared.
+ */
+public final class RetryBudget {
+
+  private static final int BUCKETS = 10;
+  private static final String DEFAULT_LABEL = "retry-budget";
+
+  private final double ratio;
+  private final long bucketNanos;
+  private final double windowSeconds;
+  private int minRetriesPerSecond = 1;
+  private boolean enableJFR = true;
+  private String label = DEFAULT_LABEL;
+
+  private final AtomicLongArray successes = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray retries = new AtomicLongArray(BUCKETS);
+
+  private RetryBudget(final double ratio,
+                      final Duration window) {
+    this.ratio = ratio;
+    this.bucketNanos = Math.max(1,
+                                window.toNanos() / BUCKETS);
+    this.windowSeconds = window.toNanos() / 1e9;
+  }
+
+  /**
+   * Creates a retry budget that permits retries up to the given ratio of the successful calls of the window, plus one
+   * retry per second.
+   *
+   * @param ratio  the number of retries permitted per successful call, for example 0.1. Must be greater than 0.
+   * @param window the duration of the sliding window. Must be greater than 0.
+   * @return a new RetryBudget
+   * @throws IllegalArgumentException if ratio or window are less than or equal to 0
+   */
+  public static RetryBudget of(final double ratio,
+                               final Duration window) {
+    requireNonNull(window);
+    if (!(ratio > 0)) {
+      throw new IllegalArgumentException("ratio <= 0");
+    }
+    if (window.isNegative() || window.isZero()) {
+      throw new IllegalArgumentException("window <= 0");
+    }
+    return new RetryBudget(ratio,
+                           window);
+  }
+
+  /**
+   * Sets the number of retries per second permitted regardless of the successful calls.
+   *
+   * @param retries the minimum number of retries per second. Must not be negative.
+   * @return this RetryBudget
+   * @throws IllegalArgumentException if retries is negative
+   */
+  public RetryBudget withMinRetriesPerSecond(final int retries) {
+    if (retries < 0) {
+      throw new IllegalArgumentException("retries < 0");
+    }
+    this.minRetriesPerSecond = retries;
+    return this;
+  }
+
+  /**
+   * Sets the label of the budget, used in the JFR events.
+   *
+   * @param label the label
+   * @return this RetryBudget
+   */
+  public RetryBudget withEventLabel(final String label) {
+    this.label = requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the JFR events published by the budget.
+   *
+   * @return this RetryBudget
+   */
+  public RetryBudget withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  /**
+   * Records a successful call, which makes room for {@code ratio} retries while it's in the window.
+   */
+  public void recordSuccess() {
+    add(successes,
+        System.nanoTime() / bucketNanos,
+        1);
+  }
+
+  /**
+   * Returns the number of retries that the budget would permit right now.
+   *
+   * @return the available retries
+   */
+  public long availableRetries() {
+    long epoch = System.nanoTime() / bucketNanos;
+    return Math.max(0,
+                    (long) (sum(successes,
+                                epoch) * ratio + minRetriesPerSecond * windowSeconds) - sum(retries,
+                                                                                            epoch));
+  }
+
+  boolean tryRetry(final int attempt) {
+    long epoch = System.nanoTime() / bucketNanos;
+    // the retry is reserved before checking the budget, so that callers failing at the same time can't all see the
+    // same number of retries spent and overshoot the budget
+    add(retries,
+        epoch,
+        1);
+    long permitted = sum(successes,
+                         epoch);
+    long spent = sum(retries,
+                     epoch);
+    if (spent <= permitted * ratio + minRetriesPerSecond * windowSeconds) {
+      return true;
+    }
+    add(retries,
+        epoch,
+        -1);
+    if (enableJFR) {
+      var event = new RetryDeniedEvent();
+      if (event.shouldCommit()) {
+        event.label = label;
+        event.attempt = attempt;
+        event.successes = permitted;
+        event.retries = spent - 1;
+        event.commit();
+      }
+    }
+    return false;
+  }
+
+  // every bucket is a long with the (truncated) epoch it belongs to in the high half and its count in the low half, so
+  // that moving a bucket to a new epoch and counting in it is a single compare-and-set
+  private static void add(final AtomicLongArray counters,
+                          final long epoch,
+                          final int delta) {
+    int index = Math.floorMod(epoch,
+                              BUCKETS);
+    long tag = (long) (int) epoch << 32;
+    while (true) {
+      long old = counters.get(index);
+      long count = (old & 0xFFFFFFFFL) + delta;
+      if ((old & 0xFFFFFFFF00000000L) != tag) {
+        if (delta < 0) {
+          return;
+        }
+        count = delta;
+      }
+      if (counters.compareAndSet(index,
+                                 old,
+                                 tag | Math.max(count,
+                                                0))) {
+        return;
+      }
+    }
+  }
+
+  private static long sum(final AtomicLongArray counters,
+                          final long epoch) {
+    long sum = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      long bucket = counters.get(i);
+      int age = (int) epoch - (int) (bucket >>> 32);
+      if (age >= 0 && age < BUCKETS) {
+        sum += bucket & 0xFFFFFFFFL;
+      }
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,45 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event written to the Flight Recorder system every time a {@link RetryBudget} denies a retry because the retries of
+ * the window have already consumed the budget.
+ */
+@Label("Retry Denied")
+@Name("jio.exp.RetryDenied")
+@Category({"JIO", "EXP", "RESILIENCE"})
+@Description("Retries denied by retry budgets to prevent retry storms")
+@StackTrace(value = false)
+final class RetryDeniedEvent extends Event {
+
+  /**
+   * the label of the retry budget
+   */
+  @Label("Label")
+  String label;
+
+  /**
+   * the number of the denied retry, starting at one
+   */
+  @Label("Attempt")
+  int attempt;
+
+  /**
+   * the successful calls recorded in the window
+   */
+  @Label("Successes")
+  long successes;
+
+  /**
+   * the retries permitted in the window
+   */
+  @Label("Retries")
+  long retries;
+
+}
@@ -0,0 +1,35 @@
+package jio;
+
+import java.time.Duration;
+
+/**
+ * Hook invoked by the retry and repeat machinery right before every new attempt, after the {@link RetryPolicy policy}
+ * has decided to try again and before waiting for the delay it imposed. It's meant for instrumentation (metrics, logs,
+ * events). The listener can't fail: if it throws an exception, the exception is sent to the Flight Recorder system
+ * and the computation goes on.
+ *
+ * @see IO#retry(java.util.function.Predicate, RetryPolicy, RetryListener)
+ * @see IO#repeat(java.util.function.Predicate, RetryPolicy, RetryListener)
+ */
+@FunctionalInterface
+public interface RetryListener {
+
+  /**
+   * Listener that does nothing.
+   */
+  RetryListener NONE = (_, _, _) -> {
+  };
+
+  /**
+   * Invoked before every new attempt.
+   *
+   * @param attempt the number of the attempt that is about to start, where 1 is the first retry (or repetition)
+   * @param delay   the delay imposed by the policy before the attempt, {@link Duration#ZERO} if none
+   * @param cause   the failure that caused the retry, or null if the computation is being repeated because its output
+   *                satisfied the repeat predicate
+   */
+  void onRetry(int attempt,
+               Duration delay,
+               Throwable cause);
+
+}
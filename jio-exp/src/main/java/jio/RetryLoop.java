@@ -0,0 +1,166 @@
+package jio;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Builds the effects of {@link IO#retry} and {@link IO#repeat}. Every computation of them creates a single mutable
+ * state, which holds the attempt node, the backoff node and the status of the policy, and is the continuation of the
+ * attempt node itself: when an attempt has to be made again, the state returns the same attempt node (or the same
+ * backoff node, which is followed by it), so the interpreter runs the attempts in a loop, nothing but the status given
+ * to the policy is allocated per attempt, and an asynchronous computation is suspended (instead of parking its thread)
+ * during the delays.
+ */
+final class RetryLoop {
+
+  private RetryLoop() {
+  }
+
+  static <Output> IO<Output> retry(final IO<Output> effect,
+                                   final RetryPolicy policy,
+                                   final Predicate<? super Throwable> predicate,
+                                   final RetryListener listener) {
+    return new FlatMapNode<>(IO.NULL(),
+                             _ -> new Retry<>(effect,
+                                              policy,
+                                              predicate,
+                                              listener).attempt);
+  }
+
+  static <Output> IO<Output> repeat(final IO<Output> effect,
+                                    final RetryPolicy policy,
+                                    final Predicate<? super Output> predicate,
+                                    final RetryListener listener) {
+    return new FlatMapNode<>(IO.NULL(),
+                             _ -> new Repeat<>(effect,
+                                               policy,
+                                               predicate,
+                                               listener).attempt);
+  }
+
+  private static void notifyRetry(final RetryListener listener,
+                                  final int attempt,
+                                  final Duration delay,
+                                  final Throwable cause) {
+    if (listener == RetryListener.NONE) {
+      return;
+    }
+    try {
+      listener.onRetry(attempt,
+                       delay,
+                       cause);
+    } catch (Exception exception) {
+      Fun.publishException("retry",
+                           exception);
+    }
+  }
+
+  // returns the status after an attempt that waits for the given delay
+  private static RetryStatus next(final RetryStatus status,
+                                  final Duration delay) {
+    return new RetryStatus(status.counter() + 1,
+                           delay.isZero() ? status.cumulativeDelay() : status.cumulativeDelay()
+                                                                             .plus(delay),
+                           delay);
+  }
+
+  private static final class Retry<Output> implements Lambda<Exception, Output> {
+
+    private final RetryPolicy policy;
+    private final Predicate<? super Throwable> predicate;
+    private final RetryListener listener;
+    private final IO<Output> attempt;
+    private final DelayNode delay = new DelayNode(Duration.ZERO);
+    private final IO<Output> backoff;
+    private RetryStatus status = RetryStatus.ZERO;
+    private Exception last;
+
+    Retry(final IO<Output> effect,
+          final RetryPolicy policy,
+          final Predicate<? super Throwable> predicate,
+          final RetryListener listener) {
+      this.policy = policy;
+      this.predicate = predicate;
+      this.listener = listener;
+      this.attempt = new FoldNode<>(effect,
+                                    null,
+                                    this);
+      this.backoff = new FoldNode<>(delay,
+                                    _ -> attempt,
+                                    _ -> new FailNode<>(last));
+    }
+
+    @Override
+    public IO<Output> apply(final Exception exc) {
+      if (!predicate.test(exc)) {
+        return new FailNode<>(exc);
+      }
+      Duration wait = policy.apply(status);
+      if (wait == null) {
+        return new FailNode<>(exc);
+      }
+      status = next(status,
+                    wait);
+      notifyRetry(listener,
+                  status.counter(),
+                  wait,
+                  exc);
+      if (wait.isZero()) {
+        return attempt;
+      }
+      last = exc;
+      delay.delay = wait;
+      return backoff;
+    }
+  }
+
+  private static final class Repeat<Output> implements Lambda<Output, Output> {
+
+    private final RetryPolicy policy;
+    private final Predicate<? super Output> predicate;
+    private final RetryListener listener;
+    private final IO<Output> attempt;
+    private final DelayNode delay = new DelayNode(Duration.ZERO);
+    private final IO<Output> backoff;
+    private RetryStatus status = RetryStatus.ZERO;
+    private Output last;
+
+    Repeat(final IO<Output> effect,
+           final RetryPolicy policy,
+           final Predicate<? super Output> predicate,
+           final RetryListener listener) {
+      this.policy = policy;
+      this.predicate = predicate;
+      this.listener = listener;
+      this.attempt = new FoldNode<>(effect,
+                                    this,
+                                    null);
+      this.backoff = new FoldNode<>(delay,
+                                    _ -> attempt,
+                                    _ -> new PureNode<>(last));
+    }
+
+    @Override
+    public IO<Output> apply(final Output output) {
+      if (!predicate.test(output)) {
+        return new PureNode<>(output);
+      }
+      Duration wait = policy.apply(status);
+      if (wait == null) {
+        return new PureNode<>(output);
+      }
+      status = next(status,
+                    wait);
+      notifyRetry(listener,
+                  status.counter(),
+                  wait,
+                  null);
+      if (wait.isZero()) {
+        return attempt;
+      }
+      last = output;
+      delay.delay = wait;
+      return backoff;
+    }
+  }
+}
@@ -36,17 +36,19 @@ public interface RetryPolicy extends Function<RetryStatus, Duration> {
    */
   default RetryPolicy append(final RetryPolicy other) {
     Objects.requireNonNull(other);
-    return retryStatus -> {
-      Duration thisDelay = RetryPolicy.this.apply(retryStatus);
-      if (thisDelay == null) {
-        return null;
-      }
-      Duration otherDelay = other.apply(retryStatus);
-      if (otherDelay == null) {
-        return null;
-      }
-      return thisDelay.compareTo(otherDelay) >= 0 ? thisDelay : otherDelay;
-    };
+    return CombinedRetryPolicy.of(retryStatus -> {
+                                    Duration thisDelay = RetryPolicy.this.apply(retryStatus);
+                                    if (thisDelay == null) {
+                                      return null;
+                                    }
+                                    Duration otherDelay = other.apply(retryStatus);
+                                    if (otherDelay == null) {
+                                      return null;
+                                    }
+                                    return thisDelay.compareTo(otherDelay) >= 0 ? thisDelay : otherDelay;
+                                  },
+                                  this,
+                                  other);
   }
 
   /**
@@ -59,10 +61,12 @@ public interface RetryPolicy extends Function<RetryStatus, Duration> {
    */
   default RetryPolicy followedBy(final RetryPolicy other) {
     Objects.requireNonNull(other);
-    return rs -> {
-      Duration delay = this.apply(rs);
-      return delay == null ? other.apply(rs) : delay;
-    };
+    return CombinedRetryPolicy.of(rs -> {
+                                    Duration delay = this.apply(rs);
+                                    return delay == null ? other.apply(rs) : delay;
+                                  },
+                                  this,
+                                  other);
   }
 
   /**
@@ -74,13 +78,14 @@ public interface RetryPolicy extends Function<RetryStatus, Duration> {
    */
   default RetryPolicy capDelay(final Duration cap) {
     Objects.requireNonNull(cap);
-    return rs -> {
-      Duration delay = this.apply(rs);
-      if (delay == null) {
-        return null;
-      }
-      return delay.compareTo(cap) >= 0 ? cap : delay;
-    };
+    return CombinedRetryPolicy.of(rs -> {
+                                    Duration delay = this.apply(rs);
+                                    if (delay == null) {
+                                      return null;
+                                    }
+                                    return delay.compareTo(cap) >= 0 ? cap : delay;
+                                  },
+                                  this);
 
   }
 
@@ -93,13 +98,14 @@ public interface RetryPolicy extends Function<RetryStatus, Duration> {
    */
   default RetryPolicy limitRetriesByDelay(final Duration max) {
     Objects.requireNonNull(max);
-    return rs -> {
-      Duration delay = this.apply(rs);
-      if (delay == null) {
-        return null;
-      }
-      return delay.compareTo(max) >= 0 ? null : delay;
-    };
+    return CombinedRetryPolicy.of(rs -> {
+                                    Duration delay = this.apply(rs);
+                                    if (delay == null) {
+                                      return null;
+                                    }
+                                    return delay.compareTo(max) >= 0 ? null : delay;
+                                  },
+                                  this);
   }
 
   /**
@@ -111,9 +117,39 @@ public interface RetryPolicy extends Function<RetryStatus, Duration> {
    */
   default RetryPolicy limitRetriesByCumulativeDelay(final Duration max) {
     Objects.requireNonNull(max);
-    return rs -> rs.cumulativeDelay()
-                   .compareTo(max) <= 0 ?
-                 this.apply(rs) : null;
+    return CombinedRetryPolicy.of(rs -> rs.cumulativeDelay()
+                                          .compareTo(max) <= 0 ?
+                                        this.apply(rs) : null,
+                                  this);
+  }
+
+  /**
+   * Limits the retries of this policy with a retry budget shared by different effects. When this policy permits a
+   * retry but the budget has no room for it, the returned policy gives up. The retry loop of
+   * {@link IO#retry(RetryPolicy)} records the successful calls in the budget, which make room for more retries. The
+   * combinators of this interface keep the budget, so they can be applied before or after this one.
+   *
+   * @param budget the retry budget
+   * @return a new policy limited by the budget
+   * @throws NullPointerException if the budget is null
+   * @see RetryBudget
+   */
+  default RetryPolicy withBudget(final RetryBudget budget) {
+    Objects.requireNonNull(budget);
+    return new BudgetedRetryPolicy(this,
+                                   budget);
+  }
+
+  /**
+   * Returns the retry budgets that limit the retries of this policy, in which the retry loop of
+   * {@link IO#retry(RetryPolicy)} records the successful calls. The combinators of this interface return a policy with
+   * the budgets of the policies they combine.
+   *
+   * @return the budgets of this policy, or an empty list if its retries aren't limited by a budget
+   * @see #withBudget(RetryBudget)
+   */
+  default List<RetryBudget> budgets() {
+    return List.of();
   }
 
   /**
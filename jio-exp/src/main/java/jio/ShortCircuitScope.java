@@ -0,0 +1,69 @@
+package jio;
+
+import java.util.Objects;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.atomic.AtomicReference;
+import jio.Result.Failure;
+
+/**
+ * StructuredTaskScope that evaluates boolean subexpressions in parallel and shuts down as soon as the answer is known,
+ * cancelling the subexpressions that are still running. The answer is known when a subexpression is evaluated to the
+ * deciding value (false for {@link AllExp}, true for {@link AnyExp}) or fails. If every subexpression completes without
+ * deciding the answer, the result is the opposite of the deciding value.
+ */
+final class ShortCircuitScope extends StructuredTaskScope<Result<Boolean>> {
+
+  private final boolean decidingValue;
+
+  private final AtomicReference<Result<Boolean>> decision = new AtomicReference<>();
+
+  ShortCircuitScope(final boolean decidingValue) {
+    super(null,
+          Thread.ofVirtual()
+                .factory());
+    this.decidingValue = decidingValue;
+  }
+
+  @Override
+  protected void handleComplete(final Subtask<? extends Result<Boolean>> subtask) {
+    Result<Boolean> result = switch (subtask.state()) {
+      case SUCCESS -> subtask.get();
+      case FAILED -> new Failure<>(ParallelHelper.asException(subtask.exception()));
+      case UNAVAILABLE -> null;
+    };
+    if (result == null || isUndecided(result)) {
+      return;
+    }
+    if (decision.compareAndSet(null,
+                               result)) {
+      shutdown();
+    }
+  }
+
+  private boolean isUndecided(final Result<Boolean> result) {
+    return result instanceof Result.Success<Boolean>(Boolean output)
+           && !Objects.equals(output,
+                              decidingValue);
+  }
+
+  @Override
+  public ShortCircuitScope join() throws InterruptedException {
+    super.join();
+    return this;
+  }
+
+  /**
+   * Returns the first failure or deciding value, or the opposite of the deciding value if no subexpression decided the
+   * answer. It must be called after joining.
+   *
+   * @return the result of the boolean expression
+   */
+  Result<Boolean> result() {
+    ensureOwnerAndJoined();
+    Result<Boolean> result = decision.get();
+    if (result != null) {
+      return result;
+    }
+    return decidingValue ? Result.FALSE : Result.TRUE;
+  }
+}
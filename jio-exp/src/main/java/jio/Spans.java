@@ -0,0 +1,76 @@
+package jio;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Links the {@link EvalExpEvent events} of an expression tree with span ids. While a debugged expression is reduced,
+ * its span id is bound to a {@link ScopedValue}, which is inherited by the subtasks forked in any
+ * {@link java.util.concurrent.StructuredTaskScope} opened during the reduction, so the events of its operands, whatever
+ * thread computes them, record it as their parent. The tasks submitted to the unstructured {@link VirtualThreadExecutor}
+ * don't inherit it, and have to be {@link #bind(Callable) bound} to the span id of the thread that submits them.
+ */
+final class Spans {
+
+  /**
+   * The parent span id of the events with no parent.
+   */
+  static final long NONE = 0;
+
+  private static final ScopedValue<Long> CURRENT = ScopedValue.newInstance();
+
+  private static final AtomicLong IDS = new AtomicLong(NONE);
+
+  private Spans() {
+  }
+
+  /**
+   * Returns a new span id, unique in the JVM.
+   *
+   * @return a new span id
+   */
+  static long next() {
+    return IDS.incrementAndGet();
+  }
+
+  /**
+   * Returns the span id of the expression being reduced by the current thread, or {@link #NONE}.
+   *
+   * @return the current span id
+   */
+  static long current() {
+    return CURRENT.orElse(NONE);
+  }
+
+  /**
+   * Computes the given supplier with the given span id as the current one.
+   *
+   * @param span     the span id
+   * @param supplier the computation
+   * @return the result of the computation
+   */
+  static <Output> Result<Output> within(final long span,
+                                        final Supplier<Result<Output>> supplier) {
+    return ScopedValue.where(CURRENT,
+                             span)
+                      .get(supplier);
+  }
+
+  /**
+   * Returns a task that computes the given one with the current span id of the calling thread, to be submitted to an
+   * executor whose threads don't inherit it.
+   *
+   * @param task the task
+   * @return the given task if there is no current span id, or the bound task otherwise
+   */
+  static <T> Callable<T> bind(final Callable<T> task) {
+    long span = current();
+    if (span == NONE) {
+      return task;
+    }
+    return () -> ScopedValue.where(CURRENT,
+                                   span)
+                            .call(task);
+  }
+}
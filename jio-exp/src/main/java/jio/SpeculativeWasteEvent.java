@@ -0,0 +1,41 @@
+package jio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Event written to the Flight Recorder system when a branch of a speculative {@link IfElseExp} turns out to be useless:
+ * the branch that loses when the predicate resolves, or both branches if the predicate fails. The duration of the
+ * event goes from the moment the branch started to the moment it ended, which is the time spent on wasted work: when it
+ * completed, if it did before being discarded, or when it stopped after being cancelled.
+ *
+ * @see IfElseExp#speculative()
+ */
+@Label("Wasted Speculative Work")
+@Name("jio.exp.SpeculativeWaste")
+@Category({"JIO", "EXP"})
+@Description("Branches of speculative if-else expressions that were computed or cancelled for nothing")
+@StackTrace(value = false)
+final class SpeculativeWasteEvent extends Event {
+
+  /**
+   * the discarded branch: consequence or alternative
+   */
+  @Label("Branch")
+  String branch;
+
+  /**
+   * the state of the branch when it was discarded: COMPLETED if all the work was done, CANCELLED if it was interrupted
+   */
+  @Label("State")
+  String state;
+
+  enum STATE {
+    COMPLETED, CANCELLED
+  }
+
+}
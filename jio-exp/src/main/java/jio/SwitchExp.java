@@ -129,17 +129,16 @@ public final class SwitchExp<Input, Output> extends Exp<Output> {
   public SwitchExp<Input, Output> debugEach(final EventBuilder<Output> eventBuilder
                                            ) {
     return new SwitchExp<>(DebuggerHelper.debugIO(val,
-                                                  "%s-eval".formatted(eventBuilder.exp),
-                                                  eventBuilder.context
+                                                  eventBuilder,
+                                                  "-eval"
                                                  ),
                            predicates,
                            DebuggerHelper.debugLambdas(lambdas,
-                                                       "%s-branch".formatted(eventBuilder.exp),
-                                                       eventBuilder.context
+                                                       eventBuilder.child("-branch")
                                                       ),
                            DebuggerHelper.debugLambda(otherwise,
-                                                      "%s-otherwise".formatted(eventBuilder.exp),
-                                                      eventBuilder.context
+                                                      eventBuilder,
+                                                      "-otherwise"
                                                      ),
                            getJFRPublisher(eventBuilder)
 
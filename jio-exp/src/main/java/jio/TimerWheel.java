@@ -0,0 +1,215 @@
+package jio;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel that runs tasks after a delay with a single thread, no matter how many of them are scheduled. The
+ * wheel is an array of buckets, one per tick of one millisecond. A task is placed in the bucket of the tick it expires
+ * at, modulo the size of the wheel, along with the number of full turns (rounds) left; every tick, the thread advances
+ * to the next bucket and runs the tasks with no rounds left. Scheduling is O(1) and lock-free (the task is appended to
+ * a queue that the thread drains every tick), and so is cancelling. The precision is one tick.
+ * <p>
+ * Tasks run on the thread of the wheel, so they must be short and never block: completing a future or submitting the
+ * real work to an executor. The thread is a daemon started the first time the shared wheel is used, and it parks while
+ * no task is scheduled.
+ */
+final class TimerWheel {
+
+  private static final int WHEEL_SIZE = 512;
+  private static final int MASK = WHEEL_SIZE - 1;
+  private static final long TICK_NANOS = 1_000_000;
+
+  private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+  private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger scheduled = new AtomicInteger();
+  private final long startTime = System.nanoTime();
+  private final Thread worker;
+  private long tick;
+
+  private TimerWheel() {
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.worker = Thread.ofPlatform()
+                        .name("jio-timer-wheel")
+                        .daemon()
+                        .unstarted(this::work);
+    this.worker.start();
+  }
+
+  /**
+   * Returns the wheel shared by all the effects of the JVM.
+   *
+   * @return the shared timer wheel
+   */
+  static TimerWheel shared() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Schedules a task to run once the delay has passed.
+   *
+   * @param task       the task, which must be short and never block
+   * @param delayNanos the delay in nanoseconds
+   * @return a handle to cancel the task
+   */
+  Timeout schedule(final Runnable task,
+                   final long delayNanos) {
+    var timeout = new Timeout(task,
+                              System.nanoTime() - startTime + Math.max(0,
+                                                                       delayNanos));
+    pending.offer(timeout);
+    if (scheduled.getAndIncrement() == 0) {
+      LockSupport.unpark(worker);
+    }
+    return timeout;
+  }
+
+  private void work() {
+    while (true) {
+      if (scheduled.get() == 0) {
+        LockSupport.park(this);
+        // nothing expired while idle, so there is no need to go through the buckets of the missed ticks
+        tick = Math.max(tick,
+                        (System.nanoTime() - startTime) / TICK_NANOS - 1);
+        continue;
+      }
+      long now = System.nanoTime() - startTime;
+      long next = (tick + 1) * TICK_NANOS;
+      if (now < next) {
+        LockSupport.parkNanos(this,
+                              next - now);
+        continue;
+      }
+      long currentTick = now / TICK_NANOS;
+      while (tick < currentTick) {
+        tick++;
+        transferPending();
+        expire(wheel[(int) (tick & MASK)],
+               now);
+      }
+    }
+  }
+
+  private void transferPending() {
+    Timeout timeout;
+    while ((timeout = pending.poll()) != null) {
+      if (timeout.isCancelled()) {
+        scheduled.decrementAndGet();
+        continue;
+      }
+      long expirationTick = Math.max(tick,
+                                     (timeout.deadline + TICK_NANOS - 1) / TICK_NANOS);
+      timeout.rounds = (expirationTick - tick) / WHEEL_SIZE;
+      wheel[(int) (expirationTick & MASK)].add(timeout);
+    }
+  }
+
+  private void expire(final Bucket bucket,
+                      final long now) {
+    Timeout timeout = bucket.head;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      if (timeout.isCancelled()) {
+        bucket.remove(timeout);
+        scheduled.decrementAndGet();
+      } else if (timeout.rounds > 0) {
+        timeout.rounds--;
+      } else if (timeout.deadline <= now) {
+        bucket.remove(timeout);
+        scheduled.decrementAndGet();
+        timeout.run();
+      }
+      timeout = next;
+    }
+  }
+
+  /**
+   * Handle of a scheduled task.
+   */
+  static final class Timeout {
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private long rounds;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(final Runnable task,
+                    final long deadline
+                   ) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task if it hasn't run yet.
+     *
+     * @return true if the task was cancelled, false if it had already run or been cancelled
+     */
+    boolean cancel() {
+      return done.compareAndSet(false,
+                                true);
+    }
+
+    private boolean isCancelled() {
+      return done.get();
+    }
+
+    private void run() {
+      if (done.compareAndSet(false,
+                             true)) {
+        try {
+          task.run();
+        } catch (Throwable t) {
+          Fun.publishException("timer-wheel",
+                               t);
+        }
+      }
+    }
+  }
+
+  /**
+   * Doubly linked list of the timeouts of a tick. It's only accessed by the thread of the wheel.
+   */
+  private static final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    void add(final Timeout timeout) {
+      timeout.prev = tail;
+      timeout.next = null;
+      if (tail == null) {
+        head = timeout;
+      } else {
+        tail.next = timeout;
+      }
+      tail = timeout;
+    }
+
+    void remove(final Timeout timeout) {
+      if (timeout.prev == null) {
+        head = timeout.next;
+      } else {
+        timeout.prev.next = timeout.next;
+      }
+      if (timeout.next == null) {
+        tail = timeout.prev;
+      } else {
+        timeout.next.prev = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+    }
+  }
+
+  private static final class Holder {
+
+    static final TimerWheel INSTANCE = new TimerWheel();
+  }
+}
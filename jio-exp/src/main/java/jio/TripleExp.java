@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import fun.tuple.Triple;
+import java.time.Duration;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -110,6 +111,16 @@ public abstract sealed class TripleExp<First, Second, Third> extends Exp<Triple<
     return _3;
   }
 
+  /**
+   * Returns a new expression that fails with a {@link java.util.concurrent.TimeoutException} if the three effects don't
+   * complete before the timeout, interrupting the ones still running.
+   *
+   * @param timeout the timeout
+   * @return a new TripleExp
+   */
+  @Override
+  public abstract TripleExp<First, Second, Third> timeout(final Duration timeout);
+
   @Override
   public abstract TripleExp<First, Second, Third> retryEach(final Predicate<? super Throwable> predicate,
                                                             final RetryPolicy policy
@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import fun.tuple.Triple;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.StructuredTaskScope;
 import java.util.function.BiConsumer;
@@ -13,15 +14,31 @@ import jio.Result.Success;
 
 final class TripleExpPar<First, Second, Third> extends TripleExp<First, Second, Third> {
 
+  private final Duration timeout;
+
   public TripleExpPar(final IO<First> _1,
                       final IO<Second> _2,
                       final IO<Third> _3,
                       final Function<EvalExpEvent, BiConsumer<Triple<First, Second, Third>, Throwable>> debugger
                      ) {
+    this(_1,
+         _2,
+         _3,
+         debugger,
+         null);
+  }
+
+  TripleExpPar(final IO<First> _1,
+               final IO<Second> _2,
+               final IO<Third> _3,
+               final Function<EvalExpEvent, BiConsumer<Triple<First, Second, Third>, Throwable>> debugger,
+               final Duration timeout
+              ) {
     super(_1,
           _2,
           _3,
           debugger);
+    this.timeout = timeout;
   }
 
   @Override
@@ -39,7 +56,8 @@ final class TripleExpPar<First, Second, Third> extends TripleExp<First, Second,
                               _3.retry(predicate,
                                        policy
                                       ),
-                              jfrPublisher
+                              jfrPublisher,
+                              timeout
     );
   }
 
@@ -49,8 +67,9 @@ final class TripleExpPar<First, Second, Third> extends TripleExp<First, Second,
       var first = scope.fork(_1);
       var second = scope.fork(_2);
       var third = scope.fork(_3);
-      scope.join()
-           .throwIfFailed();
+      ParallelHelper.join(scope,
+                          ParallelHelper.deadline(timeout))
+                    .throwIfFailed();
       return new Success<>(Triple.of(first.get()
                                           .getOutputOrThrow(),
                                      second.get()
@@ -68,27 +87,31 @@ final class TripleExpPar<First, Second, Third> extends TripleExp<First, Second,
                                                   ) {
     Objects.requireNonNull(eventBuilder);
     return new TripleExpPar<>(DebuggerHelper.debugIO(_1,
-                                                     String.format("%s[1]",
-                                                                   eventBuilder.exp
-                                                                  ),
-                                                     eventBuilder.context
+                                                     eventBuilder,
+                                                     "[1]"
                                                     ),
                               DebuggerHelper.debugIO(_2,
-                                                     String.format("%s[2]",
-                                                                   eventBuilder.exp
-                                                                  ),
-                                                     eventBuilder.context
+                                                     eventBuilder,
+                                                     "[2]"
                                                     ),
                               DebuggerHelper.debugIO(_3,
-                                                     String.format("%s[3]",
-                                                                   eventBuilder.exp
-                                                                  ),
-                                                     eventBuilder.context
+                                                     eventBuilder,
+                                                     "[3]"
                                                     ),
-                              getJFRPublisher(eventBuilder)
+                              getJFRPublisher(eventBuilder),
+                              timeout
     );
   }
 
+  @Override
+  public TripleExp<First, Second, Third> timeout(final Duration timeout) {
+    return new TripleExpPar<>(_1,
+                              _2,
+                              _3,
+                              jfrPublisher,
+                              requireNonNull(timeout));
+  }
+
   @Override
   public TripleExp<First, Second, Third> debugEach(final String context) {
     return this.debugEach(EventBuilder.of(this.getClass()
@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import fun.tuple.Triple;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -11,15 +12,31 @@ import jio.Result.Failure;
 
 final class TripleExpSeq<First, Second, Third> extends TripleExp<First, Second, Third> {
 
+  private final Duration timeout;
+
   public TripleExpSeq(final IO<First> _1,
                       final IO<Second> _2,
                       final IO<Third> _3,
                       final Function<EvalExpEvent, BiConsumer<Triple<First, Second, Third>, Throwable>> debugger
                      ) {
+    this(_1,
+         _2,
+         _3,
+         debugger,
+         null);
+  }
+
+  TripleExpSeq(final IO<First> _1,
+               final IO<Second> _2,
+               final IO<Third> _3,
+               final Function<EvalExpEvent, BiConsumer<Triple<First, Second, Third>, Throwable>> debugger,
+               final Duration timeout
+              ) {
     super(_1,
           _2,
           _3,
           debugger);
+    this.timeout = timeout;
   }
 
   @Override
@@ -37,12 +54,19 @@ final class TripleExpSeq<First, Second, Third> extends TripleExp<First, Second,
                               _3.retry(predicate,
                                        policy
                                       ),
-                              jfrPublisher
+                              jfrPublisher,
+                              timeout
     );
   }
 
   @Override
   Result<Triple<First, Second, Third>> reduceExp() {
+    return timeout == null ? reduceInOrder() : IO.timeout(new Val<>(this::reduceInOrder),
+                                                          timeout,
+                                                          Failure::new);
+  }
+
+  private Result<Triple<First, Second, Third>> reduceInOrder() {
     try {
       var first = _1.compute()
                     .getOutputOrThrow();
@@ -59,30 +83,34 @@ final class TripleExpSeq<First, Second, Third> extends TripleExp<First, Second,
     }
   }
 
+  @Override
+  public TripleExp<First, Second, Third> timeout(final Duration timeout) {
+    return new TripleExpSeq<>(_1,
+                              _2,
+                              _3,
+                              jfrPublisher,
+                              requireNonNull(timeout));
+  }
+
   @Override
   public TripleExp<First, Second, Third> debugEach(final EventBuilder<Triple<First, Second, Third>> eventBuilder) {
     Objects.requireNonNull(eventBuilder);
     return new TripleExpSeq<>(DebuggerHelper.debugIO(_1,
-                                                     String.format("%s[1]",
-                                                                   eventBuilder.exp
-                                                                  ),
-                                                     eventBuilder.context
+                                                     eventBuilder,
+                                                     "[1]"
 
                                                     ),
                               DebuggerHelper.debugIO(_2,
-                                                     String.format("%s[2]",
-                                                                   eventBuilder.exp
-                                                                  ),
-                                                     eventBuilder.context
+                                                     eventBuilder,
+                                                     "[2]"
 
                                                     ),
                               DebuggerHelper.debugIO(_3,
-                                                     String.format("%s[3]",
-                                                                   eventBuilder.exp
-                                                                  ),
-                                                     eventBuilder.context
+                                                     eventBuilder,
+                                                     "[3]"
                                                     ),
-                              getJFRPublisher(eventBuilder)
+                              getJFRPublisher(eventBuilder),
+                              timeout
     );
   }
 
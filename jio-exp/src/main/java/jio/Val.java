@@ -3,6 +3,7 @@ package jio;
 import static java.util.Objects.requireNonNull;
 
 import java.util.concurrent.Callable;
+import jio.Result.Failure;
 
 /**
  * Represents a output, which is an irreducible expression. Values of type {@code Val} encapsulate a output of type
@@ -13,6 +14,9 @@ import java.util.concurrent.Callable;
  * {@code Val} represents a final output, {@code Exp} expressions are composable and can involve multiple sub-effects
  * that need to be executed in a specific order.
  *
+ * <p>In the IO algebra reduced by the {@link Interpreter}, {@code Val} is the suspended computation: a leaf whose
+ * callable is invoked every time the effect is computed.
+ *
  * @param <Output> the type of the output encapsulated by this {@code Val}.
  */
 final class Val<Output> extends IO<Output> {
@@ -24,8 +28,12 @@ final class Val<Output> extends IO<Output> {
   }
 
   @Override
-  public Result<Output> call() throws Exception {
-    return effect.call();
+  public Result<Output> call() {
+    try {
+      return effect.call();
+    } catch (Exception e) {
+      return new Failure<>(e);
+    }
   }
 
 }
@@ -1,8 +1,12 @@
 package jio.api;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import jio.AllExp;
 import jio.IO;
 import jio.Result;
+import jio.Result.Failure;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +64,37 @@ public class AllExpTest {
 
   }
 
+  @Test
+  public void test_par_returns_as_soon_as_one_subexpression_is_false() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    IO<Boolean> slow = IO.task(() -> {
+      try {
+        Thread.sleep(Duration.ofSeconds(10));
+        return true;
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+    });
+    long start = System.nanoTime();
+    var result = AllExp.par(slow,
+                            IO.lazy(() -> false))
+                       .call();
+    Assertions.assertEquals(Result.FALSE,
+                            result);
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofSeconds(5)) < 0);
+    Assertions.assertTrue(interrupted.await(1,
+                                            TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void test_par_fails_if_a_subexpression_fails() {
+    RuntimeException exc = new RuntimeException("boom");
+    Assertions.assertEquals(new Failure<Boolean>(exc),
+                            AllExp.par(IO.TRUE,
+                                       IO.fail(exc))
+                                  .call());
+  }
+
 }
@@ -1,8 +1,12 @@
 package jio.api;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import jio.AnyExp;
 import jio.IO;
 import jio.Result;
+import jio.Result.Failure;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -58,4 +62,38 @@ public class AnyExpTest {
                            );
 
   }
+
+  @Test
+  public void test_par_returns_as_soon_as_one_subexpression_is_true() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    IO<Boolean> slow = IO.task(() -> {
+      try {
+        Thread.sleep(Duration.ofSeconds(10));
+        return false;
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+    });
+    long start = System.nanoTime();
+    var result = AnyExp.par(slow,
+                            IO.lazy(() -> true))
+                       .call();
+    Assertions.assertEquals(Result.TRUE,
+                            result);
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofSeconds(5)) < 0);
+    Assertions.assertTrue(interrupted.await(1,
+                                            TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void test_par_fails_if_a_subexpression_fails() {
+    RuntimeException exc = new RuntimeException("boom");
+    Assertions.assertEquals(new Failure<Boolean>(exc),
+                            AnyExp.par(IO.FALSE,
+                                       IO.fail(exc))
+                                  .call());
+  }
+
 }
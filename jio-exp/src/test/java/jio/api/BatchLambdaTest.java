@@ -0,0 +1,96 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import jio.BatchLambda;
+import jio.IO;
+import jio.Lambda;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BatchLambdaTest {
+
+  private final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+
+  private final Lambda<Set<Integer>, Map<Integer, String>> bulk =
+      keys -> IO.lazy(() -> {
+        batches.add(keys);
+        return keys.stream()
+                   .filter(key -> key >= 0)
+                   .collect(Collectors.toMap(Function.identity(),
+                                             key -> "value-" + key));
+      });
+
+  @Test
+  public void test_concurrent_calls_are_coalesced_into_one_bulk_call() {
+    BatchLambda<Integer, String> lambda = BatchLambda.of(bulk,
+                                                         100,
+                                                         Duration.ofMillis(50));
+    List<IO<String>> calls = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      calls.add(lambda.apply(i % 10));
+    }
+    Result<List<String>> result = ListExp.par(calls)
+                                         .call();
+    Assertions.assertEquals(new Success<>(IntStream.range(0,
+                                                          20)
+                                                   .mapToObj(i -> "value-" + (i % 10))
+                                                   .toList()),
+                            result);
+    Assertions.assertEquals(1,
+                            batches.size());
+    Assertions.assertEquals(10,
+                            batches.getFirst()
+                                   .size());
+  }
+
+  @Test
+  public void test_batches_are_flushed_when_full() {
+    BatchLambda<Integer, String> lambda = BatchLambda.of(bulk,
+                                                         5,
+                                                         Duration.ofSeconds(10));
+    List<IO<String>> calls = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      calls.add(lambda.apply(i));
+    }
+    long start = System.nanoTime();
+    Assertions.assertInstanceOf(Success.class,
+                                ListExp.par(calls)
+                                       .call());
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofSeconds(5)) < 0);
+    Assertions.assertEquals(4,
+                            batches.size());
+  }
+
+  @Test
+  public void test_missing_keys_and_failures() {
+    BatchLambda<Integer, String> lambda = BatchLambda.of(bulk,
+                                                         10,
+                                                         Duration.ofMillis(10));
+    Result<String> missing = lambda.apply(-1)
+                                   .call();
+    Assertions.assertInstanceOf(NoSuchElementException.class,
+                                ((Failure<String>) missing).exception());
+
+    RuntimeException exc = new RuntimeException("boom");
+    BatchLambda<Integer, String> failing = BatchLambda.of(_ -> IO.fail(exc),
+                                                          10,
+                                                          Duration.ofMillis(10));
+    Assertions.assertEquals(new Failure<String>(exc),
+                            failing.apply(1)
+                                   .call());
+  }
+}
@@ -0,0 +1,84 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.Bulkhead;
+import jio.IO;
+import jio.Lambda;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BulkheadTest {
+
+  private final AtomicInteger concurrent = new AtomicInteger();
+  private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+  private final Lambda<Integer, Integer> dependency = i -> IO.task(() -> {
+    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(),
+                                   Math::max);
+    try {
+      Thread.sleep(20);
+      return i;
+    } finally {
+      concurrent.decrementAndGet();
+    }
+  });
+
+  @Test
+  public void test_calls_in_flight_are_bounded() {
+    Bulkhead bulkhead = Bulkhead.of(3)
+                                .withMaxWaitTime(Duration.ofSeconds(5));
+    Lambda<Integer, Integer> isolated = dependency.withBulkhead(bulkhead);
+    List<IO<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      calls.add(isolated.apply(i));
+    }
+    Assertions.assertInstanceOf(Success.class,
+                                ListExp.par(calls)
+                                       .call());
+    Assertions.assertEquals(3,
+                            maxConcurrent.get());
+    Assertions.assertEquals(3,
+                            bulkhead.availablePermits());
+  }
+
+  @Test
+  public void test_calls_over_the_limit_are_rejected() throws Exception {
+    List<RecordedEvent> events;
+    try (var recorded = RecordedEvents.start("jio.exp.CallRejected")) {
+      Bulkhead bulkhead = Bulkhead.of(2)
+                                  .withEventLabel("dependency");
+      List<IO<Result<Integer>>> calls = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        calls.add(dependency.apply(i)
+                            .bulkhead(bulkhead)
+                            .then(r -> IO.succeed(new Success<>(r)),
+                                  e -> IO.succeed(new Failure<>(e))));
+      }
+      List<Result<Integer>> results = ListExp.par(calls)
+                                             .call()
+                                             .getOutputOrThrow();
+      Assertions.assertEquals(4,
+                              results.stream()
+                                     .filter(r -> r instanceof Failure<Integer>(RejectedExecutionException _))
+                                     .count());
+      events = recorded.await(4);
+    }
+    Assertions.assertEquals(4,
+                            events.size());
+    for (RecordedEvent event : events) {
+      Assertions.assertEquals("dependency",
+                              event.getString("label"));
+      Assertions.assertEquals("BULKHEAD",
+                              event.getString("limiter"));
+    }
+  }
+}
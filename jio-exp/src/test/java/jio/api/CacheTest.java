@@ -0,0 +1,166 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import jio.CacheSpec;
+import jio.IO;
+import jio.Lambda;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CacheTest {
+
+  @Test
+  public void test_hits_dont_call_the_lambda() {
+    ConcurrentHashMap<Integer, AtomicInteger> loads = new ConcurrentHashMap<>();
+    Lambda<Integer, Integer> square = n -> IO.lazy(() -> {
+      loads.computeIfAbsent(n,
+                            _ -> new AtomicInteger())
+           .incrementAndGet();
+      return n * n;
+    });
+    Lambda<Integer, Integer> cached = square.cached(CacheSpec.of(100));
+    for (int i = 0; i < 10; i++) {
+      Assertions.assertEquals(new Success<>(4),
+                              cached.apply(2)
+                                    .call());
+      Assertions.assertEquals(new Success<>(9),
+                              cached.apply(3)
+                                    .call());
+    }
+    Assertions.assertEquals(1,
+                            loads.get(2)
+                                 .get());
+    Assertions.assertEquals(1,
+                            loads.get(3)
+                                 .get());
+  }
+
+  @Test
+  public void test_concurrent_misses_are_loaded_once() {
+    AtomicInteger loads = new AtomicInteger();
+    Lambda<String, Integer> slow = key -> IO.task(() -> {
+      Thread.sleep(Duration.ofMillis(100));
+      return loads.incrementAndGet();
+    });
+    Lambda<String, Integer> cached = slow.cached(CacheSpec.of(10));
+    Result<List<Integer>> result = ListExp.par(cached.apply("key"),
+                                               cached.apply("key"),
+                                               cached.apply("key"))
+                                          .call();
+    Assertions.assertEquals(new Success<>(List.of(1,
+                                                  1,
+                                                  1)),
+                            result);
+    Assertions.assertEquals(1,
+                            loads.get());
+  }
+
+  @Test
+  public void test_frequent_keys_survive_a_scan() {
+    AtomicInteger hotLoads = new AtomicInteger();
+    Lambda<Integer, Integer> identity = n -> IO.lazy(() -> {
+      if (n == -1) {
+        hotLoads.incrementAndGet();
+      }
+      return n;
+    });
+    Lambda<Integer, Integer> cached = identity.cached(CacheSpec.of(100));
+    for (int i = 0; i < 10_000; i++) {
+      cached.apply(-1)
+            .call();
+      cached.apply(i)
+            .call();
+    }
+    Assertions.assertEquals(1,
+                            hotLoads.get());
+  }
+
+  @Test
+  public void test_expire_after_write() throws InterruptedException {
+    AtomicInteger loads = new AtomicInteger();
+    Lambda<Integer, Integer> lambda = n -> IO.lazy(loads::incrementAndGet);
+    Lambda<Integer, Integer> cached = lambda.cached(CacheSpec.of(10)
+                                                             .withExpireAfterWrite(Duration.ofMillis(100)));
+    Assertions.assertEquals(new Success<>(1),
+                            cached.apply(1)
+                                  .call());
+    Assertions.assertEquals(new Success<>(1),
+                            cached.apply(1)
+                                  .call());
+    Thread.sleep(Duration.ofMillis(150));
+    Assertions.assertEquals(new Success<>(2),
+                            cached.apply(1)
+                                  .call());
+  }
+
+  @Test
+  public void test_failures_are_not_cached_by_default() {
+    AtomicInteger loads = new AtomicInteger();
+    RuntimeException exc = new RuntimeException("boom");
+    Lambda<Integer, Integer> failsFirst = n -> IO.task(() -> {
+      if (loads.incrementAndGet() == 1) {
+        throw exc;
+      }
+      return n;
+    });
+    Lambda<Integer, Integer> cached = failsFirst.cached(CacheSpec.of(10));
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            cached.apply(1)
+                                  .call());
+    Assertions.assertEquals(new Success<>(1),
+                            cached.apply(1)
+                                  .call());
+    Assertions.assertEquals(new Success<>(1),
+                            cached.apply(1)
+                                  .call());
+    Assertions.assertEquals(2,
+                            loads.get());
+  }
+
+  @Test
+  public void test_error_doesnt_block_waiting_callers() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    Lambda<Integer, Integer> failsFirst = n -> IO.task(() -> {
+      Thread.sleep(Duration.ofMillis(100));
+      if (loads.incrementAndGet() == 1) {
+        throw new AssertionError("boom");
+      }
+      return n;
+    });
+    Lambda<Integer, Integer> cached = failsFirst.cached(CacheSpec.of(10));
+    AtomicReference<Throwable> leaderError = new AtomicReference<>();
+    Thread leader = Thread.startVirtualThread(() -> {
+      try {
+        cached.apply(1)
+              .call();
+      } catch (AssertionError e) {
+        leaderError.set(e);
+      }
+    });
+    Thread.sleep(Duration.ofMillis(20));
+    var follower = CompletableFuture.supplyAsync(() -> cached.apply(1)
+                                                             .call());
+    var exc = Assertions.assertThrows(ExecutionException.class,
+                                      () -> follower.get(2,
+                                                         TimeUnit.SECONDS));
+    leader.join();
+    Assertions.assertInstanceOf(AssertionError.class,
+                                leaderError.get());
+    Assertions.assertInstanceOf(AssertionError.class,
+                                exc.getCause());
+    Assertions.assertEquals(new Success<>(1),
+                            cached.apply(1)
+                                  .call());
+  }
+}
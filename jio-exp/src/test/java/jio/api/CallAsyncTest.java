@@ -0,0 +1,118 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.IO;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jio.RetryPolicies;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CallAsyncTest {
+
+  @Test
+  public void test_sleep_does_not_block_the_caller() throws Exception {
+    long start = System.nanoTime();
+    CompletableFuture<Result<String>> future = IO.sleep(Duration.ofMillis(100))
+                                                 .map(_ -> "done")
+                                                 .callAsync();
+    Assertions.assertFalse(future.isDone());
+    Assertions.assertEquals(new Success<>("done"),
+                            future.get());
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    Assertions.assertTrue(elapsed.compareTo(Duration.ofMillis(100)) >= 0,
+                          elapsed.toString());
+  }
+
+  @Test
+  public void test_retry_backoffs_are_suspended() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    IO<String> failing = IO.<String>lazy(() -> {
+                             attempts.incrementAndGet();
+                             throw new IllegalStateException("down");
+                           })
+                           .retry(RetryPolicies.constantDelay(Duration.ofMillis(20))
+                                               .append(RetryPolicies.limitRetries(3)));
+    long start = System.nanoTime();
+    CompletableFuture<Result<String>> future = failing.callAsync();
+    Assertions.assertEquals(1,
+                            attempts.get(),
+                            "the first attempt runs on the calling thread");
+    Result<String> result = future.get();
+    Assertions.assertInstanceOf(IllegalStateException.class,
+                                ((Failure<String>) result).exception());
+    Assertions.assertEquals(4,
+                            attempts.get());
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofMillis(60)) >= 0);
+    Assertions.assertEquals(result.getClass(),
+                            failing.call()
+                                   .getClass());
+  }
+
+  @Test
+  public void test_repeat_and_many_concurrent_delays() throws Exception {
+    AtomicInteger counter = new AtomicInteger();
+    IO<Integer> repeated = IO.lazy(counter::incrementAndGet)
+                             .repeat(n -> n < 5,
+                                     RetryPolicies.constantDelay(Duration.ofMillis(5)));
+    Assertions.assertEquals(new Success<>(5),
+                            repeated.callAsync()
+                                    .get());
+
+    List<CompletableFuture<Result<Integer>>> futures = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      int n = i;
+      futures.add(IO.sleep(Duration.ofMillis(1 + i % 50))
+                    .map(_ -> n)
+                    .callAsync());
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      Assertions.assertEquals(new Success<>(i),
+                              futures.get(i)
+                                     .get());
+    }
+  }
+
+  @Test
+  public void test_cancelled_future_is_not_resumed() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    IO<String> failing = IO.<String>lazy(() -> {
+                             attempts.incrementAndGet();
+                             throw new IllegalStateException("down");
+                           })
+                           .retry(RetryPolicies.constantDelay(Duration.ofMillis(50))
+                                               .append(RetryPolicies.limitRetries(3)));
+    CompletableFuture<Result<String>> future = failing.callAsync();
+    Assertions.assertTrue(future.cancel(true));
+    Thread.sleep(300);
+    Assertions.assertEquals(1,
+                            attempts.get());
+  }
+
+  @Test
+  public void test_every_computation_of_a_retry_has_its_own_status() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    IO<String> failing = IO.<String>lazy(() -> {
+                             attempts.incrementAndGet();
+                             throw new IllegalStateException("down");
+                           })
+                           .retry(RetryPolicies.constantDelay(Duration.ofMillis(10))
+                                               .append(RetryPolicies.limitRetries(2)));
+    List<CompletableFuture<Result<String>>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(failing.callAsync());
+    }
+    for (CompletableFuture<Result<String>> future : futures) {
+      Assertions.assertInstanceOf(Failure.class,
+                                  future.get());
+    }
+    Assertions.assertEquals(30,
+                            attempts.get());
+  }
+}
@@ -0,0 +1,109 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.CircuitBreaker;
+import jio.CircuitBreakerOpenException;
+import jio.IO;
+import jio.Lambda;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+  @Test
+  public void test_opens_on_failure_rate_and_fails_fast() {
+    CircuitBreaker breaker = CircuitBreaker.of(4)
+                                           .withWaitInOpenState(Duration.ofMinutes(1))
+                                           .withoutRecordedEvents();
+    AtomicInteger calls = new AtomicInteger();
+    IO<String> failing = IO.<String>lazy(() -> {
+                             calls.incrementAndGet();
+                             throw new RuntimeException("down");
+                           })
+                           .circuitBreaker(breaker);
+    for (int i = 0; i < 4; i++) {
+      Assertions.assertInstanceOf(RuntimeException.class,
+                                  ((Failure<String>) failing.call()).exception());
+    }
+    Assertions.assertEquals(CircuitBreaker.State.OPEN,
+                            breaker.state());
+    Result<String> rejected = failing.call();
+    Assertions.assertInstanceOf(CircuitBreakerOpenException.class,
+                                ((Failure<String>) rejected).exception());
+    Assertions.assertEquals(4,
+                            calls.get());
+  }
+
+  @Test
+  public void test_half_open_closes_after_successful_trials() throws Exception {
+    List<RecordedEvent> events;
+    try (var recorded = RecordedEvents.start("jio.exp.CircuitBreaker")) {
+      CircuitBreaker breaker = CircuitBreaker.of(10)
+                                             .withMinimumNumberOfCalls(2)
+                                             .withPermittedCallsInHalfOpenState(2)
+                                             .withWaitInOpenState(Duration.ofMillis(50))
+                                             .withEventLabel("test-breaker");
+      AtomicInteger failures = new AtomicInteger(2);
+      Lambda<Integer, Integer> lambda = Lambda.<Integer, Integer>liftFunction(i -> {
+                                                if (failures.getAndDecrement() > 0) {
+                                                  throw new RuntimeException("down");
+                                                }
+                                                return i;
+                                              })
+                                              .withCircuitBreaker(breaker);
+      lambda.apply(1)
+            .call();
+      lambda.apply(2)
+            .call();
+      Assertions.assertEquals(CircuitBreaker.State.OPEN,
+                              breaker.state());
+      Thread.sleep(60);
+      Assertions.assertEquals(new Success<>(3),
+                              lambda.apply(3)
+                                    .call());
+      Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN,
+                              breaker.state());
+      Assertions.assertEquals(new Success<>(4),
+                              lambda.apply(4)
+                                    .call());
+      Assertions.assertEquals(CircuitBreaker.State.CLOSED,
+                              breaker.state());
+      events = recorded.await(3);
+    }
+    Assertions.assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"),
+                            events.stream()
+                                  .map(e -> e.getString("from") + "->" + e.getString("to"))
+                                  .toList());
+    Assertions.assertEquals("test-breaker",
+                            events.getFirst()
+                                  .getString("label"));
+    Assertions.assertEquals(1.0,
+                            events.getFirst()
+                                  .getDouble("failureRate"));
+  }
+
+  @Test
+  public void test_opens_on_slow_call_rate() {
+    CircuitBreaker breaker = CircuitBreaker.of(2)
+                                           .withSlowCallThreshold(Duration.ofMillis(20),
+                                                                  1.0)
+                                           .withoutRecordedEvents();
+    IO<String> slow = IO.task(() -> {
+                          Thread.sleep(30);
+                          return "slow";
+                        })
+                        .circuitBreaker(breaker);
+    Assertions.assertEquals(new Success<>("slow"),
+                            slow.call());
+    Assertions.assertEquals(new Success<>("slow"),
+                            slow.call());
+    Assertions.assertEquals(CircuitBreaker.State.OPEN,
+                            breaker.state());
+  }
+}
@@ -0,0 +1,133 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.ConcurrencyLimiter;
+import jio.IO;
+import jio.Lambda;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimiterTest {
+
+  // the latency grows with the number of concurrent calls once the capacity of the dependency is exceeded
+  private static Lambda<Integer, Integer> dependency(final int capacity) {
+    AtomicInteger concurrent = new AtomicInteger();
+    return i -> IO.task(() -> {
+      int n = concurrent.incrementAndGet();
+      try {
+        Thread.sleep(Math.max(5,
+                              5L * n / capacity));
+        return i;
+      } finally {
+        concurrent.decrementAndGet();
+      }
+    });
+  }
+
+  @Test
+  public void test_limit_grows_while_latency_is_stable() {
+    // a tolerance high enough for the jitter of the sleeps not to be taken for congestion
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.of(4)
+                                                   .withLatencyTolerance(5)
+                                                   .withoutRecordedEvents();
+    Lambda<Integer, Integer> lambda = dependency(100).withConcurrencyLimiter(limiter);
+    for (int i = 0; i < 20; i++) {
+      lambda.apply(i)
+            .call();
+    }
+    Assertions.assertEquals(4,
+                            limiter.limit(),
+                            "the limit doesn't grow if it's not being used");
+    // the limit grows by about one per round, since a round is as many calls as the limit
+    for (int round = 0; round < 40; round++) {
+      List<IO<Integer>> calls = new ArrayList<>();
+      for (int i = 0; i < limiter.limit(); i++) {
+        calls.add(lambda.apply(i));
+      }
+      ListExp.par(calls)
+             .call();
+    }
+    Assertions.assertTrue(limiter.limit() > 10);
+  }
+
+  @Test
+  public void test_limit_is_cut_back_and_excess_calls_are_rejected() throws Exception {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.of(100)
+                                                   .withoutRecordedEvents();
+    Lambda<Integer, Integer> lambda = dependency(5).withConcurrencyLimiter(limiter);
+    lambda.apply(0)
+          .call();
+    int rejected = 0;
+    for (int round = 0; round < 5; round++) {
+      List<IO<Result<Integer>>> calls = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        calls.add(lambda.apply(i)
+                        .then(r -> IO.succeed(new Success<>(r)),
+                              e -> IO.succeed(new Failure<>(e))));
+      }
+      List<Result<Integer>> results = ListExp.par(calls)
+                                             .call()
+                                             .getOutputOrThrow();
+      rejected += (int) results.stream()
+                               .filter(r -> r instanceof Failure<Integer>(RejectedExecutionException _))
+                               .count();
+    }
+    Assertions.assertTrue(rejected > 0);
+    Assertions.assertTrue(limiter.limit() < 100);
+  }
+
+  @Test
+  public void test_calls_over_the_limit_wait() {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.of(1)
+                                                   .withLimits(1,
+                                                               1)
+                                                   .withMaxWaitTime(Duration.ofSeconds(5))
+                                                   .withoutRecordedEvents();
+    Lambda<Integer, Integer> lambda = dependency(1).withConcurrencyLimiter(limiter);
+    Assertions.assertEquals(new Success<>(List.of(0, 1, 2, 3)),
+                            ListExp.par(lambda.apply(0),
+                                        lambda.apply(1),
+                                        lambda.apply(2),
+                                        lambda.apply(3))
+                                   .call());
+  }
+
+  @Test
+  public void test_calls_in_flight_never_exceed_the_limit() {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.of(5)
+                                                   .withLimits(5,
+                                                               5)
+                                                   .withMaxWaitTime(Duration.ofSeconds(10))
+                                                   .withoutRecordedEvents();
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    Lambda<Integer, Integer> lambda = i -> IO.task(() -> {
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(),
+                                     Math::max);
+      try {
+        Thread.sleep(1);
+        return i;
+      } finally {
+        concurrent.decrementAndGet();
+      }
+    });
+    Lambda<Integer, Integer> limited = lambda.withConcurrencyLimiter(limiter);
+    List<IO<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      calls.add(limited.apply(i));
+    }
+    Assertions.assertTrue(ListExp.par(calls)
+                                 .call()
+                                 .isSuccess());
+    Assertions.assertTrue(maxConcurrent.get() <= 5,
+                          "max concurrent calls: " + maxConcurrent.get());
+  }
+}
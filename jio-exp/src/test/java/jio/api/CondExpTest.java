@@ -1,8 +1,13 @@
 package jio.api;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import jio.CondExp;
 import jio.IO;
 import jio.Result;
+import jio.Result.Failure;
 import jio.Result.Success;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -219,4 +224,100 @@ public class CondExpTest {
 
   }
 
+  private static IO<Boolean> sleep(final Duration duration,
+                                   final boolean value,
+                                   final CountDownLatch interrupted) {
+    return IO.task(() -> {
+      try {
+        Thread.sleep(duration);
+        return value;
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+    });
+  }
+
+  @Test
+  public void test_early_exit_cancels_lower_priority_tests() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    long start = System.nanoTime();
+    Result<String> result = CondExp.par(sleep(Duration.ofMillis(50),
+                                              true,
+                                              new CountDownLatch(1)),
+                                        () -> IO.succeed("a"),
+                                        sleep(Duration.ofSeconds(10),
+                                              true,
+                                              interrupted),
+                                        () -> IO.succeed("b"),
+                                        () -> IO.succeed("default")
+                                       )
+                                   .earlyExit()
+                                   .compute();
+    Assertions.assertEquals(new Success<>("a"),
+                            result);
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofSeconds(5)) < 0);
+    Assertions.assertTrue(interrupted.await(1,
+                                            TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void test_early_exit_keeps_the_declaration_order() {
+    RuntimeException exc = new RuntimeException("boom");
+    Assertions.assertEquals(new Success<>("b"),
+                            CondExp.par(sleep(Duration.ofMillis(50),
+                                              false,
+                                              new CountDownLatch(1)),
+                                        () -> IO.succeed("a"),
+                                        IO.TRUE,
+                                        () -> IO.succeed("b"),
+                                        IO.fail(exc),
+                                        () -> IO.succeed("c"),
+                                        () -> IO.succeed("default")
+                                       )
+                                   .earlyExit()
+                                   .compute());
+    Assertions.assertEquals(new Failure<String>(exc),
+                            CondExp.par(IO.fail(exc),
+                                        () -> IO.succeed("a"),
+                                        IO.TRUE,
+                                        () -> IO.succeed("b"),
+                                        () -> IO.succeed("default")
+                                       )
+                                   .earlyExit()
+                                   .compute());
+    Assertions.assertEquals(new Success<>("default"),
+                            CondExp.par(IO.FALSE,
+                                        () -> IO.succeed("a"),
+                                        IO.FALSE,
+                                        () -> IO.succeed("b"),
+                                        () -> IO.succeed("default")
+                                       )
+                                   .earlyExit()
+                                   .compute());
+  }
+
+  @Test
+  public void test_early_exit_with_prefetch() {
+    AtomicInteger computed = new AtomicInteger();
+    Result<String> result = CondExp.par(sleep(Duration.ofMillis(100),
+                                              false,
+                                              new CountDownLatch(1)),
+                                        () -> IO.succeed("a"),
+                                        IO.TRUE,
+                                        () -> IO.lazy(() -> {
+                                          computed.incrementAndGet();
+                                          return "b";
+                                        }),
+                                        () -> IO.succeed("default")
+                                       )
+                                   .earlyExit(true)
+                                   .compute();
+    Assertions.assertEquals(new Success<>("b"),
+                            result);
+    Assertions.assertEquals(1,
+                            computed.get());
+  }
+
 }
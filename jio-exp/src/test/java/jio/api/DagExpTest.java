@@ -0,0 +1,153 @@
+package jio.api;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.DagExp;
+import jio.IO;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DagExpTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  private <O> IO<O> delayed(final O value,
+                            final int millis) {
+    return IO.task(() -> {
+      calls.incrementAndGet();
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(),
+                                   Math::max);
+      try {
+        Thread.sleep(millis);
+        return value;
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  private DagExp aggregation() {
+    return DagExp.of("customer-view")
+                 .node("customer",
+                       delayed("c1",
+                               50))
+                 .node("orders",
+                       List.of("customer"),
+                       deps -> delayed(deps.<String>get("customer") + "-orders",
+                                       200))
+                 .node("address",
+                       List.of("customer"),
+                       deps -> delayed(deps.<String>get("customer") + "-address",
+                                       100))
+                 .node("view",
+                       List.of("orders", "address"),
+                       deps -> IO.succeed(deps.get("orders") + "," + deps.get("address")));
+  }
+
+  @Test
+  public void test_nodes_are_computed_once_as_soon_as_their_dependencies_complete() {
+    var result = aggregation().get("view")
+                              .call();
+    Assertions.assertEquals(new Success<>("c1-orders,c1-address"),
+                            result);
+    Assertions.assertEquals(3,
+                            calls.get());
+    // orders and address run in parallel once the customer is fetched
+    Assertions.assertEquals(2,
+                            maxInFlight.get());
+  }
+
+  @Test
+  public void test_failure_cancels_dependents() {
+    AtomicInteger started = new AtomicInteger();
+    var dag = DagExp.of()
+                    .node("customer",
+                          IO.fail(new IllegalStateException("not found")))
+                    .node("orders",
+                          List.of("customer"),
+                          _ -> IO.lazy(started::incrementAndGet));
+    var result = dag.call();
+    Assertions.assertInstanceOf(IllegalStateException.class,
+                                ((Failure<?>) result).exception());
+    Assertions.assertEquals(0,
+                            started.get());
+  }
+
+  @Test
+  public void test_only_declared_dependencies_are_accessible() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> DagExp.of()
+                                        .node("orders",
+                                              List.of("customer"),
+                                              _ -> IO.succeed(1)));
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> DagExp.of()
+                                        .node("a",
+                                              IO.succeed(1))
+                                        .node("a",
+                                              IO.succeed(2)));
+    var result = DagExp.of()
+                       .node("a",
+                             IO.succeed(1))
+                       .node("b",
+                             IO.succeed(2))
+                       .node("c",
+                             List.of("a"),
+                             deps -> IO.succeed(deps.<Integer>get("b")))
+                       .call();
+    Assertions.assertInstanceOf(IllegalArgumentException.class,
+                                ((Failure<?>) result).exception());
+  }
+
+  @Test
+  public void test_critical_path_is_recorded() throws Exception {
+    List<RecordedEvent> events;
+    try (var recorded = RecordedEvents.start("jio.exp.DagNode")) {
+      Assertions.assertInstanceOf(Success.class,
+                                  aggregation().call());
+      events = recorded.await(4);
+    }
+    Assertions.assertEquals(4,
+                            events.size());
+    Assertions.assertEquals(List.of("customer", "orders", "view"),
+                            events.stream()
+                                  .filter(e -> e.getBoolean("critical"))
+                                  .map(e -> e.getString("node"))
+                                  .sorted()
+                                  .toList());
+    RecordedEvent orders = events.stream()
+                                 .filter(e -> e.getString("node")
+                                               .equals("orders"))
+                                 .findFirst()
+                                 .orElseThrow();
+    Assertions.assertEquals("customer-view",
+                            orders.getString("dag"));
+    Assertions.assertTrue(orders.getDuration("waited")
+                                .toMillis() >= 50);
+  }
+
+  @Test
+  public void test_values_keep_the_declaration_order() {
+    var result = DagExp.of("order")
+                       .node("shipping",
+                             IO.succeed(1))
+                       .node("customer",
+                             IO.succeed(2))
+                       .node("payment",
+                             IO.succeed(3))
+                       .node("address",
+                             IO.succeed(4))
+                       .call();
+    Assertions.assertEquals(List.of("shipping", "customer", "payment", "address"),
+                            List.copyOf(result.getOutput()
+                                              .names()));
+    Assertions.assertEquals("{shipping=1, customer=2, payment=3, address=4}",
+                            result.getOutput()
+                                  .toString());
+  }
+}
@@ -0,0 +1,82 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.Hedge;
+import jio.IO;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HedgeTest {
+
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  // the first attempt is stuck, the next ones are fast
+  private final IO<String> read = IO.task(() -> {
+    int attempt = attempts.incrementAndGet();
+    Thread.sleep(attempt == 1 ? 5000 : 10);
+    return "attempt-" + attempt;
+  });
+
+  @Test
+  public void test_slow_primary_is_hedged() {
+    long start = System.nanoTime();
+    Assertions.assertEquals(new Success<>("attempt-2"),
+                            read.hedge(Duration.ofMillis(50),
+                                       2)
+                                .call());
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofSeconds(1)) < 0);
+    Assertions.assertEquals(2,
+                            attempts.get());
+  }
+
+  @Test
+  public void test_fast_primary_is_not_hedged() {
+    attempts.set(1);
+    Assertions.assertEquals(new Success<>("attempt-2"),
+                            read.hedge(Duration.ofMillis(500),
+                                       3)
+                                .call());
+    Assertions.assertEquals(2,
+                            attempts.get());
+  }
+
+  @Test
+  public void test_last_failure_if_every_attempt_fails() {
+    AtomicInteger failures = new AtomicInteger();
+    IO<String> failing = IO.task(() -> {
+      int attempt = failures.incrementAndGet();
+      Thread.sleep(100);
+      throw new IllegalStateException("attempt-" + attempt);
+    });
+    var result = failing.hedge(Duration.ofMillis(10),
+                               1)
+                        .call();
+    Assertions.assertInstanceOf(IllegalStateException.class,
+                                ((Failure<String>) result).exception());
+    Assertions.assertEquals(2,
+                            failures.get());
+  }
+
+  @Test
+  public void test_delay_follows_the_latency_percentile() {
+    Hedge hedge = Hedge.percentile(0.9,
+                                   Duration.ofSeconds(1),
+                                   1);
+    IO<Integer> fast = IO.task(() -> {
+      Thread.sleep(5);
+      return 1;
+    });
+    for (int i = 0; i < 64; i++) {
+      fast.hedge(hedge)
+          .call();
+    }
+    Assertions.assertTrue(hedge.delay()
+                               .compareTo(Duration.ofMillis(5)) >= 0);
+    Assertions.assertTrue(hedge.delay()
+                               .compareTo(Duration.ofMillis(500)) < 0);
+  }
+}
@@ -0,0 +1,137 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import jio.IO;
+import jio.IOStream;
+import jio.RetryPolicies;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IOStreamTest {
+
+  @Test
+  public void test_pipeline() {
+    IOStream<Integer> numbers = IOStream.fromIterable(IntStream.rangeClosed(1,
+                                                                            10)
+                                                               .boxed()
+                                                               .toList());
+    Assertions.assertEquals(new Success<>(List.of(List.of(4, 16, 36),
+                                                  List.of(64, 100))),
+                            numbers.filter(i -> i % 2 == 0)
+                                   .map(i -> i * i)
+                                   .chunk(3)
+                                   .toList()
+                                   .call());
+    Assertions.assertEquals(new Success<>(55),
+                            numbers.fold(0,
+                                         Integer::sum)
+                                   .call());
+  }
+
+  @Test
+  public void test_resource_is_closed_and_not_drained_after_take() {
+    AtomicInteger read = new AtomicInteger();
+    AtomicInteger closed = new AtomicInteger();
+    IOStream<Integer> infinite = IOStream.resource(() -> (AutoCloseable) closed::incrementAndGet,
+                                                   _ -> new Iterator<>() {
+                                                     @Override
+                                                     public boolean hasNext() {
+                                                       return true;
+                                                     }
+
+                                                     @Override
+                                                     public Integer next() {
+                                                       return read.incrementAndGet();
+                                                     }
+                                                   });
+    Assertions.assertEquals(new Success<>(List.of(1, 2, 3)),
+                            infinite.take(3)
+                                    .toList()
+                                    .call());
+    Assertions.assertEquals(3,
+                            read.get());
+    Assertions.assertEquals(1,
+                            closed.get());
+
+    Assertions.assertInstanceOf(Failure.class,
+                                infinite.map(i -> {
+                                          if (i > 5) {
+                                            throw new IllegalStateException();
+                                          }
+                                          return i;
+                                        })
+                                        .count()
+                                        .call());
+    Assertions.assertEquals(2,
+                            closed.get());
+  }
+
+  @Test
+  public void test_map_par_keeps_order_and_bounds_in_flight() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    IOStream<Integer> numbers = IOStream.fromIterable(IntStream.range(0,
+                                                                      50)
+                                                               .boxed()
+                                                               .toList());
+    var result = numbers.mapPar(4,
+                                i -> IO.task(() -> {
+                                  maxInFlight.accumulateAndGet(inFlight.incrementAndGet(),
+                                                               Math::max);
+                                  try {
+                                    Thread.sleep(50 - i);
+                                    return i;
+                                  } finally {
+                                    inFlight.decrementAndGet();
+                                  }
+                                }))
+                        .toList()
+                        .call();
+    Assertions.assertEquals(new Success<>(IntStream.range(0,
+                                                          50)
+                                                   .boxed()
+                                                   .toList()),
+                            result);
+    Assertions.assertTrue(maxInFlight.get() <= 4);
+  }
+
+  @Test
+  public void test_retry_reopens_and_skips_emitted_elements() {
+    AtomicInteger opened = new AtomicInteger();
+    IOStream<Integer> flaky = IOStream.fromIterator(() -> {
+      int attempt = opened.incrementAndGet();
+      return IntStream.range(0,
+                             10)
+                      .boxed()
+                      .map(i -> {
+                        if (attempt < 3 && i == 3 * attempt) {
+                          throw new IllegalStateException("connection reset");
+                        }
+                        return i;
+                      })
+                      .iterator();
+    });
+    Assertions.assertEquals(new Success<>(IntStream.range(0,
+                                                          10)
+                                                   .boxed()
+                                                   .toList()),
+                            flaky.retry(RetryPolicies.constantDelay(Duration.ofMillis(1))
+                                                     .append(RetryPolicies.limitRetries(3)))
+                                 .toList()
+                                 .call());
+    Assertions.assertEquals(3,
+                            opened.get());
+
+    opened.set(0);
+    Assertions.assertInstanceOf(Failure.class,
+                                flaky.retry(RetryPolicies.limitRetries(1))
+                                     .toList()
+                                     .call());
+  }
+}
@@ -1,7 +1,18 @@
 package jio.api;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import jio.IO;
 import jio.IfElseExp;
+import jio.Result;
+import jio.Result.Failure;
 import jio.Result.Success;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -27,4 +38,110 @@ public class IfElseExpTest {
 
   }
 
+  private static <O> IO<O> sleep(final Duration duration,
+                                 final O value,
+                                 final CountDownLatch interrupted) {
+    return IO.task(() -> {
+      try {
+        Thread.sleep(duration);
+        return value;
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+    });
+  }
+
+  @Test
+  public void test_speculative_runs_predicate_and_branches_concurrently() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Path file = Files.createTempFile("speculative",
+                                     ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable("jio.exp.SpeculativeWaste");
+      recording.start();
+      long start = System.nanoTime();
+      Result<String> result = IfElseExp.<String>predicate(sleep(Duration.ofMillis(200),
+                                                                true,
+                                                                new CountDownLatch(1)))
+                                       .consequence(() -> sleep(Duration.ofMillis(200),
+                                                                "cache",
+                                                                new CountDownLatch(1)))
+                                       .alternative(() -> sleep(Duration.ofSeconds(10),
+                                                                "db",
+                                                                interrupted))
+                                       .speculative()
+                                       .compute();
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+      // the cancelled branch commits its event when it stops
+      Assertions.assertTrue(interrupted.await(1,
+                                              TimeUnit.SECONDS));
+      Thread.sleep(100);
+      recording.stop();
+      recording.dump(file);
+      Assertions.assertEquals(new Success<>("cache"),
+                              result);
+      Assertions.assertTrue(elapsed.compareTo(Duration.ofMillis(390)) < 0);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      Assertions.assertEquals(1,
+                              events.size());
+      Assertions.assertEquals("alternative",
+                              events.getFirst()
+                                    .getString("branch"));
+      Assertions.assertEquals("CANCELLED",
+                              events.getFirst()
+                                    .getString("state"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void test_completed_branch_is_charged_until_it_completed() throws Exception {
+    Path file = Files.createTempFile("speculative",
+                                     ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable("jio.exp.SpeculativeWaste");
+      recording.start();
+      Result<String> result = IfElseExp.<String>predicate(sleep(Duration.ofMillis(500),
+                                                                false,
+                                                                new CountDownLatch(1)))
+                                       .consequence(() -> sleep(Duration.ofMillis(50),
+                                                                "cache",
+                                                                new CountDownLatch(1)))
+                                       .alternative(() -> IO.succeed("db"))
+                                       .speculative()
+                                       .compute();
+      recording.stop();
+      recording.dump(file);
+      Assertions.assertEquals(new Success<>("db"),
+                              result);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      Assertions.assertEquals(1,
+                              events.size());
+      RecordedEvent event = events.getFirst();
+      Assertions.assertEquals("consequence",
+                              event.getString("branch"));
+      Assertions.assertEquals("COMPLETED",
+                              event.getString("state"));
+      Assertions.assertTrue(event.getDuration()
+                                 .compareTo(Duration.ofMillis(300)) < 0,
+                            event.getDuration()
+                                 .toString());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void test_speculative_fails_if_predicate_fails() {
+    RuntimeException exc = new RuntimeException("boom");
+    Assertions.assertEquals(new Failure<String>(exc),
+                            IfElseExp.<String>predicate(IO.fail(exc))
+                                     .consequence(() -> IO.succeed("a"))
+                                     .alternative(() -> IO.succeed("b"))
+                                     .speculative()
+                                     .compute());
+  }
+
 }
@@ -0,0 +1,98 @@
+package jio.api;
+
+import java.util.List;
+import jio.EventBuilder;
+import jio.IO;
+import jio.LatencyRegistry;
+import jio.LatencyRegistry.Snapshot;
+import jio.ListExp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyRegistryTest {
+
+  private static IO<Integer> delayed(final int value,
+                                     final int millis) {
+    return IO.task(() -> {
+      Thread.sleep(millis);
+      return value;
+    });
+  }
+
+  private static Snapshot find(final List<Snapshot> snapshots,
+                               final String expression) {
+    return snapshots.stream()
+                    .filter(s -> s.expression()
+                                  .equals(expression) && s.context()
+                                                          .equals("registry"))
+                    .findFirst()
+                    .orElseThrow();
+  }
+
+  @Test
+  public void test_latencies_are_recorded_per_expression() {
+    LatencyRegistry.INSTANCE.reset();
+    LatencyRegistry.INSTANCE.enable();
+    try {
+      var exp = ListExp.seq(delayed(1,
+                                    20),
+                            delayed(2,
+                                    5))
+                       .debugEach("registry");
+      for (int i = 0; i < 10; i++) {
+        Assertions.assertTrue(exp.call()
+                                 .isSuccess());
+      }
+      var failing = IO.<Integer>fail(new IllegalStateException())
+                      .debug(EventBuilder.of("failing",
+                                             "registry"));
+      Assertions.assertTrue(failing.call()
+                                   .isFailure());
+
+      var snapshots = LatencyRegistry.INSTANCE.snapshot();
+      Snapshot slow = find(snapshots,
+                           "ListExpSeq[0]");
+      Assertions.assertEquals(10,
+                              slow.successes());
+      Assertions.assertTrue(slow.p50()
+                                .toMillis() >= 18);
+      Assertions.assertTrue(slow.p50()
+                                .compareTo(slow.p99()) <= 0 && slow.p99()
+                                                                   .compareTo(slow.p999()) <= 0);
+      Snapshot fast = find(snapshots,
+                           "ListExpSeq[1]");
+      Assertions.assertTrue(fast.p50()
+                                .compareTo(slow.p50()) < 0);
+      Snapshot root = find(snapshots,
+                           "ListExpSeq");
+      Assertions.assertTrue(root.mean()
+                                .toMillis() >= 25);
+      Snapshot failures = find(snapshots,
+                               "failing");
+      Assertions.assertEquals(1,
+                              failures.failures());
+      Assertions.assertEquals(0,
+                              failures.successes());
+
+      Assertions.assertFalse(LatencyRegistry.INSTANCE.snapshotAndReset()
+                                                     .isEmpty());
+      Assertions.assertTrue(LatencyRegistry.INSTANCE.snapshot()
+                                                    .isEmpty());
+    } finally {
+      LatencyRegistry.INSTANCE.disable();
+      LatencyRegistry.INSTANCE.reset();
+    }
+  }
+
+  @Test
+  public void test_nothing_is_recorded_unless_enabled() {
+    LatencyRegistry.INSTANCE.reset();
+    Assertions.assertTrue(ListExp.seq(delayed(1,
+                                              0))
+                                 .debugEach("registry")
+                                 .call()
+                                 .isSuccess());
+    Assertions.assertTrue(LatencyRegistry.INSTANCE.snapshot()
+                                                  .isEmpty());
+  }
+}
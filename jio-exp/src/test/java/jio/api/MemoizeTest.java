@@ -0,0 +1,136 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.IO;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MemoizeTest {
+
+  @Test
+  public void test_memoize_computes_once_for_concurrent_callers() {
+    AtomicInteger calls = new AtomicInteger();
+    IO<Integer> token = IO.task(() -> {
+                            Thread.sleep(Duration.ofMillis(100));
+                            return calls.incrementAndGet();
+                          })
+                          .memoize();
+    Result<List<Integer>> result = ListExp.par(token,
+                                               token,
+                                               token,
+                                               token)
+                                          .call();
+    Assertions.assertEquals(new Success<>(List.of(1,
+                                                  1,
+                                                  1,
+                                                  1)),
+                            result);
+    Assertions.assertEquals(new Success<>(1),
+                            token.call());
+    Assertions.assertEquals(1,
+                            calls.get());
+  }
+
+  @Test
+  public void test_memoize_failures() {
+    AtomicInteger calls = new AtomicInteger();
+    RuntimeException exc = new RuntimeException("boom");
+    IO<Integer> effect = IO.task(() -> {
+      if (calls.incrementAndGet() == 1) {
+        throw exc;
+      }
+      return calls.get();
+    });
+
+    IO<Integer> cachingFailures = effect.memoize();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            cachingFailures.call());
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            cachingFailures.call());
+
+    calls.set(0);
+    IO<Integer> notCachingFailures = effect.memoize(false);
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            notCachingFailures.call());
+    Assertions.assertEquals(new Success<>(2),
+                            notCachingFailures.call());
+    Assertions.assertEquals(new Success<>(2),
+                            notCachingFailures.call());
+  }
+
+  @Test
+  public void test_cached_refreshes_after_ttl() throws InterruptedException {
+    AtomicInteger calls = new AtomicInteger();
+    IO<Integer> cached = IO.lazy(calls::incrementAndGet)
+                           .cached(Duration.ofMillis(100));
+    Assertions.assertEquals(new Success<>(1),
+                            cached.call());
+    Assertions.assertEquals(new Success<>(1),
+                            cached.call());
+    Thread.sleep(Duration.ofMillis(150));
+    Assertions.assertEquals(new Success<>(2),
+                            cached.call());
+  }
+
+  @Test
+  public void test_cancelled_leader_is_not_cached() {
+    AtomicInteger calls = new AtomicInteger();
+    IO<Integer> slow = IO.task(() -> {
+                           Thread.sleep(Duration.ofMillis(200));
+                           return calls.incrementAndGet();
+                         })
+                         .memoize();
+    Result<List<Integer>> result = ListExp.par(slow,
+                                               IO.fail(new IllegalStateException("boom")))
+                                          .call();
+    Assertions.assertInstanceOf(IllegalStateException.class,
+                                ((Failure<?>) result).exception());
+    Assertions.assertEquals(new Success<>(1),
+                            slow.call());
+    Assertions.assertEquals(new Success<>(1),
+                            slow.call());
+  }
+
+  @Test
+  public void test_error_doesnt_block_waiting_callers() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    IO<Integer> memo = IO.task(() -> {
+                           Thread.sleep(Duration.ofMillis(100));
+                           if (calls.incrementAndGet() == 1) {
+                             throw new AssertionError("boom");
+                           }
+                           return calls.get();
+                         })
+                         .memoize();
+    AtomicReference<Throwable> leaderError = new AtomicReference<>();
+    Thread leader = Thread.startVirtualThread(() -> {
+      try {
+        memo.call();
+      } catch (AssertionError e) {
+        leaderError.set(e);
+      }
+    });
+    Thread.sleep(Duration.ofMillis(20));
+    var follower = CompletableFuture.supplyAsync(memo::call);
+    var exc = Assertions.assertThrows(ExecutionException.class,
+                                      () -> follower.get(2,
+                                                         TimeUnit.SECONDS));
+    leader.join();
+    Assertions.assertInstanceOf(AssertionError.class,
+                                leaderError.get());
+    Assertions.assertInstanceOf(AssertionError.class,
+                                exc.getCause());
+    Assertions.assertEquals(new Success<>(2),
+                            memo.call());
+  }
+}
@@ -0,0 +1,167 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.IO;
+import jio.Lambda;
+import jio.ListExp;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MicroBatchTest {
+
+  private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+  private final Lambda<List<Integer>, List<String>> bulk = inputs -> IO.lazy(() -> {
+    batches.add(inputs);
+    return inputs.stream()
+                 .map(i -> "output-" + i)
+                 .toList();
+  });
+
+  private static List<IO<String>> calls(final Lambda<Integer, String> lambda,
+                                        final int n) {
+    List<IO<String>> calls = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      calls.add(lambda.apply(i));
+    }
+    return calls;
+  }
+
+  @Test
+  public void test_every_caller_gets_its_own_slot() {
+    Lambda<Integer, String> lambda = Lambda.microBatched(10,
+                                                         Duration.ofMillis(20),
+                                                         bulk);
+    Assertions.assertEquals(new Success<>(IntStream.range(0,
+                                                          35)
+                                                   .mapToObj(i -> "output-" + i)
+                                                   .toList()),
+                            ListExp.par(calls(lambda,
+                                              35))
+                                   .call());
+    Assertions.assertEquals(35,
+                            batches.stream()
+                                   .mapToInt(List::size)
+                                   .sum());
+    Assertions.assertTrue(batches.stream()
+                                 .allMatch(batch -> batch.size() <= 10));
+    Assertions.assertTrue(batches.size() < 35);
+  }
+
+  @Test
+  public void test_partial_batches_are_flushed_after_the_delay() {
+    Lambda<Integer, String> lambda = Lambda.microBatched(100,
+                                                         Duration.ofMillis(20),
+                                                         bulk);
+    Assertions.assertEquals(new Success<>("output-7"),
+                            lambda.apply(7)
+                                  .call());
+    Assertions.assertEquals(List.of(List.of(7)),
+                            batches);
+  }
+
+  @Test
+  public void test_backpressure_bounds_pending_inputs() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    Lambda<Integer, String> lambda =
+        Lambda.microBatched(2,
+                            Duration.ofMillis(5),
+                            4,
+                            inputs -> IO.task(() -> {
+                              maxInFlight.accumulateAndGet(inFlight.addAndGet(inputs.size()),
+                                                           Math::max);
+                              Thread.sleep(20);
+                              inFlight.addAndGet(-inputs.size());
+                              return inputs.stream()
+                                           .map(String::valueOf)
+                                           .toList();
+                            }));
+    Assertions.assertInstanceOf(Success.class,
+                                ListExp.par(calls(lambda,
+                                                  30))
+                                       .call());
+    Assertions.assertTrue(maxInFlight.get() <= 4);
+  }
+
+  @Test
+  public void test_failures_are_propagated_and_recorded() throws Exception {
+    List<RecordedEvent> events;
+    try (var recorded = RecordedEvents.start("jio.exp.MicroBatch")) {
+      RuntimeException exc = new RuntimeException("boom");
+      Lambda<Integer, String> failing = Lambda.microBatched(3,
+                                                            Duration.ofMillis(10),
+                                                            _ -> IO.fail(exc));
+      Assertions.assertEquals(new Failure<>(exc),
+                              failing.apply(1)
+                                     .call());
+      Lambda<Integer, String> wrongSize = Lambda.microBatched(3,
+                                                              Duration.ofMillis(10),
+                                                              _ -> IO.succeed(List.of()));
+      Assertions.assertInstanceOf(IllegalStateException.class,
+                                  ((Failure<String>) wrongSize.apply(1)
+                                                              .call()).exception());
+      events = recorded.await(2);
+    }
+    Assertions.assertEquals(2,
+                            events.size());
+    Assertions.assertTrue(events.stream()
+                                .allMatch(e -> e.getString("result")
+                                                .equals("FAILURE")
+                                               && e.getString("trigger")
+                                                   .equals("TIME")
+                                               && e.getInt("size") == 1));
+  }
+
+  @Test
+  public void test_error_completes_the_batch_and_releases_its_permits() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    Lambda<Integer, String> lambda = Lambda.microBatched(2,
+                                                         Duration.ofMillis(20),
+                                                         2,
+                                                         inputs -> IO.lazy(() -> {
+                                                           if (calls.incrementAndGet() == 1) {
+                                                             throw new AssertionError("boom");
+                                                           }
+                                                           return inputs.stream()
+                                                                        .map(i -> "output-" + i)
+                                                                        .toList();
+                                                         }));
+    List<CompletableFuture<Object>> callers = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      int n = i;
+      callers.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return lambda.apply(n)
+                       .call();
+        } catch (AssertionError e) {
+          return e;
+        }
+      }));
+    }
+    for (CompletableFuture<Object> caller : callers) {
+      Object outcome = caller.get(2,
+                                  TimeUnit.SECONDS);
+      // the caller that flushed the batch gets the error, the other one a failure caused by it
+      Throwable error = outcome instanceof Failure<?>(ExecutionException e) ? e.getCause() : (Throwable) outcome;
+      Assertions.assertInstanceOf(AssertionError.class,
+                                  error);
+    }
+    Assertions.assertEquals(new Success<>("output-3"),
+                            CompletableFuture.supplyAsync(() -> lambda.apply(3)
+                                                                      .call())
+                                             .get(2,
+                                                  TimeUnit.SECONDS));
+  }
+}
@@ -0,0 +1,88 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.IO;
+import jio.ListExp;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NestedParTest {
+
+  private static IO<Integer> delayed(final int value,
+                                     final int millis,
+                                     final AtomicInteger completed) {
+    return IO.task(() -> {
+      Thread.sleep(millis);
+      completed.incrementAndGet();
+      return value;
+    });
+  }
+
+  @Test
+  public void test_nested_results_are_assembled_in_order() {
+    AtomicInteger completed = new AtomicInteger();
+    var exp = ListExp.par(ListExp.par(delayed(1,
+                                              30,
+                                              completed),
+                                      delayed(2,
+                                              10,
+                                              completed)),
+                          ListExp.par(delayed(3,
+                                              20,
+                                              completed)),
+                          ListExp.seq(delayed(4,
+                                              0,
+                                              completed),
+                                      delayed(5,
+                                              0,
+                                              completed)));
+    Assertions.assertEquals(new Success<>(List.of(List.of(1, 2),
+                                                  List.of(3),
+                                                  List.of(4, 5))),
+                            exp.call());
+    Assertions.assertEquals(5,
+                            completed.get());
+  }
+
+  @Test
+  public void test_failure_of_a_nested_leaf_cancels_the_whole_tree() throws Exception {
+    AtomicInteger completed = new AtomicInteger();
+    var exp = ListExp.par(ListExp.par(delayed(1,
+                                              10,
+                                              completed).then(_ -> IO.fail(new IllegalStateException()))),
+                          ListExp.par(ListExp.par(delayed(2,
+                                                          500,
+                                                          completed),
+                                                  delayed(3,
+                                                          500,
+                                                          completed))));
+    long start = System.nanoTime();
+    var result = exp.call();
+    Assertions.assertInstanceOf(IllegalStateException.class,
+                                ((Failure<?>) result).exception());
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .toMillis() < 400);
+    Thread.sleep(600);
+    Assertions.assertEquals(1,
+                            completed.get());
+  }
+
+  @Test
+  public void test_nested_timeout_is_honored() {
+    AtomicInteger completed = new AtomicInteger();
+    var exp = ListExp.par(ListExp.par(delayed(1,
+                                              0,
+                                              completed)),
+                          ListExp.par(delayed(2,
+                                              1000,
+                                              completed))
+                                 .timeout(Duration.ofMillis(50)));
+    Assertions.assertInstanceOf(TimeoutException.class,
+                                ((Failure<?>) exp.call()).exception());
+  }
+}
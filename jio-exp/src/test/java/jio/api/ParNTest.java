@@ -0,0 +1,111 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import jio.IO;
+import jio.JsArrayExp;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParNTest {
+
+  private static IO<Integer> tracked(final int value,
+                                     final AtomicInteger inFlight,
+                                     final AtomicInteger maxInFlight) {
+    return IO.task(() -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(),
+                                   Math::max);
+      try {
+        Thread.sleep(Duration.ofMillis(5));
+        return value;
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  @Test
+  public void test_list_par_n_caps_in_flight_effects_and_keeps_order() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    Result<List<Integer>> result = IntStream.range(0,
+                                                   200)
+                                            .mapToObj(i -> tracked(i,
+                                                                   inFlight,
+                                                                   maxInFlight))
+                                            .collect(ListExp.parNCollector(8))
+                                            .call();
+    Assertions.assertEquals(new Success<>(IntStream.range(0,
+                                                          200)
+                                                   .boxed()
+                                                   .toList()),
+                            result);
+    Assertions.assertTrue(maxInFlight.get() <= 8);
+    Assertions.assertTrue(maxInFlight.get() > 1);
+  }
+
+  @Test
+  public void test_list_par_n_fails_fast() {
+    AtomicInteger started = new AtomicInteger();
+    RuntimeException exc = new RuntimeException("boom");
+    IO<Integer> failure = IO.fail(exc);
+    IO<Integer> slow = IO.task(() -> {
+      started.incrementAndGet();
+      Thread.sleep(Duration.ofSeconds(10));
+      return 1;
+    });
+    List<IO<Integer>> effects = new ArrayList<>();
+    effects.add(slow);
+    effects.add(failure);
+    for (int i = 0; i < 100; i++) {
+      effects.add(slow);
+    }
+    long start = System.nanoTime();
+    Result<List<Integer>> result = ListExp.parN(2,
+                                                effects)
+                                          .call();
+    Assertions.assertEquals(new Failure<List<Integer>>(exc),
+                            result);
+    Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                                  .compareTo(Duration.ofSeconds(5)) < 0);
+    Assertions.assertTrue(started.get() < 100);
+  }
+
+  @Test
+  public void test_json_array_par_n() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<IO<JsValue>> effects = IntStream.range(0,
+                                                50)
+                                         .mapToObj(i -> tracked(i,
+                                                                inFlight,
+                                                                maxInFlight).<JsValue>map(JsInt::of))
+                                         .toList();
+    Result<JsArray> result = JsArrayExp.parN(4,
+                                             effects)
+                                       .call();
+    Assertions.assertEquals(new Success<>(JsArray.ofIterable(IntStream.range(0,
+                                                                             50)
+                                                                      .<JsValue>mapToObj(JsInt::of)
+                                                                      .toList())),
+                            result);
+    Assertions.assertTrue(maxInFlight.get() <= 4);
+  }
+
+  @Test
+  public void test_max_concurrency_must_be_positive() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> ListExp.parN(0,
+                                               IO.succeed(1)));
+  }
+}
@@ -0,0 +1,139 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import jio.IO;
+import jio.ListExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParUnorderedTest {
+
+  private static IO<Integer> delayed(final int value,
+                                     final int millis) {
+    return IO.task(() -> {
+      Thread.sleep(millis);
+      return value;
+    });
+  }
+
+  @Test
+  public void test_results_are_emitted_in_completion_order() {
+    ListExp<Integer> exp = ListExp.par(delayed(1,
+                                               300),
+                                       delayed(2,
+                                               10),
+                                       delayed(3,
+                                               150));
+    Assertions.assertEquals(new Success<>(List.of(2, 3, 1)),
+                            exp.parUnorderedFailFast()
+                               .toList()
+                               .call());
+    Assertions.assertEquals(new Success<>(List.of(1, 2, 3)),
+                            exp.call());
+  }
+
+  @Test
+  public void test_failures_are_emitted_without_cancelling_siblings() {
+    AtomicInteger completed = new AtomicInteger();
+    ListExp<Integer> exp = ListExp.par(IO.fail(new IllegalStateException()),
+                                       delayed(1,
+                                               100).peekSuccess(_ -> completed.incrementAndGet()),
+                                       delayed(2,
+                                               50).peekSuccess(_ -> completed.incrementAndGet()));
+    List<Result<Integer>> results = exp.parUnordered()
+                                       .toList()
+                                       .call()
+                                       .getOutput();
+    Assertions.assertInstanceOf(Failure.class,
+                                results.getFirst());
+    Assertions.assertEquals(List.of(new Success<>(2),
+                                    new Success<>(1)),
+                            results.subList(1,
+                                            3));
+    Assertions.assertEquals(2,
+                            completed.get());
+  }
+
+  @Test
+  public void test_fail_fast_cancels_siblings() throws Exception {
+    AtomicInteger completed = new AtomicInteger();
+    ListExp<Integer> exp = ListExp.par(delayed(1,
+                                               10).then(_ -> IO.fail(new IllegalStateException())),
+                                       delayed(2,
+                                               300).peekSuccess(_ -> completed.incrementAndGet()));
+    Assertions.assertInstanceOf(Failure.class,
+                                exp.parUnorderedFailFast()
+                                   .toList()
+                                   .call());
+    Thread.sleep(400);
+    Assertions.assertEquals(0,
+                            completed.get());
+  }
+
+  @Test
+  public void test_max_concurrency_and_timeout_are_honored() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<IO<Integer>> effects = IntStream.range(0,
+                                                12)
+                                         .mapToObj(i -> IO.task(() -> {
+                                           maxInFlight.accumulateAndGet(inFlight.incrementAndGet(),
+                                                                        Math::max);
+                                           try {
+                                             Thread.sleep(10);
+                                             return i;
+                                           } finally {
+                                             inFlight.decrementAndGet();
+                                           }
+                                         }))
+                                         .toList();
+    Assertions.assertEquals(new Success<>(12L),
+                            ListExp.parN(3,
+                                         effects)
+                                   .parUnorderedFailFast()
+                                   .count()
+                                   .call());
+    Assertions.assertTrue(maxInFlight.get() <= 3);
+
+    ListExp<Integer> slow = (ListExp<Integer>) ListExp.par(delayed(1,
+                                                                   1000))
+                                                      .timeout(Duration.ofMillis(50));
+    Result<List<Result<Integer>>> timedOut = slow.parUnordered()
+                                                 .toList()
+                                                 .call();
+    Assertions.assertInstanceOf(TimeoutException.class,
+                                ((Failure<?>) timedOut).exception());
+  }
+
+  @Test
+  public void test_errors_are_emitted_as_failures() throws Exception {
+    ListExp<Integer> exp = ListExp.par(IO.lazy(() -> {
+                                         throw new AssertionError("boom");
+                                       }),
+                                       delayed(1,
+                                               50));
+    List<Result<Integer>> results = CompletableFuture.supplyAsync(() -> exp.parUnordered()
+                                                                           .toList()
+                                                                           .call()
+                                                                           .getOutput())
+                                                     .get(2,
+                                                          TimeUnit.SECONDS);
+    Exception exception = ((Failure<Integer>) results.getFirst()).exception();
+    Assertions.assertInstanceOf(ExecutionException.class,
+                                exception);
+    Assertions.assertInstanceOf(AssertionError.class,
+                                exception.getCause());
+    Assertions.assertEquals(new Success<>(1),
+                            results.get(1));
+  }
+}
@@ -0,0 +1,102 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.IO;
+import jio.ListExp;
+import jio.RateLimiter;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jio.RetryPolicies;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+
+  @Test
+  public void test_burst_is_permitted_and_excess_is_rejected() {
+    RateLimiter limiter = RateLimiter.of(10,
+                                         Duration.ofSeconds(1))
+                                     .withBurst(3);
+    IO<String> call = IO.succeed("ok")
+                        .rateLimited(limiter);
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertEquals(new Success<>("ok"),
+                              call.call());
+    }
+    Assertions.assertInstanceOf(RejectedExecutionException.class,
+                                ((Failure<String>) call.call()).exception());
+  }
+
+  @Test
+  public void test_calls_wait_for_their_permit() {
+    RateLimiter limiter = RateLimiter.of(100,
+                                         Duration.ofSeconds(1))
+                                     .withMaxWaitTime(Duration.ofSeconds(1));
+    List<IO<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      calls.add(IO.succeed(i)
+                  .rateLimited(limiter));
+    }
+    long start = System.nanoTime();
+    Assertions.assertInstanceOf(Success.class,
+                                ListExp.par(calls)
+                                       .call());
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    Assertions.assertTrue(elapsed.compareTo(Duration.ofMillis(180)) >= 0,
+                          elapsed.toString());
+  }
+
+  @Test
+  public void test_every_retry_takes_a_permit() {
+    RateLimiter limiter = RateLimiter.of(1,
+                                         Duration.ofMinutes(1))
+                                     .withBurst(2);
+    AtomicInteger attempts = new AtomicInteger();
+    IO<String> failing = IO.<String>lazy(() -> {
+                             attempts.incrementAndGet();
+                             throw new IllegalStateException();
+                           })
+                           .rateLimited(limiter)
+                           .retry(e -> e instanceof IllegalStateException,
+                                  RetryPolicies.limitRetries(5));
+    Assertions.assertInstanceOf(RejectedExecutionException.class,
+                                ((Failure<String>) failing.call()).exception());
+    Assertions.assertEquals(2,
+                            attempts.get());
+  }
+
+  @Test
+  public void test_rejections_are_recorded_unless_disabled() throws Exception {
+    List<RecordedEvent> events;
+    try (var recorded = RecordedEvents.start("jio.exp.CallRejected")) {
+      RateLimiter labeled = RateLimiter.of(1,
+                                           Duration.ofMinutes(1))
+                                       .withEventLabel("recorded");
+      RateLimiter silent = RateLimiter.of(1,
+                                          Duration.ofMinutes(1))
+                                      .withoutRecordedEvents();
+      for (int i = 0; i < 3; i++) {
+        IO.succeed(i)
+          .rateLimited(labeled)
+          .call();
+        IO.succeed(i)
+          .rateLimited(silent)
+          .call();
+      }
+      events = recorded.await(2);
+    }
+    Assertions.assertEquals(2,
+                            events.size());
+    for (RecordedEvent event : events) {
+      Assertions.assertEquals("recorded",
+                              event.getString("label"));
+      Assertions.assertEquals("RATE_LIMITER",
+                              event.getString("limiter"));
+    }
+  }
+}
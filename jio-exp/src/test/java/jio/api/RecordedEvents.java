@@ -0,0 +1,87 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Collects the JFR events of a type for a test. The stream doesn't reuse the event objects, so they can be read after
+ * they are delivered, and {@link #start(String)} only returns once the stream is delivering events, so the events of
+ * the code under test can't be missed. Events are delivered when the recording is flushed (about every second), so the
+ * test waits for the expected ones with {@link #await(int)} instead of sleeping.
+ */
+final class RecordedEvents implements AutoCloseable {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final String STREAM_STARTED = "jio.api.StreamStarted";
+
+  private final RecordingStream stream = new RecordingStream();
+  private final List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+
+  private RecordedEvents() {
+  }
+
+  /**
+   * Starts a stream that collects the events with the given name, and waits until it delivers events.
+   *
+   * @param eventName the name of the events
+   * @return the started collector
+   */
+  static RecordedEvents start(final String eventName) throws InterruptedException {
+    var recorded = new RecordedEvents();
+    var started = new CountDownLatch(1);
+    RecordingStream stream = recorded.stream;
+    stream.setReuse(false);
+    stream.enable(eventName);
+    stream.onEvent(eventName,
+                   recorded.events::add);
+    stream.enable(StreamStarted.class);
+    stream.onEvent(STREAM_STARTED,
+                   _ -> started.countDown());
+    stream.startAsync();
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    // the markers committed before the recording starts are lost, so commit them until one is delivered
+    do {
+      new StreamStarted().commit();
+    } while (!started.await(100,
+                            TimeUnit.MILLISECONDS) && System.nanoTime() < deadline);
+    if (started.getCount() > 0) {
+      recorded.close();
+      Assertions.fail("the recording stream didn't start");
+    }
+    return recorded;
+  }
+
+  /**
+   * Waits until at least the given number of events have been delivered.
+   *
+   * @param count the number of events to wait for
+   * @return the events delivered so far
+   */
+  List<RecordedEvent> await(final int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (events.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    return List.copyOf(events);
+  }
+
+  @Override
+  public void close() {
+    stream.close();
+  }
+
+  @Name(STREAM_STARTED)
+  @StackTrace(false)
+  static final class StreamStarted extends Event {
+
+  }
+}
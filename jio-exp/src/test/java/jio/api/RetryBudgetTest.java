@@ -0,0 +1,131 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.IO;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jio.RetryBudget;
+import jio.RetryPolicies;
+import jio.RetryPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RetryBudgetTest {
+
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  private final IO<String> failing = IO.lazy(() -> {
+    attempts.incrementAndGet();
+    throw new IllegalStateException("down");
+  });
+
+  @Test
+  public void test_retries_are_limited_by_the_budget() throws Exception {
+    List<RecordedEvent> events;
+    try (var recorded = RecordedEvents.start("jio.exp.RetryDenied")) {
+      RetryBudget budget = RetryBudget.of(0.1,
+                                          Duration.ofSeconds(10))
+                                      .withMinRetriesPerSecond(0)
+                                      .withEventLabel("test-budget");
+      RetryPolicy policy = RetryPolicies.limitRetries(3)
+                                        .withBudget(budget);
+      for (int i = 0; i < 20; i++) {
+        Assertions.assertEquals(new Success<>(i),
+                                IO.succeed(i)
+                                  .retry(policy)
+                                  .call());
+      }
+      Assertions.assertEquals(2,
+                              budget.availableRetries());
+      Assertions.assertInstanceOf(Failure.class,
+                                  failing.retry(policy)
+                                         .call());
+      Assertions.assertEquals(3,
+                              attempts.get(),
+                              "two retries permitted by 20 successes");
+      events = recorded.await(1);
+    }
+    Assertions.assertEquals(1,
+                            events.size());
+    Assertions.assertEquals("test-budget",
+                            events.getFirst()
+                                  .getString("label"));
+    Assertions.assertEquals(3,
+                            events.getFirst()
+                                  .getInt("attempt"));
+  }
+
+  @Test
+  public void test_min_retries_per_second() {
+    RetryBudget budget = RetryBudget.of(0.1,
+                                        Duration.ofSeconds(2))
+                                    .withMinRetriesPerSecond(2)
+                                    .withoutRecordedEvents();
+    Assertions.assertInstanceOf(Failure.class,
+                                failing.retry(RetryPolicies.limitRetries(10)
+                                                           .withBudget(budget))
+                                       .call());
+    Assertions.assertEquals(5,
+                            attempts.get());
+  }
+
+  @Test
+  public void test_concurrent_failures_dont_overshoot_the_budget() throws Exception {
+    RetryBudget budget = RetryBudget.of(0.1,
+                                        Duration.ofSeconds(10))
+                                    .withMinRetriesPerSecond(0)
+                                    .withoutRecordedEvents();
+    RetryPolicy policy = RetryPolicies.limitRetries(1)
+                                      .withBudget(budget);
+    for (int i = 0; i < 100; i++) {
+      IO.succeed(i)
+        .retry(policy)
+        .call();
+    }
+    int callers = 500;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>(callers);
+    for (int i = 0; i < callers; i++) {
+      threads.add(Thread.startVirtualThread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        failing.retry(policy)
+               .call();
+      }));
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    int granted = attempts.get() - callers;
+    Assertions.assertTrue(granted > 0 && granted <= 10,
+                          "granted " + granted + " retries");
+  }
+
+  @Test
+  public void test_successes_are_recorded_whatever_the_order_of_the_combinators() {
+    RetryBudget budget = RetryBudget.of(0.1,
+                                        Duration.ofSeconds(10))
+                                    .withMinRetriesPerSecond(0)
+                                    .withoutRecordedEvents();
+    RetryPolicy policy = RetryPolicies.constantDelay(Duration.ofMillis(1))
+                                      .withBudget(budget)
+                                      .capDelay(Duration.ofMillis(1))
+                                      .append(RetryPolicies.limitRetries(3));
+    for (int i = 0; i < 20; i++) {
+      IO.succeed(i)
+        .retry(policy)
+        .call();
+    }
+    Assertions.assertEquals(2,
+                            budget.availableRetries());
+  }
+}
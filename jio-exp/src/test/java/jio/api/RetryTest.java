@@ -0,0 +1,104 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jio.IO;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jio.RetryPolicies;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RetryTest {
+
+  @Test
+  public void test_many_retries_dont_grow_the_stack() {
+    int retries = 100_000;
+    AtomicInteger calls = new AtomicInteger();
+    IllegalStateException exc = new IllegalStateException("always fails");
+    Result<Integer> result = IO.<Integer>task(() -> {
+                                 calls.incrementAndGet();
+                                 throw exc;
+                               })
+                               .retry(RetryPolicies.limitRetries(retries))
+                               .call();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            result);
+    Assertions.assertEquals(retries + 1,
+                            calls.get());
+  }
+
+  @Test
+  public void test_many_repetitions_dont_grow_the_stack() {
+    int repetitions = 100_000;
+    AtomicInteger calls = new AtomicInteger();
+    Result<Integer> result = IO.lazy(calls::incrementAndGet)
+                               .repeat(_ -> true,
+                                       RetryPolicies.limitRetries(repetitions))
+                               .call();
+    Assertions.assertEquals(new Success<>(repetitions + 1),
+                            result);
+  }
+
+  @Test
+  public void test_retry_listener() {
+    List<String> attempts = new ArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    Result<Integer> result = IO.task(() -> {
+                                 if (calls.incrementAndGet() < 3) {
+                                   throw new IllegalStateException("attempt " + calls.get());
+                                 }
+                                 return calls.get();
+                               })
+                               .retry(_ -> true,
+                                      RetryPolicies.constantDelay(Duration.ofMillis(5))
+                                                   .append(RetryPolicies.limitRetries(5)),
+                                      (attempt, delay, cause) -> attempts.add("%d:%d:%s".formatted(attempt,
+                                                                                                   delay.toMillis(),
+                                                                                                   cause.getMessage())))
+                               .call();
+    Assertions.assertEquals(new Success<>(3),
+                            result);
+    Assertions.assertEquals(List.of("1:5:attempt 1",
+                                    "2:5:attempt 2"),
+                            attempts);
+  }
+
+  @Test
+  public void test_retry_predicate_and_policy_limits() {
+    AtomicInteger calls = new AtomicInteger();
+    IllegalArgumentException exc = new IllegalArgumentException("not retryable");
+    Result<Integer> result = IO.<Integer>task(() -> {
+                                 calls.incrementAndGet();
+                                 throw exc;
+                               })
+                               .retry(e -> e instanceof IllegalStateException,
+                                      RetryPolicies.limitRetries(3))
+                               .call();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            result);
+    Assertions.assertEquals(1,
+                            calls.get());
+  }
+
+  @Test
+  public void test_repeat_listener_has_no_cause() {
+    List<Throwable> causes = new ArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    Result<Integer> result = IO.lazy(calls::incrementAndGet)
+                               .repeat(n -> n < 3,
+                                       RetryPolicies.limitRetries(10),
+                                       (_, _, cause) -> causes.add(cause))
+                               .call();
+    Assertions.assertEquals(new Success<>(3),
+                            result);
+    Assertions.assertEquals(2,
+                            causes.size());
+    Assertions.assertTrue(causes.stream()
+                                .allMatch(it -> it == null));
+  }
+
+}
@@ -0,0 +1,82 @@
+package jio.api;
+
+import jio.IO;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StackSafetyTest {
+
+  static final int STEPS = 100_000;
+
+  static IO<Integer> countDown(int n) {
+    return n == 0 ? IO.succeed(0) : IO.succeed(n - 1)
+                                      .then(StackSafetyTest::countDown);
+  }
+
+  @Test
+  public void test_deep_then_chain() {
+    IO<Integer> io = IO.succeed(0);
+    for (int i = 0; i < STEPS; i++) {
+      io = io.then(n -> IO.succeed(n + 1));
+    }
+    Assertions.assertEquals(new Success<>(STEPS),
+                            io.call());
+  }
+
+  @Test
+  public void test_deep_map_chain() {
+    IO<Integer> io = IO.succeed(0);
+    for (int i = 0; i < STEPS; i++) {
+      io = io.map(n -> n + 1);
+    }
+    Assertions.assertEquals(new Success<>(STEPS),
+                            io.compute());
+  }
+
+  @Test
+  public void test_recursive_lambda() {
+    Assertions.assertEquals(new Success<>(0),
+                            countDown(STEPS).call());
+  }
+
+  @Test
+  public void test_deep_recover_chain() {
+    IllegalStateException exc = new IllegalStateException("boom");
+    IO<Integer> io = IO.fail(exc);
+    for (int i = 0; i < STEPS; i++) {
+      io = io.mapFailure(e -> e)
+             .recover(_ -> -1)
+             .then(_ -> IO.fail(exc));
+    }
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            io.call());
+    Assertions.assertEquals(new Success<>(1),
+                            io.recover(_ -> 1)
+                              .call());
+  }
+
+  @Test
+  public void test_failures_in_functions_are_captured() {
+    RuntimeException exc = new RuntimeException("fn failed");
+    Result<Integer> mapped = IO.succeed(1)
+                               .map(_ -> {
+                                 throw exc;
+                               })
+                               .map(n -> (Integer) n + 1)
+                               .call();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            mapped);
+
+    Result<Integer> then = IO.succeed(1)
+                             .<Integer>then(_ -> {
+                               throw exc;
+                             })
+                             .call();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            then);
+  }
+
+}
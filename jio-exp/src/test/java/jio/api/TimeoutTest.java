@@ -0,0 +1,170 @@
+package jio.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import jio.IO;
+import jio.JsObjExp;
+import jio.ListExp;
+import jio.PairExp;
+import jio.Result;
+import jio.Result.Failure;
+import jio.Result.Success;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TimeoutTest {
+
+  private static IO<Integer> sleep(final Duration duration,
+                                   final int value,
+                                   final CountDownLatch interrupted) {
+    return IO.task(() -> {
+      try {
+        Thread.sleep(duration);
+        return value;
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+    });
+  }
+
+  @Test
+  public void test_timeout_interrupts_the_computation() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Result<Integer> result = sleep(Duration.ofSeconds(10),
+                                   1,
+                                   interrupted)
+        .timeout(Duration.ofMillis(50))
+        .call();
+    Assertions.assertInstanceOf(TimeoutException.class,
+                                ((Failure<Integer>) result).exception());
+    Assertions.assertTrue(interrupted.await(1,
+                                            TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void test_timeout_not_reached() {
+    Assertions.assertEquals(new Success<>(1),
+                            IO.succeed(1)
+                              .timeout(Duration.ofSeconds(1))
+                              .call());
+  }
+
+  @Test
+  public void test_timeout_with_fallback() {
+    Result<Integer> result = sleep(Duration.ofSeconds(10),
+                                   1,
+                                   new CountDownLatch(1))
+        .timeout(Duration.ofMillis(50),
+                 () -> IO.succeed(2))
+        .call();
+    Assertions.assertEquals(new Success<>(2),
+                            result);
+  }
+
+  @Test
+  public void test_fallback_not_used_for_other_failures() {
+    RuntimeException exc = new RuntimeException("boom");
+    Result<Integer> result = IO.<Integer>fail(exc)
+                               .timeout(Duration.ofSeconds(1),
+                                        () -> IO.succeed(2))
+                               .call();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            result);
+  }
+
+  @Test
+  public void test_fallback_not_used_for_timeouts_of_the_effect() {
+    TimeoutException exc = new TimeoutException("downstream deadline");
+    Result<Integer> result = IO.<Integer>fail(exc)
+                               .timeout(Duration.ofSeconds(1),
+                                        () -> IO.succeed(2))
+                               .call();
+    Assertions.assertEquals(new Failure<Integer>(exc),
+                            result);
+  }
+
+  @Test
+  public void test_interrupted_caller_keeps_its_interrupt_status() {
+    Thread.currentThread()
+          .interrupt();
+    Result<Integer> result = sleep(Duration.ofSeconds(10),
+                                   1,
+                                   new CountDownLatch(1))
+        .timeout(Duration.ofSeconds(1))
+        .call();
+    // clears the flag so it doesn't leak into other tests
+    Assertions.assertTrue(Thread.interrupted());
+    Assertions.assertInstanceOf(InterruptedException.class,
+                                ((Failure<Integer>) result).exception());
+  }
+
+  @Test
+  public void test_par_exp_timeout_cancels_running_branches() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(2);
+    Result<List<Integer>> result =
+        ListExp.par(IO.succeed(1),
+                    sleep(Duration.ofSeconds(10),
+                          2,
+                          interrupted),
+                    sleep(Duration.ofSeconds(10),
+                          3,
+                          interrupted))
+               .timeout(Duration.ofMillis(50))
+               .call();
+    Assertions.assertInstanceOf(TimeoutException.class,
+                                ((Failure<List<Integer>>) result).exception());
+    Assertions.assertTrue(interrupted.await(1,
+                                            TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void test_seq_exp_timeout_keeps_the_expression_type() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    ListExp<Integer> exp = ListExp.seq(IO.succeed(1),
+                                       sleep(Duration.ofSeconds(10),
+                                             2,
+                                             interrupted))
+                                  .timeout(Duration.ofMillis(50));
+    Assertions.assertInstanceOf(TimeoutException.class,
+                                ((Failure<List<Integer>>) exp.call()).exception());
+    Assertions.assertTrue(interrupted.await(1,
+                                            TimeUnit.SECONDS));
+    Assertions.assertEquals(new Success<>(List.of(1,
+                                                  2)),
+                            ListExp.seq(IO.succeed(1),
+                                        IO.succeed(2))
+                                   .timeout(Duration.ofSeconds(1))
+                                   .call());
+  }
+
+  @Test
+  public void test_pair_and_obj_timeout() {
+    CountDownLatch interrupted = new CountDownLatch(2);
+    Assertions.assertInstanceOf(Failure.class,
+                                PairExp.par(IO.succeed(1),
+                                            sleep(Duration.ofSeconds(10),
+                                                  2,
+                                                  interrupted))
+                                       .timeout(Duration.ofMillis(50))
+                                       .call());
+    Assertions.assertInstanceOf(Failure.class,
+                                JsObjExp.par("a",
+                                             sleep(Duration.ofSeconds(10),
+                                                   2,
+                                                   interrupted).map(JsInt::of))
+                                        .timeout(Duration.ofMillis(50))
+                                        .call());
+    Assertions.assertEquals(new Success<>(JsObj.of("a",
+                                                   JsInt.of(1))),
+                            JsObjExp.par("a",
+                                         IO.succeed(JsInt.of(1)))
+                                    .timeout(Duration.ofSeconds(1))
+                                    .call());
+  }
+}
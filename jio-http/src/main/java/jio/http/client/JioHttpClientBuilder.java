@@ -6,6 +6,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import jio.RetryBudget;
 import jio.RetryPolicy;
 
 /**
@@ -23,6 +24,7 @@ public final class JioHttpClientBuilder implements Supplier<JioHttpClient> {
   private final HttpClient.Builder client;
   private Predicate<Throwable> reqRetryPredicate;
   private RetryPolicy reqRetryPolicy;
+  private RetryBudget reqRetryBudget;
   private boolean recordEvents = true;
 
   private JioHttpClientBuilder(HttpClient.Builder builder) {
@@ -64,6 +66,21 @@ public final class JioHttpClientBuilder implements Supplier<JioHttpClient> {
     return this;
   }
 
+  /**
+   * Sets a retry budget shared by the requests sent by this HTTP client (and any other effect retried with the same
+   * budget). The retries of the policy specified with {@link #withRetryPolicy(RetryPolicy)} are only made if the budget
+   * has room for them, which prevents every in-flight request from retrying when the server is struggling. It has no
+   * effect if no retry policy is specified.
+   *
+   * @param reqRetryBudget The retry budget that limits the retries of the requests.
+   * @return This builder with the specified retry budget.
+   * @see RetryPolicy#withBudget(RetryBudget)
+   */
+  public JioHttpClientBuilder withRetryBudget(RetryBudget reqRetryBudget) {
+    this.reqRetryBudget = Objects.requireNonNull(reqRetryBudget);
+    return this;
+  }
+
   /**
    * Sets a predicate that takes an exception and returns true if the retry policy specified with
    * {@link #withRetryPolicy(RetryPolicy)} should be applied. This predicate allows you to selectively apply the retry
@@ -99,7 +116,8 @@ public final class JioHttpClientBuilder implements Supplier<JioHttpClient> {
   @Override
   public JioHttpClient get() {
     return new JioHttpClientImpl(client,
-                                 reqRetryPolicy,
+                                 reqRetryPolicy != null && reqRetryBudget != null ?
+                                 reqRetryPolicy.withBudget(reqRetryBudget) : reqRetryPolicy,
                                  reqRetryPredicate,
                                  recordEvents
     );
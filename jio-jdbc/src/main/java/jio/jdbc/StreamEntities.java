@@ -0,0 +1,220 @@
+package jio.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import jio.ExceptionFun;
+import jio.IOStream;
+
+/**
+ * A class representing a query statement in a relational database using JDBC whose rows are read incrementally, as an
+ * {@link IOStream}, instead of being collected in a list. Only the rows fetched by the driver (see the fetch size) are
+ * held in memory at a time. The statement and the result-set are closed once the stream completes, fails or stops
+ * early. The operation, by default, creates a Java Flight Recorder (JFR) event when the stream is closed, with the
+ * number of rows read.
+ *
+ * @param <Filter> The type of the input object for setting parameters in the SQL.
+ * @param <Entity> The type of the output object, mapped from every row of the ResultSet.
+ * @see FindEntities for queries whose result is collected in a list
+ */
+final class StreamEntities<Filter, Entity> {
+
+  /**
+   * Represents the maximum time in seconds that the SQL execution should wait.
+   */
+  final Duration timeout;
+
+  /**
+   * The mapper of every row. It must not move the cursor of the result-set.
+   */
+  private final ResultSetMapper<Entity> mapper;
+  /**
+   * The SQL query statement.
+   */
+  private final String sql;
+  /**
+   * The parameter setter for binding parameters in the SQL.
+   */
+  private final ParamsSetter<Filter> setter;
+  /**
+   * The fetch size for the query results.
+   */
+  private final int fetchSize;
+  /**
+   * Flag indicating whether Java Flight Recorder (JFR) events should be enabled.
+   */
+  private final boolean enableJFR;
+  /**
+   * The label to identify the query statement in Java Flight Recording.
+   */
+  private final String label;
+
+  StreamEntities(Duration timeout,
+                 String sql,
+                 ParamsSetter<Filter> setter,
+                 ResultSetMapper<Entity> mapper,
+                 int fetchSize,
+                 boolean enableJFR,
+                 String label) {
+    this.timeout = timeout;
+    this.sql = sql;
+    this.mapper = mapper;
+    this.setter = setter;
+    this.fetchSize = fetchSize;
+    this.enableJFR = enableJFR;
+    this.label = label;
+  }
+
+  /**
+   * Returns a stream that, every time it's consumed, obtains a connection from the datasource, executes the query and
+   * reads the rows one by one, closing the connection once the stream completes.
+   *
+   * @param datasourceBuilder The {@code DatasourceBuilder} used to obtain the datasource and connections.
+   * @param params            The parameters of the query.
+   * @return a stream of entities
+   */
+  IOStream<Entity> streamAutoClosable(DatasourceBuilder datasourceBuilder,
+                                      Filter params) {
+    return IOStream.fromCursor(() -> {
+      var connection = datasourceBuilder.get()
+                                        .getConnection();
+      try {
+        return open(params,
+                    connection,
+                    true);
+      } catch (Exception e) {
+        connection.close();
+        throw e;
+      }
+    });
+  }
+
+  /**
+   * Returns a stream that executes the query with the given connection, which is not closed once the stream completes.
+   * It's appropriate for transactions, and for drivers that only honor the fetch size when auto-commit is disabled.
+   *
+   * @param params     The parameters of the query.
+   * @param connection The JDBC connection.
+   * @return a stream of entities
+   */
+  IOStream<Entity> streamClosable(Filter params,
+                                  Connection connection) {
+    return IOStream.fromCursor(() -> open(params,
+                                          connection,
+                                          false));
+  }
+
+  private RowCursor open(final Filter params,
+                         final Connection connection,
+                         final boolean closeConnection) throws Exception {
+    EntitiesFoundEvent event = enableJFR ? new EntitiesFoundEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
+    var ps = connection.prepareStatement(sql);
+    try {
+      var unused = setter.apply(params)
+                         .apply(ps);
+      ps.setQueryTimeout((int) timeout.toSeconds());
+      ps.setFetchSize(fetchSize);
+      return new RowCursor(closeConnection ? connection : null,
+                           ps,
+                           ps.executeQuery(),
+                           event);
+    } catch (Exception e) {
+      ps.close();
+      if (event != null) {
+        commit(event,
+               0,
+               e);
+      }
+      throw e;
+    }
+  }
+
+  private void commit(final EntitiesFoundEvent event,
+                      final int rows,
+                      final Exception failure) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.label = label;
+      event.fetchSize = fetchSize;
+      event.rowsReturned = rows;
+      if (failure == null) {
+        event.result = EntitiesFoundEvent.RESULT.SUCCESS.name();
+      } else {
+        event.sql = sql;
+        event.result = EntitiesFoundEvent.RESULT.FAILURE.name();
+        event.exception = ExceptionFun.findUltimateCause(failure)
+                                      .toString();
+      }
+      event.commit();
+    }
+  }
+
+  private final class RowCursor implements IOStream.Cursor<Entity> {
+
+    private final Connection connection;
+    private final PreparedStatement ps;
+    private final ResultSet rs;
+    private final EntitiesFoundEvent event;
+    private boolean ready;
+    private boolean exhausted;
+    private int rows;
+    private Exception failure;
+
+    RowCursor(final Connection connection,
+              final PreparedStatement ps,
+              final ResultSet rs,
+              final EntitiesFoundEvent event) {
+      this.connection = connection;
+      this.ps = ps;
+      this.rs = rs;
+      this.event = event;
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+      if (!ready && !exhausted) {
+        try {
+          ready = rs.next();
+          exhausted = !ready;
+        } catch (Exception e) {
+          failure = e;
+          throw e;
+        }
+      }
+      return ready;
+    }
+
+    @Override
+    public Entity next() throws Exception {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      ready = false;
+      try {
+        Entity entity = mapper.apply(rs);
+        rows++;
+        return entity;
+      } catch (Exception e) {
+        failure = e;
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try (connection; ps; rs) {
+        if (event != null) {
+          commit(event,
+                 rows,
+                 failure);
+        }
+      }
+    }
+  }
+}
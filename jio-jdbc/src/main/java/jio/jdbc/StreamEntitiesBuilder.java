@@ -0,0 +1,150 @@
+package jio.jdbc;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import jio.IOStream;
+
+/**
+ * Builder class for creating JDBC query operations whose rows are read incrementally as an {@link IOStream}.
+ *
+ * <p>
+ * Unlike {@link FindEntitiesBuilder}, the mapper is applied to every row (it must not call {@code next} on the
+ * result-set, just collect the data from the columns), and the entities are pulled one by one by the stream, so the
+ * memory used doesn't depend on the number of rows but on the fetch size. The statement and the result-set are closed
+ * once the stream completes, fails or stops early.
+ * </p>
+ *
+ * @param <Filter> The type of input elements for the query operation.
+ * @param <Entity> The type of the entities mapped from every row.
+ */
+public final class StreamEntitiesBuilder<Filter, Entity> {
+
+  private static final int DEFAULT_FETCH_SIZE = 1000;
+  private final Duration timeout;
+
+  private final String sqlQuery;
+  private final ParamsSetter<Filter> setter;
+  private final ResultSetMapper<Entity> mapper;
+  private int fetchSize = DEFAULT_FETCH_SIZE;
+
+  private String label;
+  private boolean enableJFR = true;
+
+  private static final String SELECT_REGEX = "\\s*SELECT\\s+.*";
+  private static final Pattern PATTERN = Pattern.compile(SELECT_REGEX,
+                                                         Pattern.CASE_INSENSITIVE);
+
+  private StreamEntitiesBuilder(Duration timeout,
+                                String sqlQuery,
+                                ParamsSetter<Filter> setter,
+                                ResultSetMapper<Entity> mapper) {
+    this.timeout = Objects.requireNonNull(timeout);
+    this.sqlQuery = Objects.requireNonNull(sqlQuery);
+    if (!PATTERN.matcher(sqlQuery)
+                .matches()) {
+      throw new IllegalArgumentException("`sql` must match the pattern `%s`".formatted(SELECT_REGEX));
+    }
+    this.setter = Objects.requireNonNull(setter);
+    this.mapper = Objects.requireNonNull(mapper);
+  }
+
+  /**
+   * Creates a new instance of StreamEntitiesBuilder with the specified SQL query statement, parameter setter, and row
+   * mapper.
+   *
+   * @param <Filter> The type of input elements for the query operation.
+   * @param <Entity> The type of the entities mapped from every row.
+   * @param sqlQuery The SQL query statement for the query operation.
+   * @param setter   A function to set parameters on a {@link java.sql.PreparedStatement}.
+   * @param mapper   A function to map the current row of the result set to an entity.
+   * @param timeout  The time the driver will wait for a statement to execute
+   * @return A new instance of StreamEntitiesBuilder.
+   */
+  public static <Filter, Entity> StreamEntitiesBuilder<Filter, Entity> of(String sqlQuery,
+                                                                          ParamsSetter<Filter> setter,
+                                                                          ResultSetMapper<Entity> mapper,
+                                                                          Duration timeout) {
+    return new StreamEntitiesBuilder<>(timeout,
+                                       sqlQuery,
+                                       setter,
+                                       mapper);
+  }
+
+  /**
+   * Sets the fetch size for the JDBC query operation, which is the number of rows held in memory at a time.
+   *
+   * @param fetchSize The fetch size to be set. Must be greater than 0.
+   * @return This StreamEntitiesBuilder instance with the specified fetch size.
+   * @throws IllegalArgumentException If the fetch size is less than or equal to 0.
+   */
+  public StreamEntitiesBuilder<Filter, Entity> withFetchSize(int fetchSize) {
+    if (fetchSize <= 0) {
+      throw new IllegalArgumentException("fetchSize <= 0");
+    }
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  /**
+   * Sets a label for the Java Flight Recorder (JFR) event associated with this query.
+   *
+   * @param label The label to be assigned to the JFR event.
+   * @return This {@code StreamEntitiesBuilder} instance with the specified event label.
+   */
+  public StreamEntitiesBuilder<Filter, Entity> withEventLabel(String label) {
+    this.label = Objects.requireNonNull(label);
+    return this;
+  }
+
+  /**
+   * Disables the recording of Java Flight Recorder (JFR) events for the JDBC query execution.
+   *
+   * @return This StreamEntitiesBuilder instance with JFR event recording disabled.
+   */
+  public StreamEntitiesBuilder<Filter, Entity> withoutRecordedEvents() {
+    this.enableJFR = false;
+    return this;
+  }
+
+  /**
+   * Builds a function that returns the stream of entities of a query. Every time the stream is consumed, a connection
+   * is obtained from the datasource, and it's closed once the stream completes, which means that it cannot be used
+   * for transactions.
+   *
+   * @param datasourceBuilder The {@code DatasourceBuilder} used to obtain the datasource and connections.
+   * @return A function that returns the stream of entities of a query.
+   * @see StreamEntities#streamAutoClosable(DatasourceBuilder, Object)
+   */
+  public Function<Filter, IOStream<Entity>> buildAutoClosable(DatasourceBuilder datasourceBuilder) {
+    Objects.requireNonNull(datasourceBuilder);
+    var stm = build();
+    return params -> stm.streamAutoClosable(datasourceBuilder,
+                                            params);
+  }
+
+  /**
+   * Builds a function that returns the stream of entities of a query executed with the given connection, which is not
+   * closed once the stream completes. This method is appropriate for use during transactions, and for drivers like
+   * PostgreSQL's that only honor the fetch size when auto-commit is disabled.
+   *
+   * @return A function that returns the stream of entities of a query.
+   * @see StreamEntities#streamClosable(Object, Connection)
+   */
+  public BiFunction<Filter, Connection, IOStream<Entity>> buildClosable() {
+    return build()::streamClosable;
+  }
+
+  private StreamEntities<Filter, Entity> build() {
+    return new StreamEntities<>(timeout,
+                                sqlQuery,
+                                setter,
+                                mapper,
+                                fetchSize,
+                                enableJFR,
+                                label);
+  }
+}
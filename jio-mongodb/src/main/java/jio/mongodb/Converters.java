@@ -6,6 +6,7 @@ import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertManyResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.client.result.UpdateResult;
+import jio.IOStream;
 import jsonvalues.*;
 import jsonvalues.spec.JsSpecs;
 import mongovalues.JsValuesRegistry;
@@ -152,6 +153,21 @@ public final class Converters {
     return result;
   }
 
+  /**
+   * Converts a MongoDB {@link FindIterable} into a stream ({@link IOStream}) of JSON objects. Unlike
+   * {@link #toListOfJsObj(FindIterable)}, the documents are pulled from the database cursor in batches (see
+   * {@link FindBuilder#withBatchSize(int)}) as the stream is consumed, so the memory used doesn't depend on the number of
+   * documents. Every time the stream is consumed, the query is executed again, and the cursor is closed once the stream
+   * completes, fails or stops early.
+   *
+   * @param iterable the MongoDB FindIterable to be converted to a stream.
+   * @return a stream of the documents returned by the query.
+   */
+  public static IOStream<JsObj> toStream(final FindIterable<JsObj> iterable) {
+    requireNonNull(iterable);
+    return IOStream.fromIterator(iterable::cursor);
+  }
+
   /**
    * Converts a MongoDB {@link InsertManyResult} into a JSON array ({@link JsArray}) of hexadecimal IDs. This function
    * is used to represent the IDs of inserted documents in JSON format.
@@ -0,0 +1,315 @@
+package jio.test.junit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import jdk.jfr.consumer.EventStream;
+import jdk.jfr.consumer.RecordedEvent;
+import jio.time.Fun;
+
+/**
+ * Reconstructs the trees of expressions debugged with {@code debugEach} from their {@code jio.exp.EvalExp} events, which
+ * are linked with span ids, and reports, for every tree, the branches that set its end-to-end latency (the critical
+ * path) and how much every other branch could be delayed without delaying the whole tree (its slack).
+ *
+ * <p>The branches of a node on the critical path are walked backward from the one that ended last: it's critical, and
+ * so is the latest branch that ended before it started, and so on. For a parallel expression, only one branch is
+ * critical; for a sequential one, all of them are. The slack of a branch that isn't critical is the time from its end
+ * to the end of the first critical sibling that ended after it, plus the slack of its parent.
+ *
+ * <p>The analyzer can consume the events of a JFR stream, which can be a {@link jdk.jfr.consumer.RecordingStream}
+ * started next to the one of a {@link Debugger}, so that the debugger keeps printing the events:
+ *
+ * <pre>
+ * {@code
+ * try (var stream = new RecordingStream()) {
+ *   stream.enable(CriticalPathAnalyzer.EVENT_NAME);
+ *   var analyzer = CriticalPathAnalyzer.of(stream);
+ *   stream.startAsync();
+ *   exp.call();
+ *   stream.stop();
+ *   analyzer.analyze().forEach(System.out::println);
+ * }
+ * }
+ * </pre>
+ *
+ * <p>or read them from a recording with {@link #of(Path)}, or be fed spans programmatically with {@link #add(Span)}.
+ * Registering the analyzer in a {@link Debugger} with {@code registerEventConsumer(EVENT_NAME, analyzer)} replaces the
+ * consumer that prints the expression events, since a debugger has a single consumer per event name.
+ * Events without a span id are ignored.
+ */
+public final class CriticalPathAnalyzer implements Consumer<RecordedEvent> {
+
+  /**
+   * Name of the events the analyzer consumes.
+   */
+  public static final String EVENT_NAME = "jio.exp.EvalExp";
+
+  static final String SPAN_ID = "spanId";
+  static final String PARENT_SPAN_ID = "parentSpanId";
+
+  private final List<Span> spans = new CopyOnWriteArrayList<>();
+
+  private CriticalPathAnalyzer() {
+  }
+
+  /**
+   * Creates an analyzer with no spans.
+   *
+   * @return a new analyzer
+   */
+  public static CriticalPathAnalyzer of() {
+    return new CriticalPathAnalyzer();
+  }
+
+  /**
+   * Creates an analyzer that consumes the expression events of the given stream. The stream must be started by the
+   * caller.
+   *
+   * @param stream the JFR event stream
+   * @return a new analyzer
+   */
+  public static CriticalPathAnalyzer of(final EventStream stream) {
+    var analyzer = new CriticalPathAnalyzer();
+    Objects.requireNonNull(stream)
+           .onEvent(EVENT_NAME,
+                    analyzer);
+    return analyzer;
+  }
+
+  /**
+   * Creates an analyzer with the expression events of the given recording file.
+   *
+   * @param recording the path of the JFR recording
+   * @return a new analyzer
+   * @throws IOException if the recording can't be read
+   */
+  public static CriticalPathAnalyzer of(final Path recording) throws IOException {
+    try (var stream = EventStream.openFile(Objects.requireNonNull(recording))) {
+      var analyzer = of(stream);
+      stream.start();
+      return analyzer;
+    }
+  }
+
+  @Override
+  public void accept(final RecordedEvent event) {
+    assert EVENT_NAME.equals(event.getEventType()
+                                  .getName());
+    if (!event.hasField(SPAN_ID) || event.getLong(SPAN_ID) == 0) {
+      return;
+    }
+    add(new Span(event.getLong(SPAN_ID),
+                 event.getLong(PARENT_SPAN_ID),
+                 event.getString(EventFields.EXPRESSION),
+                 event.getString(EventFields.CONTEXT),
+                 event.getStartTime(),
+                 event.getEndTime(),
+                 "SUCCESS".equals(event.getString(EventFields.RESULT))));
+  }
+
+  /**
+   * Adds a span to the analyzer.
+   *
+   * @param span the span
+   * @return this analyzer
+   */
+  public CriticalPathAnalyzer add(final Span span) {
+    spans.add(Objects.requireNonNull(span));
+    return this;
+  }
+
+  /**
+   * Removes all the spans of the analyzer.
+   */
+  public void clear() {
+    spans.clear();
+  }
+
+  /**
+   * Reconstructs the trees of the spans added so far. A span whose parent is unknown is the root of a tree.
+   *
+   * @return a report per tree, sorted by the start time of its root
+   */
+  public List<Report> analyze() {
+    Map<Long, Span> byId = new HashMap<>();
+    for (Span span : spans) {
+      byId.put(span.id(),
+               span);
+    }
+    Map<Long, List<Span>> children = new HashMap<>();
+    List<Span> roots = new ArrayList<>();
+    for (Span span : byId.values()) {
+      if (byId.containsKey(span.parentId())) {
+        children.computeIfAbsent(span.parentId(),
+                                 _ -> new ArrayList<>())
+                .add(span);
+      } else {
+        roots.add(span);
+      }
+    }
+    roots.sort(Comparator.comparing(Span::start));
+    List<Report> reports = new ArrayList<>(roots.size());
+    for (Span root : roots) {
+      List<Branch> branches = new ArrayList<>();
+      walk(new Branch(root,
+                      0,
+                      true,
+                      Duration.ZERO),
+           children,
+           branches);
+      reports.add(new Report(root,
+                             branches));
+    }
+    return reports;
+  }
+
+  private static void walk(final Branch branch,
+                           final Map<Long, List<Span>> children,
+                           final List<Branch> branches) {
+    branches.add(branch);
+    List<Span> siblings = new ArrayList<>(children.getOrDefault(branch.span()
+                                                                      .id(),
+                                                                List.of()));
+    if (siblings.isEmpty()) {
+      return;
+    }
+    siblings.sort(Comparator.comparing(Span::end)
+                            .reversed());
+    // critical branches from the last to end backward, each one the latest to end before the next one started
+    List<Span> critical = new ArrayList<>();
+    for (Span span : siblings) {
+      if (critical.isEmpty() || !span.end()
+                                     .isAfter(critical.getLast()
+                                                      .start())) {
+        critical.add(span);
+      }
+    }
+    siblings.sort(Comparator.comparing(Span::start));
+    for (Span span : siblings) {
+      boolean isCritical = critical.contains(span);
+      Duration slack = branch.slack();
+      if (!isCritical) {
+        Instant next = branch.span()
+                             .end();
+        for (Span c : critical) {
+          if (!c.end()
+                .isBefore(span.end())) {
+            next = c.end();
+          }
+        }
+        slack = slack.plus(Duration.between(span.end(),
+                                            next));
+      }
+      walk(new Branch(span,
+                      branch.depth() + 1,
+                      branch.critical() && isCritical,
+                      slack),
+           children,
+           branches);
+    }
+  }
+
+  /**
+   * The computation of an expression or an effect, taken from an event.
+   *
+   * @param id         the span id
+   * @param parentId   the span id of the expression the computation is an operand of, or zero
+   * @param expression the name of the expression
+   * @param context    the context of the event
+   * @param start      the start time of the computation
+   * @param end        the end time of the computation
+   * @param success    true if the computation succeeded
+   */
+  public record Span(long id,
+                     long parentId,
+                     String expression,
+                     String context,
+                     Instant start,
+                     Instant end,
+                     boolean success) {
+
+    /**
+     * Creates a span.
+     */
+    public Span {
+      Objects.requireNonNull(expression);
+      Objects.requireNonNull(context);
+      Objects.requireNonNull(start);
+      Objects.requireNonNull(end);
+    }
+
+    /**
+     * Returns the duration of the computation.
+     *
+     * @return the duration of the computation
+     */
+    public Duration duration() {
+      return Duration.between(start,
+                              end);
+    }
+  }
+
+  /**
+   * A branch of a tree of expressions.
+   *
+   * @param span     the computation of the branch
+   * @param depth    the depth of the branch, zero for the root
+   * @param critical true if the branch is on the critical path of the tree
+   * @param slack    how much the branch could be delayed without delaying the root, zero if it's critical
+   */
+  public record Branch(Span span,
+                       int depth,
+                       boolean critical,
+                       Duration slack) {
+
+  }
+
+  /**
+   * The analysis of a tree of expressions.
+   *
+   * @param root     the span of the root of the tree
+   * @param branches all the branches of the tree in depth-first order, starting with the root
+   */
+  public record Report(Span root,
+                       List<Branch> branches) {
+
+    /**
+     * Returns the spans of the branches on the critical path, in depth-first order.
+     *
+     * @return the critical path
+     */
+    public List<Span> criticalPath() {
+      return branches.stream()
+                     .filter(Branch::critical)
+                     .map(Branch::span)
+                     .toList();
+    }
+
+    @Override
+    public String toString() {
+      var builder = new StringBuilder();
+      for (Branch branch : branches) {
+        builder.append("  ".repeat(branch.depth()))
+               .append(branch.critical() ? "* " : "  ")
+               .append(branch.span()
+                             .expression())
+               .append(' ')
+               .append(Fun.formatTime(branch.span()
+                                            .duration()))
+               .append(branch.critical() ? "" : " slack " + Fun.formatTime(branch.slack()))
+               .append('\n');
+      }
+      return builder.toString();
+    }
+  }
+}
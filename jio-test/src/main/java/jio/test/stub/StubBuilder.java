@@ -58,7 +58,8 @@ public final class StubBuilder<Generated> implements Supplier<IO<Generated>> {
   }
 
   /**
-   * Sets the generator of delays
+   * Sets the generator of delays. The delays are {@link IO#sleep(Duration)} effects, so a stub computed with
+   * {@link IO#callAsync()} doesn't park any thread while waiting.
    *
    * @param delaysGen the generator of delays
    * @return this stub builder with a delay generator
@@ -78,15 +79,9 @@ public final class StubBuilder<Generated> implements Supplier<IO<Generated>> {
   public IO<Generated> get() {
     if (delayGen != null) {
       return IO.lazy(delayGen.sample())
-               .then(dur -> {
-                 try {
-                   Thread.sleep(dur.toMillis());
-                 } catch (InterruptedException e) {
-                   Thread.currentThread()
-                         .interrupt();
-                 }
-                 return IO.lazy(gen.sample());
-               })
+               .then(dur -> IO.sleep(dur)
+                              .then(_ -> IO.lazy(gen.sample()),
+                                    _ -> IO.lazy(gen.sample())))
                .then(it -> switch (it) {
                  case Success<Generated>(Generated val) -> IO.succeed(val);
                  case jio.Result.Failure<Generated>(Exception e) -> IO.fail(e);
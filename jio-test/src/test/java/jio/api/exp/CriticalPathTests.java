@@ -0,0 +1,168 @@
+package jio.api.exp;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import jdk.jfr.consumer.RecordingStream;
+import jio.IO;
+import jio.IfElseExp;
+import jio.ListExp;
+import jio.test.junit.CriticalPathAnalyzer;
+import jio.test.junit.CriticalPathAnalyzer.Branch;
+import jio.test.junit.CriticalPathAnalyzer.Span;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CriticalPathTests {
+
+  private static IO<Integer> delayed(final int value,
+                                     final int millis) {
+    return IO.task(() -> {
+      Thread.sleep(millis);
+      return value;
+    });
+  }
+
+  private static Span span(final long id,
+                           final long parentId,
+                           final String expression,
+                           final int startMillis,
+                           final int endMillis) {
+    Instant origin = Instant.EPOCH;
+    return new Span(id,
+                    parentId,
+                    expression,
+                    "",
+                    origin.plusMillis(startMillis),
+                    origin.plusMillis(endMillis),
+                    true);
+  }
+
+  @Test
+  public void test_critical_path_and_slack_of_spans() {
+    // par(a, seq(b, c)) where seq(b, c) ends last
+    var report = CriticalPathAnalyzer.of()
+                                     .add(span(1,
+                                               0,
+                                               "par",
+                                               0,
+                                               100))
+                                     .add(span(2,
+                                               1,
+                                               "a",
+                                               0,
+                                               60))
+                                     .add(span(3,
+                                               1,
+                                               "seq",
+                                               0,
+                                               100))
+                                     .add(span(4,
+                                               3,
+                                               "b",
+                                               0,
+                                               30))
+                                     .add(span(5,
+                                               3,
+                                               "c",
+                                               30,
+                                               100))
+                                     .analyze()
+                                     .getFirst();
+    Assertions.assertEquals(List.of("par", "seq", "b", "c"),
+                            report.criticalPath()
+                                  .stream()
+                                  .map(Span::expression)
+                                  .toList());
+    Branch a = report.branches()
+                     .stream()
+                     .filter(b -> b.span()
+                                   .expression()
+                                   .equals("a"))
+                     .findFirst()
+                     .orElseThrow();
+    Assertions.assertFalse(a.critical());
+    Assertions.assertEquals(Duration.ofMillis(40),
+                            a.slack());
+  }
+
+  @Test
+  public void test_events_of_parallel_branches_are_linked() throws Exception {
+    var analyzer = CriticalPathAnalyzer.of();
+    try (var stream = new RecordingStream()) {
+      stream.enable(CriticalPathAnalyzer.EVENT_NAME);
+      stream.onEvent(CriticalPathAnalyzer.EVENT_NAME,
+                     analyzer);
+      stream.startAsync();
+      var result = ListExp.par(ListExp.seq(delayed(1,
+                                                   50)),
+                               ListExp.seq(delayed(2,
+                                                   300)),
+                               ListExp.seq(delayed(3,
+                                                   10),
+                                           delayed(4,
+                                                   10)))
+                          .debugEach("tree")
+                          .call();
+      Assertions.assertTrue(result.isSuccess());
+      Thread.sleep(1500);
+    }
+    var reports = analyzer.analyze();
+    Assertions.assertEquals(1,
+                            reports.size());
+    var report = reports.getFirst();
+    Assertions.assertEquals("tree",
+                            report.root()
+                                  .context());
+    Assertions.assertEquals(8,
+                            report.branches()
+                                  .size());
+    Assertions.assertEquals(List.of("ListExpPar", "ListExpPar[1]", "ListExpPar[1][0]"),
+                            report.criticalPath()
+                                  .stream()
+                                  .map(Span::expression)
+                                  .toList());
+    Branch fastest = report.branches()
+                           .stream()
+                           .filter(b -> b.span()
+                                         .expression()
+                                         .equals("ListExpPar[0]"))
+                           .findFirst()
+                           .orElseThrow();
+    Assertions.assertTrue(fastest.slack()
+                                 .toMillis() >= 200);
+  }
+
+  @Test
+  public void test_events_of_speculative_branches_are_linked() throws Exception {
+    var analyzer = CriticalPathAnalyzer.of();
+    try (var stream = new RecordingStream()) {
+      stream.enable(CriticalPathAnalyzer.EVENT_NAME);
+      stream.onEvent(CriticalPathAnalyzer.EVENT_NAME,
+                     analyzer);
+      stream.startAsync();
+      var result = IfElseExp.<Integer>predicate(IO.task(() -> {
+                                                Thread.sleep(20);
+                                                return true;
+                                              }))
+                            .consequence(() -> delayed(1,
+                                                       50))
+                            .alternative(() -> delayed(2,
+                                                       50))
+                            .speculative()
+                            .debugEach("speculative")
+                            .call();
+      Assertions.assertTrue(result.isSuccess());
+      Thread.sleep(1500);
+    }
+    var reports = analyzer.analyze();
+    Assertions.assertEquals(1,
+                            reports.size());
+    Assertions.assertTrue(reports.getFirst()
+                                 .branches()
+                                 .stream()
+                                 .anyMatch(b -> b.depth() == 1 && b.span()
+                                                                   .expression()
+                                                                   .equals("IfElseExp-consequence")));
+  }
+}